@@ -12,8 +12,8 @@ package org.eclipse.che.wsagent.server;
 
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.impl.BasicWebSocketEndpoint;
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
 import org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator;
-import org.eclipse.che.api.core.websocket.impl.MessagesReSender;
 import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 
 import javax.inject.Inject;
@@ -31,8 +31,8 @@ public class CheWebSocketEndpoint extends BasicWebSocketEndpoint {
 
     @Inject
     public CheWebSocketEndpoint(WebSocketSessionRegistry registry,
-                                MessagesReSender reSender,
-                                WebSocketMessageReceiver receiver) {
-        super(registry, reSender, receiver);
+                                WebSocketMessageReceiver receiver,
+                                BasicWebSocketMessageTransmitter transmitter) {
+        super(registry, receiver, transmitter);
     }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import org.eclipse.che.api.core.jsonrpc.RequestHandler;
@@ -53,9 +54,13 @@ public class NotificationDispatcher {
         LOG.debug("Extracted notification method: " + method);
 
         final RequestHandler handler = handlers.get(method);
+        if (handler == null) {
+            LOG.error("Handler not found: " + method);
+            return;
+        }
 
         if (incomingJson.has("params")) {
-            final JsonObject params = incomingJson.get("params").getAsJsonObject();
+            final JsonElement params = incomingJson.get("params");
             LOG.debug("Notification is parametrized, processing parameters: " + params);
 
             final Class paramsClass = handler.getParamsClass();
@@ -74,8 +79,8 @@ public class NotificationDispatcher {
         handler.handleNotification(endpointId);
     }
 
-    private <P> void dispatch(String endpointId, RequestHandler<P, Void> handler, JsonObject params, Class<P> paramClass) {
-        final P param = DtoFactory.getInstance().createDtoFromJson(params.toString(), paramClass);
+    private <P> void dispatch(String endpointId, RequestHandler<P, Void> handler, JsonElement params, Class<P> paramClass) {
+        final P param = DtoFactory.getInstance().createDtoFromJson(params, paramClass);
         handler.handleNotification(endpointId, param);
     }
 }
@@ -12,8 +12,8 @@ package org.eclipse.che.api.core.jsonrpc.impl;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
@@ -36,6 +36,11 @@ import java.util.Map;
 public class RequestDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(RequestDispatcher.class);
 
+    static final int INVALID_REQUEST  = -32600;
+    static final int METHOD_NOT_FOUND = -32601;
+    static final int INVALID_PARAMS   = -32602;
+    static final int INTERNAL_ERROR   = -32603;
+
     private final Map<String, RequestHandler> handlers;
     private final WebSocketMessageTransmitter transmitter;
 
@@ -55,63 +60,87 @@ public class RequestDispatcher {
      *         json object
      */
     public void dispatch(String endpointId, JsonObject incomingJson) {
+        final JsonObject response = process(endpointId, incomingJson);
+        LOG.debug("Generated response: " + response);
+
+        transmitter.transmit(endpointId, response.toString());
+    }
+
+    /**
+     * Processes json rpc request received from endpoint identified by a high
+     * level identifier and represented as a json object. Unlike {@link #dispatch(String, JsonObject)}
+     * the response is not transmitted but returned, so it can be sent as a part of batch response.
+     *
+     * @param endpointId
+     *         high level endpoint identifier
+     * @param incomingJson
+     *         json object
+     * @return json rpc response with either result or error
+     */
+    public JsonObject process(String endpointId, JsonObject incomingJson) {
         LOG.debug("Dispatching incoming request from: " + endpointId + ", json: " + incomingJson);
 
-        final String id = incomingJson.get("id").getAsString();
+        final JsonElement id = incomingJson.get("id");
         LOG.debug("Extracted request id: " + id);
 
-        final String method = incomingJson.get("method").getAsString();
+        final JsonElement methodElement = incomingJson.get("method");
+        if (!methodElement.isJsonPrimitive()) {
+            return error(id, INVALID_REQUEST, "Invalid request, method is not a string");
+        }
+        final String method = methodElement.getAsString();
         LOG.debug("Extracted request method: " + method);
 
         final RequestHandler handler = handlers.get(method);
         if (handler == null) {
             LOG.error("Handler not found: " + method);
-            // TODO make a centralized standard errors structure
-            transmitter.transmit(endpointId, error(-32601, "Method not found: " + method));
-            return;
+            return error(id, METHOD_NOT_FOUND, "Method not found: " + method);
         }
 
         final Class resultClass = handler.getResultClass();
         LOG.debug("Extracted request result class: " + resultClass);
 
+        final JsonElement params = incomingJson.get("params");
+        final Class paramsClass = params != null ? handler.getParamsClass() : null;
+        LOG.debug("Extracted request params: " + params + ", params class: " + paramsClass);
 
-        JsonElement result;
-        if (incomingJson.has("params")) {
-            final JsonObject params = incomingJson.get("params").getAsJsonObject();
-            LOG.debug("Request is parametrized, processing parameters: " + params);
-
-            final Class paramsClass = handler.getParamsClass();
-            LOG.debug("Extracted request params class: " + paramsClass);
-            result = response(endpointId, handler, params, paramsClass, resultClass);
-        } else {
-            LOG.debug("Request is not parametrized.");
-            result = response(endpointId, handler, null, null, resultClass);
+        final Object param;
+        try {
+            param = paramsClass != null ? DtoFactory.getInstance().createDtoFromJson(params, paramsClass) : null;
+        } catch (RuntimeException e) {
+            LOG.error("Can't parse params of request: " + method, e);
+            return error(id, INVALID_PARAMS, "Invalid params");
         }
 
-        final JsonElement response = prepareResponse(id, result);
-        LOG.debug("Generated response: " + response);
+        final JsonElement result;
+        try {
+            result = response(endpointId, handler, param, paramsClass, resultClass);
+        } catch (RuntimeException e) {
+            // details of failure are logged only, they may reveal internals of server to client
+            LOG.error("Error while processing request: " + method, e);
+            return error(id, INTERNAL_ERROR, "Internal error");
+        }
 
-        transmitter.transmit(endpointId, response.toString());
+        return prepareResponse(id, result);
     }
 
+    @SuppressWarnings("unchecked")
     private <P, R> JsonElement response(String endpointId,
                                        RequestHandler<P, R> handler,
-                                       JsonObject params,
+                                       Object param,
                                        Class<P> paramClass,
                                        Class<R> resultClass) {
 
         final R result;
 
         if (paramClass != null) {
-            final P param = DtoFactory.getInstance().createDtoFromJson(params.toString(), paramClass);
-            result = handler.handleRequest(endpointId, param);
+            result = handler.handleRequest(endpointId, (P)param);
         } else {
             result = handler.handleRequest(endpointId);
         }
 
         LOG.debug("Dispatch response: ", result);
 
-        if (result instanceof Void)
+        if (result == null || result instanceof Void)
             return new JsonObject();
         else if (result instanceof String) {
             JsonObject response = new JsonObject();
@@ -119,35 +148,38 @@ public class RequestDispatcher {
             return response;
         } else if (result instanceof Collection) {   // list of DTO objects
             JsonArray valueArray = new JsonArray();
-            ((Collection)result).stream().filter(r -> r instanceof JsonSerializable).forEach(r -> {
-                String resultString = DtoFactory.getInstance().toJson(r);
-                valueArray.add(new JsonParser().parse(resultString).getAsJsonObject());
-            });
+            ((Collection)result).stream()
+                                .filter(r -> r instanceof JsonSerializable)
+                                .forEach(r -> valueArray.add(DtoFactory.getInstance().toJsonElement(r)));
             return valueArray;
         }
 
         // DTO object otherwise
-        final String resultString = DtoFactory.getInstance().toJson(result);
-        return new JsonParser().parse(resultString).getAsJsonObject();
+        return DtoFactory.getInstance().toJsonElement(result);
     }
 
 
-    private JsonElement prepareResponse(String id, JsonElement result) {
+    private JsonObject prepareResponse(JsonElement id, JsonElement result) {
         final JsonObject response = new JsonObject();
 
         response.addProperty("jsonrpc", "2.0");
-        response.addProperty("id", id);
+        response.add("id", id);
         response.add("result", result);
 
         return response;
     }
 
-    private String error(int code, String message) {
-        final JsonObject response = new JsonObject();
+    /** Creates json rpc error response, {@code id} is {@code null} if request identifier can't be detected. */
+    static JsonObject error(JsonElement id, int code, String message) {
+        final JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("message", message);
 
-        response.addProperty("code", code);
-        response.addProperty("message", message);
+        final JsonObject response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.add("id", id != null ? id : JsonNull.INSTANCE);
+        response.add("error", error);
 
-        return response.toString();
+        return response;
     }
 }
@@ -10,19 +10,31 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
- * Dispatches incoming json rpc responses
+ * Dispatches incoming json rpc responses. Requests which wait for responses
+ * are kept in the table of pending requests, if response doesn't come in
+ * time the future of request is completed with {@link TimeoutException}.
  *
  * @author Dmitry Kuleshov
  */
@@ -30,8 +42,18 @@ import java.util.concurrent.CompletableFuture;
 public class ResponseDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseDispatcher.class);
 
-    private final Map<String, CompletableFuture> futures       = new HashMap<>();
-    private final Map<String, Class<?>>          resultClasses = new HashMap<>();
+    static final long DEFAULT_TIMEOUT_MILLIS = MINUTES.toMillis(1);
+
+    private final ConcurrentMap<String, PendingRequest> pendingRequests;
+    private final ScheduledThreadPoolExecutor           timeouts;
+
+    public ResponseDispatcher() {
+        pendingRequests = new ConcurrentHashMap<>();
+        timeouts = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("JsonRpcResponseTimeout-%d")
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
 
     /**
      * Dispatches json rpc response received from endpoint identified by a high
@@ -42,6 +64,7 @@ public class ResponseDispatcher {
      * @param incomingJson
      *         json object
      */
+    @SuppressWarnings("unchecked")
     public void dispatch(String endpointId, JsonObject incomingJson) {
         LOG.debug("Dispatching incoming response from: " + endpointId + ", json: " + incomingJson);
 
@@ -51,31 +74,42 @@ public class ResponseDispatcher {
         final String key = endpointId + '@' + id;
         LOG.debug("Combined response key: " + key);
 
-        final Class resultClass = resultClasses.get(key);
-        LOG.debug("Extracted result class: " + resultClass);
+        final PendingRequest pendingRequest = pendingRequests.remove(key);
+        if (pendingRequest == null) {
+            LOG.warn("Received response for unknown or timed out request: " + key);
+            return;
+        }
 
-        final CompletableFuture completableFuture = futures.get(key);
+        final Class resultClass = pendingRequest.resultClass;
+        LOG.debug("Extracted result class: " + resultClass);
 
         if (incomingJson.has("result")) {
             LOG.debug("Response contains result field, processing result");
 
-            final JsonObject result = incomingJson.get("result").getAsJsonObject();
-            final Object dto = DtoFactory.getInstance().createDtoFromJson(result.toString(), resultClass);
-
-            completableFuture.complete(dto);
+            final JsonElement result = incomingJson.get("result");
+            try {
+                final Object dto = resultClass == null || resultClass == Void.class || result.isJsonNull()
+                                   ? null
+                                   : DtoFactory.getInstance().createDtoFromJson(result, resultClass);
+                pendingRequest.future.complete(dto);
+            } catch (RuntimeException e) {
+                pendingRequest.future.completeExceptionally(e);
+            }
         } else {
             LOG.debug("Response contains error field, processing error");
 
-            final String error = "Error processing is not yet supported";
-            LOG.error(error);
-            throw new UnsupportedOperationException(error);
+            final JsonElement error = incomingJson.get("error");
+            final String message = error.isJsonObject() && error.getAsJsonObject().has("message")
+                                   ? error.getAsJsonObject().get("message").getAsString()
+                                   : error.toString();
+            pendingRequest.future.completeExceptionally(new ServerException(message));
         }
-
     }
 
     /**
      * Register and get a completable future that will be resolved when specified response
-     * will be dispatched.
+     * will be dispatched. If response doesn't come in {@link #DEFAULT_TIMEOUT_MILLIS}
+     * future is completed with {@link TimeoutException}.
      *
      * @param endpointId
      *         high level endpoint identifier
@@ -87,9 +121,64 @@ public class ResponseDispatcher {
      * @return completable future based on result represented by DTO
      */
     public <R> CompletableFuture<R> getCompletableFuture(String endpointId, String requestId, Class<R> resultClass) {
+        return getCompletableFuture(endpointId, requestId, resultClass, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Register and get a completable future that will be resolved when specified response
+     * will be dispatched or completed with {@link TimeoutException} when timeout expires.
+     *
+     * @param endpointId
+     *         high level endpoint identifier
+     * @param requestId
+     *         request identifier
+     * @param resultClass
+     *         class of request result that is contained within response
+     * @param timeoutMillis
+     *         max time to wait for response, in milliseconds
+     *
+     * @return completable future based on result represented by DTO
+     */
+    public <R> CompletableFuture<R> getCompletableFuture(String endpointId, String requestId, Class<R> resultClass, long timeoutMillis) {
+        final String key = endpointId + '@' + requestId;
         final CompletableFuture<R> future = new CompletableFuture<>();
-        futures.put(endpointId + '@' + requestId, future);
-        resultClasses.put(endpointId + '@' + requestId, resultClass);
+        final PendingRequest pendingRequest = new PendingRequest(future, resultClass);
+        if (pendingRequests.putIfAbsent(key, pendingRequest) != null) {
+            throw new IllegalStateException("Request " + key + " is already waiting for response");
+        }
+
+        final ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+            if (pendingRequests.remove(key, pendingRequest)) {
+                future.completeExceptionally(new TimeoutException("Response for request " + key + " is not received in " +
+                                                                  timeoutMillis + "ms"));
+            }
+        }, timeoutMillis, MILLISECONDS);
+        // future might be also completed or cancelled by caller
+        future.whenComplete((result, error) -> {
+            timeout.cancel(false);
+            pendingRequests.remove(key, pendingRequest);
+        });
         return future;
     }
+
+    /** Number of requests which wait for response. */
+    public int getPendingRequestsCount() {
+        return pendingRequests.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        timeouts.shutdownNow();
+        pendingRequests.values().forEach(pendingRequest -> pendingRequest.future.cancel(false));
+    }
+
+    private static class PendingRequest {
+        final CompletableFuture future;
+        final Class<?>          resultClass;
+
+        PendingRequest(CompletableFuture future, Class<?> resultClass) {
+            this.future = future;
+            this.resultClass = resultClass;
+        }
+    }
 }
@@ -10,20 +10,56 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.jsonrpc.impl.RequestDispatcher.INVALID_REQUEST;
+import static org.eclipse.che.api.core.jsonrpc.impl.RequestDispatcher.error;
 
 /**
  * Dispatches messages received from web socket endpoint throughout json rpc
- * inner infrastructure.
+ * inner infrastructure. Both single messages and batches (json arrays of
+ * messages) are supported, messages are read from the incoming string with
+ * streaming json reader one after another.
+ * <p/>
+ * Responses are dispatched immediately, while requests and notifications are
+ * handled by bounded thread pool, so web socket container thread is not
+ * blocked by handlers. Messages of the same endpoint are handled in order
+ * they were received. Responses to requests of the same batch are sent back
+ * as one batch.
+ * <p/>
+ * Not more than {@link #MAX_QUEUED_ENDPOINT_TASKS} messages of each endpoint
+ * wait for processing. When the limit is reached, or when all threads of the
+ * pool are busy and its queue is full, requests of the received message are
+ * answered with {@link #SERVER_BUSY} error and notifications are dropped,
+ * so handlers are never run in web socket container thread.
  *
  * @author Dmitry Kuleshov
  */
@@ -31,29 +67,103 @@ import javax.inject.Singleton;
 public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketToJsonRpcDispatcher.class);
 
-    private final RequestDispatcher      requestDispatcher;
-    private final NotificationDispatcher notificationDispatcher;
-    private final ResponseDispatcher     responseDispatcher;
+    static final int PARSE_ERROR               = -32700;
+    static final int SERVER_BUSY               = -32000;
+    static final int MAX_QUEUED_ENDPOINT_TASKS = 100;
+
+    private static final int MAX_THREADS      = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int MAX_QUEUED_TASKS = 1000;
+
+    private final RequestDispatcher            requestDispatcher;
+    private final NotificationDispatcher       notificationDispatcher;
+    private final ResponseDispatcher           responseDispatcher;
+    private final WebSocketMessageTransmitter  transmitter;
+    private final Map<String, Queue<Calls>>    endpointTasks;
+    private final ThreadPoolExecutor           executor;
 
     @Inject
     public WebSocketToJsonRpcDispatcher(RequestDispatcher requestDispatcher,
                                         NotificationDispatcher notificationDispatcher,
-                                        ResponseDispatcher responseDispatcher) {
+                                        ResponseDispatcher responseDispatcher,
+                                        WebSocketMessageTransmitter transmitter) {
         this.requestDispatcher = requestDispatcher;
         this.notificationDispatcher = notificationDispatcher;
         this.responseDispatcher = responseDispatcher;
+        this.transmitter = transmitter;
+        this.endpointTasks = new HashMap<>();
+        // when all threads are busy and queue is full tasks are rejected
+        this.executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, SECONDS,
+                                               new ArrayBlockingQueue<>(MAX_QUEUED_TASKS),
+                                               new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestProcessor-%d")
+                                                                         .setDaemon(true)
+                                                                         .build());
+        this.executor.allowCoreThreadTimeOut(true);
     }
 
     @Override
     public void receive(String endpointId, String message) {
         LOG.debug("Receiving a message from: " + endpointId + ", message" + message);
+
+        final List<JsonObject> calls = new ArrayList<>();
+        final List<JsonObject> responses = new ArrayList<>();
+        final boolean batch;
+        int size = 0;
+
         final JsonParser jsonParser = new JsonParser();
-        final JsonElement jsonElement = jsonParser.parse(message);
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            batch = reader.peek() == JsonToken.BEGIN_ARRAY;
+            if (batch) {
+                reader.beginArray();
+                for (; reader.hasNext(); size++) {
+                    classify(endpointId, jsonParser.parse(reader), calls, responses);
+                }
+                reader.endArray();
+            } else {
+                classify(endpointId, jsonParser.parse(reader), calls, responses);
+            }
+        } catch (IOException | JsonParseException e) {
+            LOG.error("Can't parse json rpc message from: " + endpointId, e);
+            transmitter.transmit(endpointId, error(null, PARSE_ERROR, "Parse error").toString());
+            return;
+        }
+
+        if (batch && size == 0) {
+            LOG.error("Empty batch from: " + endpointId);
+            transmitter.transmit(endpointId, error(null, INVALID_REQUEST, "Invalid request, empty batch").toString());
+            return;
+        }
 
+        if (calls.isEmpty()) {
+            transmit(endpointId, responses, batch);
+        } else {
+            submit(endpointId, calls, responses, batch);
+        }
+    }
+
+    /** Number of tasks which wait for free thread of pool. */
+    public int getQueuedTasksCount() {
+        return executor.getQueue().size();
+    }
+
+    /** Number of threads which are currently processing requests. */
+    public int getActiveThreadsCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Detects type of json rpc message. Responses are dispatched immediately, requests and notifications are added to
+     * {@code calls}, errors for invalid messages are added to {@code responses}.
+     */
+    private void classify(String endpointId, JsonElement jsonElement, List<JsonObject> calls, List<JsonObject> responses) {
         if (!jsonElement.isJsonObject()) {
-            final String error = "Json is an array, not supported yet";
-            LOG.error(error);
-            throw new UnsupportedOperationException(error);
+            LOG.error("Improper json rpc message from: " + endpointId + ", json: " + jsonElement);
+            responses.add(error(null, INVALID_REQUEST, "Invalid request"));
+            return;
         }
 
         final JsonObject incomingJson = jsonElement.getAsJsonObject();
@@ -63,24 +173,142 @@ public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
         final boolean hasResult = incomingJson.has("result");
         final boolean hasError = incomingJson.has("error");
 
-        if (hasMethod && hasId && !hasResult && !hasError) {
-            LOG.debug("It's a request, processing by request dispatcher.");
-            requestDispatcher.dispatch(endpointId, incomingJson);
+        if (hasMethod && !hasResult && !hasError) {
+            LOG.debug("It's a " + (hasId ? "request" : "notification") + ", adding to calls.");
+            calls.add(incomingJson);
             return;
         }
 
-        if (hasMethod && !hasId && !hasResult && !hasError) {
-            LOG.debug("It's a notification, processing by notification dispatcher.");
-            notificationDispatcher.dispatch(endpointId, incomingJson);
+        if (!hasMethod && !hasParams && hasId && (hasError != hasResult)) {
+            LOG.debug("It's a response, processing by response dispatcher.");
+            try {
+                responseDispatcher.dispatch(endpointId, incomingJson);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
             return;
         }
 
-        if (!hasMethod && !hasParams && hasId && (hasError != hasResult)) {
-            LOG.debug("It's a response, processing by response dispatcher.");
-            responseDispatcher.dispatch(endpointId, incomingJson);
+        LOG.error("Improper json rpc message from: " + endpointId + ", json: " + incomingJson);
+        responses.add(error(incomingJson.get("id"), INVALID_REQUEST, "Invalid request"));
+    }
+
+    private void process(String endpointId, List<JsonObject> calls, List<JsonObject> responses, boolean batch) {
+        for (JsonObject call : calls) {
+            if (call.has("id")) {
+                LOG.debug("It's a request, processing by request dispatcher.");
+                responses.add(requestDispatcher.process(endpointId, call));
+            } else {
+                LOG.debug("It's a notification, processing by notification dispatcher.");
+                try {
+                    notificationDispatcher.dispatch(endpointId, call);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        }
+        transmit(endpointId, responses, batch);
+    }
+
+    private void transmit(String endpointId, List<JsonObject> responses, boolean batch) {
+        if (responses.isEmpty()) {
             return;
         }
+        if (batch) {
+            final JsonArray batchResponse = new JsonArray();
+            responses.forEach(batchResponse::add);
+            transmitter.transmit(endpointId, batchResponse.toString());
+        } else {
+            transmitter.transmit(endpointId, responses.get(0).toString());
+        }
+    }
 
-        throw new IllegalStateException("Improper json rpc message.");
+    /**
+     * Adds processing of calls to the queue of endpoint, tasks of each endpoint are run one after another. Calls are rejected
+     * if queue of endpoint is full or pool can't run tasks of endpoint.
+     */
+    private void submit(String endpointId, List<JsonObject> calls, List<JsonObject> responses, boolean batch) {
+        final Calls task = new Calls(endpointId, calls, responses, batch);
+        boolean queueIsFull = false;
+        synchronized (endpointTasks) {
+            final Queue<Calls> tasks = endpointTasks.get(endpointId);
+            if (tasks == null) {
+                final Queue<Calls> newTasks = new ArrayDeque<>();
+                newTasks.add(task);
+                endpointTasks.put(endpointId, newTasks);
+            } else if (tasks.size() < MAX_QUEUED_ENDPOINT_TASKS) {
+                tasks.add(task);
+                return;
+            } else {
+                queueIsFull = true;
+            }
+        }
+        if (queueIsFull) {
+            LOG.warn("Too many messages from: " + endpointId + " are waiting for processing");
+            task.reject();
+            return;
+        }
+        try {
+            executor.execute(() -> runTasks(endpointId));
+        } catch (RejectedExecutionException e) {
+            final Queue<Calls> rejected;
+            synchronized (endpointTasks) {
+                rejected = endpointTasks.remove(endpointId);
+            }
+            if (executor.isShutdown()) {
+                LOG.error("Can't process messages from: " + endpointId + ", processor is stopped");
+            } else {
+                LOG.warn("Can't process messages from: " + endpointId + ", all processor threads are busy");
+                rejected.forEach(Calls::reject);
+            }
+        }
+    }
+
+    private void runTasks(String endpointId) {
+        while (true) {
+            final Calls task;
+            synchronized (endpointTasks) {
+                final Queue<Calls> tasks = endpointTasks.get(endpointId);
+                task = tasks.poll();
+                if (task == null) {
+                    endpointTasks.remove(endpointId);
+                    return;
+                }
+            }
+            try {
+                task.process();
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Requests and notifications of one received message. */
+    private class Calls {
+        final String           endpointId;
+        final List<JsonObject> calls;
+        final List<JsonObject> responses;
+        final boolean          batch;
+
+        Calls(String endpointId, List<JsonObject> calls, List<JsonObject> responses, boolean batch) {
+            this.endpointId = endpointId;
+            this.calls = calls;
+            this.responses = responses;
+            this.batch = batch;
+        }
+
+        void process() {
+            WebSocketToJsonRpcDispatcher.this.process(endpointId, calls, responses, batch);
+        }
+
+        /** Answers requests with server busy error, notifications are dropped. */
+        void reject() {
+            for (JsonObject call : calls) {
+                if (call.has("id")) {
+                    responses.add(error(call.get("id"), SERVER_BUSY, "Server busy"));
+                }
+            }
+            transmit(endpointId, responses, batch);
+        }
     }
 }
@@ -11,7 +11,6 @@
 package org.eclipse.che.api.core.jsonrpc.impl;
 
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
@@ -21,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Web socket based json rpc transmitter implementation
@@ -30,7 +30,7 @@ import java.util.concurrent.CompletableFuture;
 public class WebSocketTransmitter implements RequestTransmitter {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketTransmitter.class);
 
-    private static long idCounter = 0L;
+    private static final AtomicLong idCounter = new AtomicLong();
 
     private final ResponseDispatcher          responseDispatcher;
     private final WebSocketMessageTransmitter transmitter;
@@ -59,9 +59,11 @@ public class WebSocketTransmitter implements RequestTransmitter {
     public <R> CompletableFuture<R> transmitRequest(String endpointId, String method, Class<R> resultClass) {
         LOG.debug("Transmitting a request to endpoint: " + endpointId + ", method: " + method + ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(idCounter.incrementAndGet());
+        // register future before transmitting, response may come before this method returns
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, null, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
@@ -71,9 +73,10 @@ public class WebSocketTransmitter implements RequestTransmitter {
                   ", params:" + params +
                   ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(idCounter.incrementAndGet());
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, params, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
@@ -93,9 +96,7 @@ public class WebSocketTransmitter implements RequestTransmitter {
         }
         request.addProperty("method", method);
         if (dto != null) {
-            final String dtoString = DtoFactory.getInstance().toJson(dto);
-            final JsonObject jsonParams = new JsonParser().parse(dtoString).getAsJsonObject();
-            request.add("params", jsonParams);
+            request.add("params", DtoFactory.getInstance().toJsonElement(dto));
         }
 
         if (endpointId == null) {
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to the wrapped subscriber asynchronously. Published events are put in bounded queue of this subscriber and
+ * delivered in order they were published by tasks of shared executor, at most one task of the same subscriber is running at any
+ * time. What happens when queue is full is defined by {@link OverflowPolicy}.
+ * <p/>
+ * Instances are created by {@link EventService#subscribeAsync(EventSubscriber, int, OverflowPolicy)}.
+ *
+ * @see EventService
+ */
+public final class AsyncEventSubscriber<T> implements EventSubscriber<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    /** Max number of events delivered by one task, after that task is re-scheduled to let other subscribers get their events. */
+    private static final int MAX_EVENTS_PER_TASK = 64;
+
+    /** Defines what to do with new event if queue of subscriber is full. */
+    public enum OverflowPolicy {
+        /** Publisher thread is blocked until there is free space in the queue. */
+        BLOCK,
+        /** The oldest event in the queue is dropped. */
+        DROP_OLDEST
+    }
+
+    private final EventSubscriber<T>    delegate;
+    private final Class<?>              eventType;
+    private final BlockingQueue<Object> queue;
+    private final OverflowPolicy        overflowPolicy;
+    private final Executor              executor;
+    private final AtomicBoolean         scheduled;
+    private final AtomicLong            delivered;
+    private final AtomicLong            dropped;
+    private final AtomicLong            handlerTimeNanos;
+    private final AtomicLong            maxHandlerTimeNanos;
+
+    private volatile boolean cancelled;
+
+    AsyncEventSubscriber(EventSubscriber<T> delegate,
+                         Class<?> eventType,
+                         int queueCapacity,
+                         OverflowPolicy overflowPolicy,
+                         Executor executor) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+        this.delegate = delegate;
+        this.eventType = eventType;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        scheduled = new AtomicBoolean();
+        delivered = new AtomicLong();
+        dropped = new AtomicLong();
+        handlerTimeNanos = new AtomicLong();
+        maxHandlerTimeNanos = new AtomicLong();
+    }
+
+    @Override
+    public void onEvent(T event) {
+        if (cancelled) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return;
+            }
+        } else {
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+        schedule();
+    }
+
+    /** Subscriber which receives events. */
+    public EventSubscriber<T> getDelegate() {
+        return delegate;
+    }
+
+    /** Type of events which subscriber is subscribed to. */
+    Class<?> getEventType() {
+        return eventType;
+    }
+
+    /** Number of events waiting for delivery. */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /** Number of events delivered to subscriber. */
+    public long getDeliveredEventsCount() {
+        return delivered.get();
+    }
+
+    /** Number of events dropped because queue was full or publisher thread was interrupted. */
+    public long getDroppedEventsCount() {
+        return dropped.get();
+    }
+
+    /** Average time spent by subscriber for processing of one event. */
+    public double getAverageHandlerTimeMillis() {
+        final long count = delivered.get();
+        return count == 0 ? 0 : handlerTimeNanos.get() / 1000000.0 / count;
+    }
+
+    /** Max time spent by subscriber for processing of one event. */
+    public double getMaxHandlerTimeMillis() {
+        return maxHandlerTimeNanos.get() / 1000000.0;
+    }
+
+    /** Stops delivering of events. Events which are in queue at the moment are discarded. */
+    void cancel() {
+        cancelled = true;
+        queue.clear();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver() {
+        try {
+            Object event;
+            for (int i = 0; i < MAX_EVENTS_PER_TASK && !cancelled && (event = queue.poll()) != null; i++) {
+                final long start = System.nanoTime();
+                try {
+                    LOG.debug("Publish event {} for {}", event, delegate);
+                    delegate.onEvent((T)event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                final long time = System.nanoTime() - start;
+                handlerTimeNanos.addAndGet(time);
+                maxHandlerTimeNanos.accumulateAndGet(time, Math::max);
+                delivered.incrementAndGet();
+            }
+        } finally {
+            scheduled.set(false);
+            if (!queue.isEmpty() && !cancelled) {
+                schedule();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{" +
+               "delegate=" + delegate +
+               ", overflowPolicy=" + overflowPolicy +
+               '}';
+    }
+}
@@ -13,10 +13,14 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +31,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +46,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers registered with {@link #subscribe(EventSubscriber)} are called synchronously in the publisher's thread. Subscribers
+ * registered with {@link #subscribeAsync(EventSubscriber, int, OverflowPolicy)} get events from their own bounded queue in the
+ * order events were published, but in threads of the event service, so slow subscribers don't delay publishers.
  *
  * @author andrew00x
  */
@@ -51,12 +60,16 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>          subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventSubscriber> asyncSubscribers;
+
+    private ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,6 +147,72 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which gets events asynchronously. The event to subscribe to is inferred by checking the generic type
+     * arguments of the given subscriber. Events are delivered to the subscriber in the same order they were published, subscriber is
+     * never called concurrently.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param queueCapacity
+     *         max number of events that wait for delivery to the subscriber
+     * @param overflowPolicy
+     *         defines what to do with new event when queue is full
+     * @return wrapper of subscriber that provides statistics of events delivery
+     */
+    public <T> AsyncEventSubscriber<T> subscribeAsync(EventSubscriber<T> subscriber, int queueCapacity, OverflowPolicy overflowPolicy) {
+        return subscribeAsync(subscriber, getEventType(subscriber), queueCapacity, overflowPolicy);
+    }
+
+    /**
+     * Subscribe to an event asynchronously, see {@link #subscribeAsync(EventSubscriber, int, OverflowPolicy)}.
+     *
+     * @param eventType
+     *         the event to subscribe to
+     */
+    public <T> AsyncEventSubscriber<T> subscribeAsync(EventSubscriber<T> subscriber,
+                                                      Class<?> eventType,
+                                                      int queueCapacity,
+                                                      OverflowPolicy overflowPolicy) {
+        final AsyncEventSubscriber<T> asyncSubscriber = new AsyncEventSubscriber<>(subscriber,
+                                                                                   eventType,
+                                                                                   queueCapacity,
+                                                                                   overflowPolicy,
+                                                                                   getAsyncExecutor());
+        final AsyncEventSubscriber previous = asyncSubscribers.put(subscriber, asyncSubscriber);
+        if (previous != null) {
+            // previous subscription might be made to another type of events
+            doUnsubscribe(previous, previous.getEventType());
+            previous.cancel();
+        }
+        doSubscribe(asyncSubscriber, eventType);
+        return asyncSubscriber;
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            // At most one task of each async subscriber is running at any time so number of threads is limited by number of
+            // async subscribers that have pending events.
+            asyncExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventServiceAsyncDispatcher-%d")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+        }
+        return asyncExecutor;
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        for (AsyncEventSubscriber asyncSubscriber : asyncSubscribers.values()) {
+            asyncSubscriber.cancel();
+        }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+            asyncExecutor = null;
+        }
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -162,6 +241,11 @@ public class EventService {
     }
 
     private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+        final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.remove(subscriber);
+        if (asyncSubscriber != null) {
+            asyncSubscriber.cancel();
+            doUnsubscribe(asyncSubscriber, asyncSubscriber.getEventType());
+        }
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
             boolean changed = entries.remove(subscriber);
@@ -80,8 +80,9 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
         if (t instanceof JsonSerializable) {
+            // DTO is written directly to the stream without creating of intermediate JSON string
             try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+                ((JsonSerializable)t).toJson(w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.lineconsumer.ConsumerAlreadyClosedException;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Line consumer that sends lines to specified websocket channel in batches. Lines are collected in buffer and sent as one
+ * message, separated with line feed, when size of buffer exceeds max batch size or flush delay elapsed since the first line
+ * was added to the buffer. So noisy processes produce a few messages per second instead of message per line.
+ * <p/>
+ * If max rate of lines is set, lines are counted in one second windows and lines over the limit of the current window are dropped,
+ * line with number of skipped lines is sent instead of them. Only sent lines are counted, so output that exceeds the limit
+ * constantly is still sent at the max rate. Client must split body of received message into lines.
+ *
+ * @see WebsocketLineConsumer
+ */
+public class BatchingWebsocketLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(BatchingWebsocketLineConsumer.class);
+
+    public static final int  DEFAULT_MAX_BATCH_SIZE     = 64 * 1024;
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = 50;
+
+    private static final long RATE_WINDOW_NANOS = SECONDS.toNanos(1);
+
+    private static final ScheduledExecutorService FLUSHER =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("WebsocketLineConsumerFlusher")
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    private final String             channel;
+    private final int                maxBatchSize;
+    private final long               flushDelayMillis;
+    private final double             maxLinesPerSecond;
+    private final Ticker             ticker;
+    private final StringBuilder      batch;
+
+    private long               windowStartNanos;
+    private long               windowLines;
+    private long               skippedLines;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean            closed;
+
+    public BatchingWebsocketLineConsumer(String channel) {
+        this(channel, DEFAULT_MAX_BATCH_SIZE, DEFAULT_FLUSH_DELAY_MILLIS, 0);
+    }
+
+    /**
+     * @param channel
+     *         websocket channel
+     * @param maxBatchSize
+     *         max number of characters in one message
+     * @param flushDelayMillis
+     *         max time that line may wait in buffer before it is sent
+     * @param maxLinesPerSecond
+     *         max allowed rate of lines, lines which exceed this rate are dropped, {@code 0} means there is no limit
+     */
+    public BatchingWebsocketLineConsumer(String channel, int maxBatchSize, long flushDelayMillis, double maxLinesPerSecond) {
+        this(channel, maxBatchSize, flushDelayMillis, maxLinesPerSecond, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    BatchingWebsocketLineConsumer(String channel, int maxBatchSize, long flushDelayMillis, double maxLinesPerSecond, Ticker ticker) {
+        this.channel = channel;
+        this.maxBatchSize = maxBatchSize;
+        this.flushDelayMillis = flushDelayMillis;
+        this.maxLinesPerSecond = maxLinesPerSecond;
+        this.ticker = ticker;
+        this.batch = new StringBuilder();
+        this.windowStartNanos = ticker.read();
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (closed) {
+            throw new ConsumerAlreadyClosedException("Websocket line consumer of channel " + channel + " is closed");
+        }
+        if (isRateExceeded()) {
+            skippedLines++;
+            scheduleFlush();
+            return;
+        }
+        appendSkippedLines();
+        append(line);
+        if (batch.length() >= maxBatchSize) {
+            flush();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /** Sends all buffered lines. */
+    public synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        appendSkippedLines();
+        if (batch.length() > 0) {
+            final String body = batch.toString();
+            batch.setLength(0);
+            send(body);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+
+    @VisibleForTesting
+    void send(String body) {
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(channel);
+        bm.setBody(body);
+        try {
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error("A problem occurred while sending websocket message", e);
+        }
+    }
+
+    private void append(String line) {
+        if (batch.length() > 0) {
+            batch.append('\n');
+        }
+        batch.append(line);
+    }
+
+    private void appendSkippedLines() {
+        if (skippedLines > 0) {
+            append("[" + skippedLines + " lines of output skipped]");
+            skippedLines = 0;
+        }
+    }
+
+    /** Counts line in the current rate window, returns {@code true} if the line must be dropped. */
+    private boolean isRateExceeded() {
+        if (maxLinesPerSecond <= 0) {
+            return false;
+        }
+        final long now = ticker.read();
+        if (now - windowStartNanos >= RATE_WINDOW_NANOS) {
+            windowStartNanos = now;
+            windowLines = 0;
+        }
+        if (windowLines >= maxLinesPerSecond) {
+            return true;
+        }
+        windowLines++;
+        return false;
+    }
+
+    private void scheduleFlush() {
+        if (scheduledFlush == null) {
+            scheduledFlush = FLUSHER.schedule(this::flush, flushDelayMillis, MILLISECONDS);
+        }
+    }
+}
@@ -30,18 +30,18 @@ import javax.websocket.server.PathParam;
 public class BasicWebSocketEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(BasicWebSocketEndpoint.class);
 
-    private final WebSocketSessionRegistry registry;
-    private final MessagesReSender         reSender;
-    private final WebSocketMessageReceiver receiver;
+    private final WebSocketSessionRegistry         registry;
+    private final WebSocketMessageReceiver         receiver;
+    private final BasicWebSocketMessageTransmitter transmitter;
 
 
     public BasicWebSocketEndpoint(WebSocketSessionRegistry registry,
-                                  MessagesReSender reSender,
-                                  WebSocketMessageReceiver receiver) {
+                                  WebSocketMessageReceiver receiver,
+                                  BasicWebSocketMessageTransmitter transmitter) {
 
         this.registry = registry;
-        this.reSender = reSender;
         this.receiver = receiver;
+        this.transmitter = transmitter;
     }
 
     @OnOpen
@@ -51,8 +51,7 @@ public class BasicWebSocketEndpoint {
 
         session.setMaxIdleTimeout(0);
 
-        registry.add(endpointId, session);
-        reSender.resend(endpointId);
+        transmitter.onSessionOpened(endpointId, session);
     }
 
     @OnMessage
@@ -65,12 +64,13 @@ public class BasicWebSocketEndpoint {
     }
 
     @OnClose
-    public void onClose(CloseReason closeReason, @PathParam("endpoint-id") String endpointId) {
+    public void onClose(CloseReason closeReason, Session session, @PathParam("endpoint-id") String endpointId) {
         LOG.info("Web socket session closed");
         LOG.debug("Endpoint: {}", endpointId);
         LOG.debug("Close reason: {}:{}", closeReason.getReasonPhrase(), closeReason.getCloseCode());
 
         registry.remove(endpointId);
+        transmitter.onSessionClosed(session);
     }
 
     @OnError
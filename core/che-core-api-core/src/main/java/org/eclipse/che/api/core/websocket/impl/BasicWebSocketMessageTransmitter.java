@@ -11,20 +11,58 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import java.io.IOException;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.util.stream.Collectors.toList;
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
+ * <p/>
+ * Each session has its own outbound queue which is sent with asynchronous remote
+ * endpoint one message after another, so slow client does not block sending of
+ * messages to other clients. If client does not read messages and its queue
+ * exceeds {@link #MAX_QUEUED_MESSAGES} the session is closed, messages left in
+ * queue are passed to re-sender and are sent when client connects again. The
+ * same happens to messages left in queue of session closed by client. Messages
+ * taken from re-sender are put in the queue of new session ahead of any message
+ * transmitted after the session is registered.
+ * <p/>
+ * Every message is given a sequence number, numbers grow in the order messages
+ * are queued for a session. Client which opens session with query parameter
+ * {@value #LAST_SEQUENCE_PARAMETER} receives each message prefixed by its number
+ * and a colon, e.g. {@code 42:{"jsonrpc":"2.0",...}}, and passes the number of
+ * the last received message in the same parameter when it connects again, so
+ * only messages it has not received yet are re-sent. Client which opens session
+ * without the parameter receives plain messages and all the re-sent messages,
+ * including the one that was being sent when session was closed.
+ * <p/>
+ * Messages which are not shorter than {@link #MIN_DEFLATE_LENGTH} are sent
+ * compressed to sessions which negotiated {@link MessageEncoding#DEFLATE}
+ * encoding, other messages and messages to other sessions are sent as text.
  *
  * @author Dmitry Kuleshov
  */
@@ -32,49 +70,343 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
     private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
-    private final WebSocketSessionRegistry registry;
-    private final MessagesReSender         reSender;
+    static final int    MAX_QUEUED_MESSAGES     = 1000;
+    static final String LAST_SEQUENCE_PARAMETER = "lastSequence";
+    /** Compression of shorter messages saves too few bytes to be worth of time spent by server and client. */
+    static final int    MIN_DEFLATE_LENGTH      = 512;
+
+    /**
+     * Sequence numbers start from the current time in microseconds, so messages sent after restart of server get greater
+     * numbers than messages client received before it.
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final WebSocketSessionRegistry                registry;
+    private final MessagesReSender                        reSender;
+    private final ConcurrentMap<Session, SessionOutbound> outbounds;
+    private final AtomicLong                              sentMessages;
+    private final AtomicLong                              sendLatencyNanos;
+    private final AtomicLong                              maxSendLatencyNanos;
+    private final AtomicLong                              slowConsumers;
+    private final AtomicLong                              deflatedMessages;
 
     @Inject
     public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
         this.registry = registry;
         this.reSender = reSender;
+        this.outbounds = new ConcurrentHashMap<>();
+        this.sentMessages = new AtomicLong();
+        this.sendLatencyNanos = new AtomicLong();
+        this.maxSendLatencyNanos = new AtomicLong();
+        this.slowConsumers = new AtomicLong();
+        this.deflatedMessages = new AtomicLong();
     }
 
     @Override
-    public synchronized void transmit(String endpointId, String message) {
+    public void transmit(String endpointId, String message) {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
         if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
-            reSender.add(endpointId, message);
+            sessionOptional.ifPresent(this::onSessionClosed);
+            reSender.add(endpointId, SEQUENCE.incrementAndGet(), message);
         } else {
             LOG.debug("Session registered and open, sending message");
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            getOutbound(sessionOptional.get(), endpointId).send(message);
         }
     }
 
     @Override
-    public synchronized void transmit(String message) {
+    public void transmit(String message) {
         LOG.debug("Broadcasting a web socket transmission: ", message);
 
+        outbounds.keySet()
+                 .stream()
+                 .filter(session -> !session.isOpen())
+                 .collect(toList())
+                 .forEach(this::onSessionClosed);
+
         registry.getSessions()
                 .stream()
                 .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
+                .forEach(session -> getOutbound(session, null).send(message));
+    }
+
+    /** Number of messages sent to all sessions. */
+    public long getSentMessagesCount() {
+        return sentMessages.get();
+    }
+
+    /** Number of messages waiting in outbound queues of all sessions. */
+    public int getQueuedMessagesCount() {
+        return outbounds.values().stream().mapToInt(SessionOutbound::size).sum();
+    }
+
+    /** Average time between putting message to outbound queue and completion of its sending. */
+    public double getAverageSendLatencyMillis() {
+        final long count = sentMessages.get();
+        return count == 0 ? 0 : sendLatencyNanos.get() / 1000000.0 / count;
+    }
+
+    /** Max time between putting message to outbound queue and completion of its sending. */
+    public double getMaxSendLatencyMillis() {
+        return maxSendLatencyNanos.get() / 1000000.0;
+    }
+
+    /** Number of sessions closed because client did not read messages. */
+    public long getSlowConsumersCount() {
+        return slowConsumers.get();
+    }
+
+    /** Number of messages sent compressed. */
+    public long getDeflatedMessagesCount() {
+        return deflatedMessages.get();
+    }
+
+    /**
+     * Registers opened session of endpoint and sends messages which were passed to re-sender while endpoint was not connected,
+     * except for messages client has already received. Sending of messages transmitted after registration is held until messages
+     * of re-sender are queued ahead of them.
+     */
+    void onSessionOpened(String endpointId, Session session) {
+        final SessionOutbound outbound = getOutbound(session, endpointId);
+        outbound.hold();
+        registry.add(endpointId, session);
+        outbound.resume(reSender.takeMessages(endpointId, outbound.sequenced ? outbound.lastSequence : 0));
+    }
+
+    /** Removes outbound queue of closed session, messages which were not sent are passed to re-sender. */
+    void onSessionClosed(Session session) {
+        final SessionOutbound outbound = outbounds.remove(session);
+        if (outbound != null) {
+            outbound.close();
+        }
+    }
+
+    private SessionOutbound getOutbound(Session session, String endpointId) {
+        final SessionOutbound outbound = outbounds.computeIfAbsent(session, SessionOutbound::new);
+        if (endpointId != null) {
+            outbound.endpointId = endpointId;
+        }
+        return outbound;
+    }
+
+    /** Returns sequence number passed by client in query parameter of session, or -1 if there is no such parameter. */
+    private static long getLastSequence(Session session) {
+        final Map<String, List<String>> parameters = session.getRequestParameterMap();
+        final List<String> values = parameters == null ? null : parameters.get(LAST_SEQUENCE_PARAMETER);
+        if (values == null || values.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(Long.parseLong(values.get(0)), 0);
+        } catch (NumberFormatException e) {
+            LOG.debug("Invalid value of {} parameter: {}", LAST_SEQUENCE_PARAMETER, values.get(0));
+            return 0;
+        }
+    }
+
+    private static class QueuedMessage {
+        final long   sequence;
+        final String text;
+        final long   queuedTime;
+
+        QueuedMessage(long sequence, String text) {
+            this.sequence = sequence;
+            this.text = text;
+            this.queuedTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Outbound queue of single session. Asynchronous remote endpoint allows only one message to be in progress, next message is sent
+     * when sending of previous one is completed.
+     */
+    private class SessionOutbound {
+        final    Session              session;
+        final    Deque<QueuedMessage> queue;
+        final    AtomicInteger        size;
+        final    AtomicBoolean        sending;
+        final    boolean              sequenced;
+        final    long                 lastSequence;
+        final    MessageEncoding      encoding;
+        volatile String               endpointId;
+        volatile QueuedMessage        current;
+        volatile boolean              closed;
+        volatile boolean              held;
+
+        SessionOutbound(Session session) {
+            this.session = session;
+            this.queue = new ConcurrentLinkedDeque<>();
+            this.size = new AtomicInteger();
+            this.sending = new AtomicBoolean();
+            this.lastSequence = getLastSequence(session);
+            this.sequenced = lastSequence >= 0;
+            this.encoding = MessageEncoding.negotiate(session);
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        void send(String message) {
+            final QueuedMessage queued;
+            final boolean added;
+            // numbers must grow in the order messages are queued
+            synchronized (this) {
+                queued = new QueuedMessage(SEQUENCE.incrementAndGet(), message);
+                added = !closed && size.incrementAndGet() <= MAX_QUEUED_MESSAGES;
+                if (added) {
+                    queue.add(queued);
+                }
+            }
+            if (added) {
+                sendNext();
+            } else if (closed) {
+                passToReSender(queued);
+            } else {
+                size.decrementAndGet();
+                closeSlowConsumer(queued);
+            }
+        }
+
+        void hold() {
+            held = true;
+        }
+
+        /** Puts messages at the head of the queue in the given order and resumes sending. */
+        void resume(List<PendingMessage> firstMessages) {
+            for (ListIterator<PendingMessage> it = firstMessages.listIterator(firstMessages.size()); it.hasPrevious(); ) {
+                final PendingMessage pending = it.previous();
+                queue.addFirst(new QueuedMessage(pending.getSequence(), pending.getMessage()));
+                size.incrementAndGet();
+            }
+            held = false;
+            sendNext();
+        }
+
+        private void sendNext() {
+            while (!closed && !held && sending.compareAndSet(false, true)) {
+                final QueuedMessage next = queue.poll();
+                if (next != null) {
+                    size.decrementAndGet();
+                    current = next;
+                    final Completion completion = new Completion(next);
                     try {
-                        it.sendText(message);
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+                        sendAsync(sequenced ? next.sequence + ":" + next.text : next.text, completion);
+                    } catch (RuntimeException e) {
+                        LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+                        current = null;
+                        sending.set(false);
+                        continue;
                     }
-                });
-    }
+                    if (completion.handOver()) {
+                        // completion handler sends the next message
+                        return;
+                    }
+                    // sending is already completed in this thread, the next message is sent by this loop instead of recursive call
+                    sending.set(false);
+                    continue;
+                }
+                sending.set(false);
+                // message might be added after poll but before flag is reset
+                if (queue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        private void sendAsync(String text, SendHandler completion) {
+            if (encoding == MessageEncoding.DEFLATE && text.length() >= MIN_DEFLATE_LENGTH) {
+                session.getAsyncRemote().sendBinary(MessageEncoding.deflate(text), completion);
+                deflatedMessages.incrementAndGet();
+            } else {
+                session.getAsyncRemote().sendText(text, completion);
+            }
+        }
+
+        private void onSent(QueuedMessage sent, SendResult result) {
+            current = null;
+            if (result.isOK()) {
+                final long latency = System.nanoTime() - sent.queuedTime;
+                sendLatencyNanos.addAndGet(latency);
+                maxSendLatencyNanos.accumulateAndGet(latency, Math::max);
+                sentMessages.incrementAndGet();
+            } else {
+                LOG.error("Error while trying to send a message to an async websocket remote endpoint", result.getException());
+            }
+        }
 
+        private void closeSlowConsumer(QueuedMessage message) {
+            if (outbounds.remove(session, this)) {
+                slowConsumers.incrementAndGet();
+                LOG.warn("Web socket client of endpoint {} does not read messages, closing session", endpointId);
+                try {
+                    session.close(new CloseReason(TRY_AGAIN_LATER, "Too many pending messages"));
+                } catch (IOException e) {
+                    LOG.error("Error while trying to close a slow websocket session", e);
+                }
+            }
+            close();
+            passToReSender(message);
+        }
+
+        /**
+         * Stops sending and passes messages which were not sent to re-sender. Message which is being sent is passed too, as it may
+         * be lost when session is closed. Client which reports sequence number of the last received message doesn't receive it
+         * again if it was delivered, other clients may receive it twice rather than never.
+         */
+        void close() {
+            synchronized (this) {
+                closed = true;
+            }
+            final QueuedMessage inProgress = current;
+            if (inProgress != null) {
+                passToReSender(inProgress);
+            }
+            for (QueuedMessage queued; (queued = queue.poll()) != null; ) {
+                passToReSender(queued);
+            }
+        }
+
+        private void passToReSender(QueuedMessage message) {
+            if (endpointId != null) {
+                reSender.add(endpointId, message.sequence, message.text);
+            }
+        }
+
+        /**
+         * Handles completion of sending of single message. Completion may be reported in the thread which started sending, before
+         * sending method returns, and then the next message is sent by that thread when it returns, otherwise the next message is
+         * sent by the handler.
+         */
+        private class Completion implements SendHandler {
+            final QueuedMessage message;
+            final AtomicBoolean handedOver;
+
+            Completion(QueuedMessage message) {
+                this.message = message;
+                this.handedOver = new AtomicBoolean();
+            }
+
+            /**
+             * Called by the sending thread when sending method returns and by the handler when sending is completed. Returns
+             * {@code true} to the first of them, the second one sends the next message.
+             */
+            boolean handOver() {
+                return handedOver.compareAndSet(false, true);
+            }
+
+            @Override
+            public void onResult(SendResult result) {
+                onSent(message, result);
+                if (!handOver()) {
+                    sending.set(false);
+                    sendNext();
+                }
+            }
+        }
+    }
 }
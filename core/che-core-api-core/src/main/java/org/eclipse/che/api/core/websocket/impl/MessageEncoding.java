@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import javax.websocket.Session;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Encoding of messages sent to WEB SOCKET client, negotiated when session is opened. Client lists encodings it accepts in
+ * {@value #PARAMETER} query parameter of WEB SOCKET URL, e.g. {@code /websocket/endpoint?encoding=deflate}, the first one known to
+ * server is used. Without the parameter or when none of listed encodings is known messages are sent as plain JSON text.
+ * <p/>
+ * With {@link #DEFLATE} encoding large messages are sent as binary frames which contain messages compressed in zlib format, small
+ * messages are still sent as text, so client distinguishes them by type of frame.
+ */
+public enum MessageEncoding {
+    JSON,
+    DEFLATE;
+
+    /** Query parameter of WEB SOCKET URL which lists encodings accepted by client, in order of preference. */
+    public static final String PARAMETER = "encoding";
+
+    /**
+     * Selects the first known encoding of the ones accepted by client.
+     *
+     * @param accepted
+     *         values of {@value #PARAMETER} query parameter, each value may contain comma separated list of encodings
+     * @return selected encoding or {@link #JSON} if client doesn't accept any of known encodings
+     */
+    public static MessageEncoding negotiate(List<String> accepted) {
+        if (accepted != null) {
+            for (String value : accepted) {
+                for (String name : value.split(",")) {
+                    for (MessageEncoding encoding : values()) {
+                        if (encoding.name().equals(name.trim().toUpperCase(Locale.ENGLISH))) {
+                            return encoding;
+                        }
+                    }
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /** Selects encoding of the session by query parameters of its URL. */
+    public static MessageEncoding negotiate(Session session) {
+        final Map<String, List<String>> parameters = session.getRequestParameterMap();
+        return parameters == null ? JSON : negotiate(parameters.get(PARAMETER));
+    }
+
+    /** Compresses UTF-8 representation of message. */
+    public static ByteBuffer deflate(String message) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(message.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, message.length() / 4));
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -10,76 +10,203 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import com.google.common.base.Utf8;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import javax.websocket.Session;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
- * Instance is responsible for re-sending messages that were not sent during the period
- * when WEB SOCKET session was closed. If session is closed during re-send process it
- * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * Instance is responsible for keeping messages that were not sent during the period
+ * when WEB SOCKET session was closed. When session becomes open again transmitter
+ * takes messages of its endpoint and sends them before any new message, see
+ * {@link BasicWebSocketMessageTransmitter}.
+ * <p/>
+ * Messages of each endpoint are kept in bounded buffer, when any of limits of
+ * number of messages, their total size or age is exceeded the oldest messages
+ * are dropped. Size of message is the size of its UTF-8 encoded text, as it is
+ * sent over WEB SOCKET. Buffers of endpoints that don't connect again are
+ * removed when all their messages are expired.
+ * <p/>
+ * Each message keeps the sequence number it was given by transmitter, so
+ * messages which client has already received before the session was closed
+ * are not sent again.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    static final int  MAX_MESSAGES   = 100;
+    static final long MAX_BYTES      = 1024 * 1024;
+    static final long MAX_AGE_MILLIS = MINUTES.toMillis(10);
 
-    private final WebSocketSessionRegistry registry;
-
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private final ConcurrentMap<String, ReplayBuffer> buffers;
+    private final AtomicLong                          pendingBytes;
+    private final AtomicLong                          droppedMessages;
+    private final AtomicLong                          lastExpiration;
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
-        this.registry = registry;
+    public MessagesReSender() {
+        this.buffers = new ConcurrentHashMap<>();
+        this.pendingBytes = new AtomicLong();
+        this.droppedMessages = new AtomicLong();
+        this.lastExpiration = new AtomicLong(System.currentTimeMillis());
     }
 
-    public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+    /** Adds message with given sequence number to the buffer of endpoint. */
+    public void add(String endpointId, long sequence, String message) {
+        expireIfNeeded();
+        while (true) {
+            final ReplayBuffer buffer = buffers.computeIfAbsent(endpointId, id -> new ReplayBuffer());
+            synchronized (buffer) {
+                // buffer might be removed after its messages were taken or expired
+                if (buffers.get(endpointId) == buffer) {
+                    buffer.add(sequence, message);
+                    return;
+                }
+            }
+        }
+    }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
+    /**
+     * Removes all buffered messages of endpoint and returns those which are not expired yet and have sequence number greater
+     * than the given one, ordered by sequence numbers.
+     *
+     * @param endpointId
+     *         identifier of endpoint
+     * @param lastSequence
+     *         sequence number of the last message which client has received, 0 if it is not known
+     */
+    public List<PendingMessage> takeMessages(String endpointId, long lastSequence) {
+        final ReplayBuffer buffer = buffers.remove(endpointId);
+
+        if (buffer == null) {
+            return emptyList();
         }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
+        final List<PendingMessage> messages;
+        synchronized (buffer) {
+            buffer.expire(System.currentTimeMillis() - MAX_AGE_MILLIS);
+            messages = new ArrayList<>(buffer.size());
+            for (PendingMessage next = buffer.peek(); next != null; next = buffer.peek()) {
+                if (next.sequence > lastSequence) {
+                    messages.add(next);
+                }
+                buffer.remove();
+            }
         }
+        // messages of closed session and messages transmitted while endpoint is not connected may be added concurrently
+        messages.sort(comparingLong(PendingMessage::getSequence));
+        return messages;
     }
 
-    public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+    /** Total size of buffered messages of all endpoints, in bytes. */
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
 
-        if (messages == null || messages.isEmpty()) {
+    /** Number of buffered messages of all endpoints. */
+    public int getPendingMessagesCount() {
+        return buffers.values().stream().mapToInt(ReplayBuffer::size).sum();
+    }
+
+    /** Number of messages that were dropped because of buffer limits or expiration. */
+    public long getDroppedMessagesCount() {
+        return droppedMessages.get();
+    }
+
+    /** Removes expired messages of all endpoints, not more often than once per minute. */
+    private void expireIfNeeded() {
+        final long now = System.currentTimeMillis();
+        final long last = lastExpiration.get();
+        if (now - last < MINUTES.toMillis(1) || !lastExpiration.compareAndSet(last, now)) {
             return;
         }
+        buffers.forEach((endpointId, buffer) -> {
+            synchronized (buffer) {
+                buffer.expire(now - MAX_AGE_MILLIS);
+                if (buffer.isEmpty()) {
+                    buffers.remove(endpointId, buffer);
+                }
+            }
+        });
+    }
 
-        final Optional<Session> sessionOptional = registry.get(endpointId);
+    /** Buffered message and its sequence number. */
+    public static class PendingMessage {
+        private final long   sequence;
+        private final String message;
+        private final long   bytes;
+        private final long   time;
+
+        PendingMessage(long sequence, String message) {
+            this.sequence = sequence;
+            this.message = message;
+            this.bytes = Utf8.encodedLength(message);
+            this.time = System.currentTimeMillis();
+        }
 
-        if (!sessionOptional.isPresent()) {
-            return;
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getMessage() {
+            return message;
         }
+    }
 
-        final Session session = sessionOptional.get();
+    /** Messages of one endpoint. All methods must be called while holding monitor of buffer. */
+    private class ReplayBuffer {
+        final Deque<PendingMessage> messages = new ArrayDeque<>();
+
+        long bytes;
+
+        void add(long sequence, String message) {
+            final PendingMessage bufferedMessage = new PendingMessage(sequence, message);
+            messages.addLast(bufferedMessage);
+            bytes += bufferedMessage.bytes;
+            pendingBytes.addAndGet(bufferedMessage.bytes);
+            while (messages.size() > MAX_MESSAGES || (bytes > MAX_BYTES && messages.size() > 1)) {
+                remove();
+                droppedMessages.incrementAndGet();
+            }
+        }
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        PendingMessage peek() {
+            return messages.peekFirst();
+        }
 
-        for (String message : backing) {
+        void remove() {
+            final PendingMessage removed = messages.pollFirst();
+            if (removed != null) {
+                bytes -= removed.bytes;
+                pendingBytes.addAndGet(-removed.bytes);
+            }
+        }
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+        void expire(long minTime) {
+            while (!messages.isEmpty() && messages.peekFirst().time < minTime) {
+                remove();
+                droppedMessages.incrementAndGet();
             }
         }
 
-        messagesMap.put(endpointId, messages);
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        synchronized int size() {
+            return messages.size();
+        }
     }
 }
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonObject;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ResponseDispatcher}
+ */
+public class ResponseDispatcherTest {
+    private static final String ENDPOINT_ID = "endpoint";
+
+    private ResponseDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dispatcher = new ResponseDispatcher();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        dispatcher.stop();
+    }
+
+    @Test
+    public void shouldCompleteFutureWithDispatchedResponse() throws Exception {
+        final CompletableFuture<Void> future = dispatcher.getCompletableFuture(ENDPOINT_ID, "1", Void.class);
+
+        final JsonObject response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.addProperty("id", "1");
+        response.add("result", new JsonObject());
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        assertNull(future.get(5, SECONDS));
+        assertEquals(dispatcher.getPendingRequestsCount(), 0);
+    }
+
+    @Test
+    public void shouldCompleteFutureWithTimeoutExceptionWhenResponseIsNotReceivedInTime() throws Exception {
+        final CompletableFuture<Void> future = dispatcher.getCompletableFuture(ENDPOINT_ID, "1", Void.class, 10);
+
+        try {
+            future.get(5, SECONDS);
+            fail("Future must be completed with timeout exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals(dispatcher.getPendingRequestsCount(), 0);
+    }
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.jsonrpc.impl.RequestDispatcher.INTERNAL_ERROR;
+import static org.eclipse.che.api.core.jsonrpc.impl.RequestDispatcher.INVALID_REQUEST;
+import static org.eclipse.che.api.core.jsonrpc.impl.RequestDispatcher.METHOD_NOT_FOUND;
+import static org.eclipse.che.api.core.jsonrpc.impl.WebSocketToJsonRpcDispatcher.MAX_QUEUED_ENDPOINT_TASKS;
+import static org.eclipse.che.api.core.jsonrpc.impl.WebSocketToJsonRpcDispatcher.PARSE_ERROR;
+import static org.eclipse.che.api.core.jsonrpc.impl.WebSocketToJsonRpcDispatcher.SERVER_BUSY;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebSocketToJsonRpcDispatcher}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketToJsonRpcDispatcherTest {
+    private static final String ENDPOINT_ID = "endpoint";
+
+    @Mock
+    private WebSocketMessageTransmitter transmitter;
+
+    private AtomicInteger                notifications;
+    private CountDownLatch               blockStarted;
+    private CountDownLatch               unblock;
+    private WebSocketToJsonRpcDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        notifications = new AtomicInteger();
+        blockStarted = new CountDownLatch(1);
+        unblock = new CountDownLatch(1);
+
+        final Map<String, RequestHandler> handlers = new HashMap<>();
+        handlers.put("ping", new RequestHandler<Void, String>(Void.class, String.class) {
+            @Override
+            public String handleRequest(String endpointId) {
+                return "pong";
+            }
+        });
+        handlers.put("notify", new RequestHandler<Void, Void>(Void.class, Void.class) {
+            @Override
+            public void handleNotification(String endpointId) {
+                notifications.incrementAndGet();
+            }
+        });
+        handlers.put("block", new RequestHandler<Void, String>(Void.class, String.class) {
+            @Override
+            public String handleRequest(String endpointId) {
+                blockStarted.countDown();
+                try {
+                    unblock.await(5, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "unblocked";
+            }
+        });
+        handlers.put("fail", new RequestHandler<Void, String>(Void.class, String.class) {
+            @Override
+            public String handleRequest(String endpointId) {
+                throw new IllegalStateException("Connection to jdbc:postgresql://db/che refused");
+            }
+        });
+
+        dispatcher = new WebSocketToJsonRpcDispatcher(new RequestDispatcher(handlers, transmitter),
+                                                      new NotificationDispatcher(handlers),
+                                                      new ResponseDispatcher(),
+                                                      transmitter);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        unblock.countDown();
+        dispatcher.stop();
+    }
+
+    @Test
+    public void shouldRespondToRequestsOfMixedBatchWithOneBatch() {
+        dispatcher.receive(ENDPOINT_ID, "[{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"ping\"}," +
+                                        "{\"jsonrpc\":\"2.0\",\"method\":\"notify\"}," +
+                                        "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"method\":\"ping\"}]");
+
+        final JsonArray responses = transmitted().getAsJsonArray();
+        assertEquals(responses.size(), 2);
+        assertEquals(responses.get(0).getAsJsonObject().get("id").getAsString(), "1");
+        assertEquals(responses.get(0).getAsJsonObject().getAsJsonObject("result").get("text").getAsString(), "pong");
+        assertEquals(responses.get(1).getAsJsonObject().get("id").getAsString(), "2");
+        assertEquals(notifications.get(), 1);
+    }
+
+    @Test
+    public void shouldRespondWithInvalidRequestErrorToEmptyBatch() {
+        dispatcher.receive(ENDPOINT_ID, "[]");
+
+        final JsonObject response = transmitted().getAsJsonObject();
+        assertTrue(response.get("id").isJsonNull());
+        assertEquals(errorCode(response), INVALID_REQUEST);
+    }
+
+    @Test
+    public void shouldRespondWithParseErrorToInvalidJson() {
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":");
+
+        final JsonObject response = transmitted().getAsJsonObject();
+        assertTrue(response.get("id").isJsonNull());
+        assertEquals(errorCode(response), PARSE_ERROR);
+    }
+
+    @Test
+    public void shouldRespondWithMethodNotFoundErrorToUnknownMethod() {
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"unknown\"}");
+
+        final JsonObject response = transmitted().getAsJsonObject();
+        assertEquals(response.get("id").getAsString(), "1");
+        assertEquals(errorCode(response), METHOD_NOT_FOUND);
+    }
+
+    @Test
+    public void shouldNotRevealDetailsOfHandlerFailure() {
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"fail\"}");
+
+        final JsonObject error = transmitted().getAsJsonObject().getAsJsonObject("error");
+        assertEquals(error.get("code").getAsInt(), INTERNAL_ERROR);
+        assertEquals(error.get("message").getAsString(), "Internal error");
+    }
+
+    @Test
+    public void shouldRespondWithServerBusyErrorWhenQueueOfEndpointIsFull() throws Exception {
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"0\",\"method\":\"block\"}");
+        assertTrue(blockStarted.await(5, SECONDS));
+        for (int i = 1; i <= MAX_QUEUED_ENDPOINT_TASKS; i++) {
+            dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"" + i + "\",\"method\":\"ping\"}");
+        }
+
+        dispatcher.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"busy\",\"method\":\"ping\"}");
+
+        final JsonObject response = transmitted().getAsJsonObject();
+        assertEquals(response.get("id").getAsString(), "busy");
+        assertEquals(errorCode(response), SERVER_BUSY);
+
+        unblock.countDown();
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter, timeout(5000).times(MAX_QUEUED_ENDPOINT_TASKS + 2)).transmit(eq(ENDPOINT_ID), captor.capture());
+        final List<String> responses = captor.getAllValues();
+        for (String queued : responses.subList(1, responses.size())) {
+            assertTrue(new JsonParser().parse(queued).getAsJsonObject().has("result"));
+        }
+    }
+
+    private JsonElement transmitted() {
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter, timeout(5000)).transmit(eq(ENDPOINT_ID), captor.capture());
+        return new JsonParser().parse(captor.getValue());
+    }
+
+    private static int errorCode(JsonObject response) {
+        return response.getAsJsonObject("error").get("code").getAsInt();
+    }
+}
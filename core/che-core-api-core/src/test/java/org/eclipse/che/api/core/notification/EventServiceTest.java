@@ -14,9 +14,18 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy.BLOCK;
+import static org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy.DROP_OLDEST;
 
 /**
  * @author andrew00x
@@ -218,4 +227,78 @@ public class EventServiceTest {
             super("message");
         }
     }
+
+    @Test
+    public void testAsyncSubscriberGetsEventsInPublishingOrder() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(100);
+        AsyncEventSubscriber<String> subscriber = bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                latch.countDown();
+            }
+        }, 10, BLOCK);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("event" + i);
+            bus.publish("event" + i);
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+        Assert.assertEquals(subscriber.getDeliveredEventsCount(), 100);
+        Assert.assertEquals(subscriber.getDroppedEventsCount(), 0);
+        bus.stop();
+    }
+
+    @Test
+    public void testAsyncSubscriberDropsOldestEventsWhenQueueIsFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        AsyncEventSubscriber<String> subscriber = bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                events.add(event);
+            }
+        }, 2, DROP_OLDEST);
+        bus.publish("first");
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        bus.publish("second");
+        bus.publish("third");
+        bus.publish("fourth");
+        Assert.assertEquals(subscriber.getQueueSize(), 2);
+        Assert.assertEquals(subscriber.getDroppedEventsCount(), 1);
+        release.countDown();
+        bus.unsubscribe(subscriber.getDelegate());
+        bus.publish("fifth");
+        Assert.assertFalse(events.contains("fifth"));
+        bus.stop();
+    }
+
+    @Test
+    public void testAsyncSubscriberIsRemovedFromPreviousEventTypeWhenSubscribedToAnotherOne() throws Exception {
+        EventSubscriber<Object> delegate = event -> {
+        };
+        AsyncEventSubscriber<Object> first = bus.subscribeAsync(delegate, String.class, 10, BLOCK);
+        AsyncEventSubscriber<Object> second = bus.subscribeAsync(delegate, Long.class, 10, BLOCK);
+        Assert.assertFalse(getSubscribers(String.class).contains(first));
+        Assert.assertTrue(getSubscribers(Long.class).contains(second));
+        bus.unsubscribe(delegate, Object.class);
+        Assert.assertTrue(getSubscribers(Long.class).isEmpty());
+        bus.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<EventSubscriber> getSubscribers(Class<?> eventType) throws Exception {
+        Field field = EventService.class.getDeclaredField("subscribersByEventType");
+        field.setAccessible(true);
+        Set<EventSubscriber> subscribers = ((Map<Class<?>, Set<EventSubscriber>>)field.get(bus)).get(eventType);
+        return subscribers == null ? Collections.emptySet() : subscribers;
+    }
 }
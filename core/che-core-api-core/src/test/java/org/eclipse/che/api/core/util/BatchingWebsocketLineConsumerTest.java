@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.base.Ticker;
+
+import org.eclipse.che.api.core.util.lineconsumer.ConsumerAlreadyClosedException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BatchingWebsocketLineConsumer}
+ */
+public class BatchingWebsocketLineConsumerTest {
+
+    @Test
+    public void shouldSendBufferedLinesInOneMessageOnClose() throws Exception {
+        final TestConsumer consumer = new TestConsumer(1024, 10000, 0);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+        assertTrue(consumer.messages.isEmpty());
+
+        consumer.close();
+
+        assertEquals(consumer.messages, singletonList("first\nsecond"));
+    }
+
+    @Test
+    public void shouldSendLinesWhenMaxBatchSizeIsExceeded() throws Exception {
+        final TestConsumer consumer = new TestConsumer(10, 10000, 0);
+
+        consumer.writeLine("12345");
+        consumer.writeLine("67890");
+        consumer.writeLine("next");
+
+        assertEquals(consumer.messages, singletonList("12345\n67890"));
+    }
+
+    @Test
+    public void shouldSendLinesAfterFlushDelay() throws Exception {
+        final TestConsumer consumer = new TestConsumer(1024, 10, 0);
+
+        consumer.writeLine("line");
+        for (int i = 0; i < 100 && consumer.messages.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(consumer.messages, singletonList("line"));
+    }
+
+    @Test
+    public void shouldSkipLinesWhichExceedRate() throws Exception {
+        final TestConsumer consumer = new TestConsumer(1024 * 1024, 10000, 2);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+        consumer.writeLine("third");
+        consumer.ticker.advance(1000);
+        consumer.writeLine("fourth");
+        consumer.close();
+
+        assertEquals(consumer.messages,
+                     singletonList(String.join("\n", asList("first", "second", "[1 lines of output skipped]", "fourth"))));
+    }
+
+    @Test
+    public void shouldSendLinesAtMaxRateWhenRateIsExceededConstantly() throws Exception {
+        final TestConsumer consumer = new TestConsumer(1024 * 1024, 10000, 2);
+
+        for (int i = 0; i < 10; i++) {
+            consumer.writeLine("line" + i);
+            consumer.ticker.advance(300);
+        }
+        consumer.close();
+
+        // only sent lines are counted, so two lines of each second are sent
+        assertEquals(consumer.messages,
+                     singletonList(String.join("\n", asList("line0", "line1", "[2 lines of output skipped]",
+                                                            "line4", "line5", "[2 lines of output skipped]",
+                                                            "line8", "line9"))));
+    }
+
+    @Test(expectedExceptions = ConsumerAlreadyClosedException.class)
+    public void shouldNotWriteLineAfterClose() throws Exception {
+        final TestConsumer consumer = new TestConsumer(1024, 10000, 0);
+        consumer.close();
+
+        consumer.writeLine("line");
+    }
+
+    private static class TestConsumer extends BatchingWebsocketLineConsumer {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final TestTicker   ticker;
+
+        TestConsumer(int maxBatchSize, long flushDelayMillis, double maxLinesPerSecond) {
+            this(maxBatchSize, flushDelayMillis, maxLinesPerSecond, new TestTicker());
+        }
+
+        private TestConsumer(int maxBatchSize, long flushDelayMillis, double maxLinesPerSecond, TestTicker ticker) {
+            super("channel", maxBatchSize, flushDelayMillis, maxLinesPerSecond, ticker);
+            this.ticker = ticker;
+        }
+
+        @Override
+        void send(String body) {
+            messages.add(body);
+        }
+    }
+
+    private static class TestTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long millis) {
+            nanos.addAndGet(MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -32,13 +32,13 @@ import static org.mockito.Mockito.verify;
 @Listeners(MockitoTestNGListener.class)
 public class BasicWebSocketEndpointTest {
     @Mock
-    private WebSocketSessionRegistry registry;
+    private WebSocketSessionRegistry         registry;
     @Mock
-    private MessagesReSender         reSender;
+    private WebSocketMessageReceiver         receiver;
     @Mock
-    private WebSocketMessageReceiver receiver;
+    private BasicWebSocketMessageTransmitter transmitter;
     @InjectMocks
-    private BasicWebSocketEndpoint   endpoint;
+    private BasicWebSocketEndpoint           endpoint;
 
     @Mock
     private Session session;
@@ -56,17 +56,10 @@ public class BasicWebSocketEndpointTest {
     }
 
     @Test
-    public void shouldAddToRegistryOnOpen(){
+    public void shouldPassOpenedSessionToTransmitterOnOpen(){
         endpoint.onOpen(session, "id");
 
-        verify(registry).add("id", session);
-    }
-
-    @Test
-    public void shouldResendOnOpen(){
-        endpoint.onOpen(session, "id");
-
-        verify(reSender).resend("id");
+        verify(transmitter).onSessionOpened("id", session);
     }
 
     @Test
@@ -78,8 +71,15 @@ public class BasicWebSocketEndpointTest {
 
     @Test
     public void shouldRunRemoveOnClose(){
-        endpoint.onClose(closeReason, "id");
+        endpoint.onClose(closeReason, session, "id");
 
         verify(registry).remove("id");
     }
+
+    @Test
+    public void shouldRemoveOutboundQueueOfSessionOnClose() {
+        endpoint.onClose(closeReason, session, "id");
+
+        verify(transmitter).onSessionClosed(session);
+    }
 }
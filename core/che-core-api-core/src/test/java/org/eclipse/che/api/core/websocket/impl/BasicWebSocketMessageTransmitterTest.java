@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -17,19 +20,39 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.google.common.base.Strings.repeat;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -51,11 +74,11 @@ public class BasicWebSocketMessageTransmitterTest {
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private RemoteEndpoint.Async remote;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        when(session.getAsyncRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -66,30 +89,222 @@ public class BasicWebSocketMessageTransmitterTest {
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(MESSAGE);
-        verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
+        verify(session).getAsyncRemote();
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender, never()).add(eq(ENDPOINT_ID), anyLong(), anyString());
     }
 
     @Test
     public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
         transmitter.transmit(MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
-        verify(reSender, never()).add(any(), anyString());
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender, never()).add(any(), anyLong(), anyString());
 
         verify(registry).getSessions();
     }
 
+    @Test
+    public void shouldSendBroadcastingMessageToOpenSessions() throws IOException {
+        when(registry.getSessions()).thenReturn(singleton(session));
+
+        transmitter.transmit(MESSAGE);
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldQueueMessagesWhileSendingOfPreviousMessageIsNotCompleted() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(transmitter.getQueuedMessagesCount(), 1);
+    }
+
+    @Test
+    public void shouldCloseSessionOfSlowConsumerAndPassMessagesToReSender() throws IOException {
+        for (int i = 0; i <= BasicWebSocketMessageTransmitter.MAX_QUEUED_MESSAGES + 1; i++) {
+            transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        }
+
+        verify(session).close(any(CloseReason.class));
+        // queued messages, message which exceeded limit and message which was being sent
+        verify(reSender, times(BasicWebSocketMessageTransmitter.MAX_QUEUED_MESSAGES + 2)).add(eq(ENDPOINT_ID), anyLong(), eq(MESSAGE));
+        assertEquals(transmitter.getSlowConsumersCount(), 1);
+    }
+
+    @Test
+    public void shouldPassMessagesWhichWereNotSentToReSenderWhenSessionIsClosed() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        transmitter.onSessionClosed(session);
+
+        final InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq("first"));
+        inOrder.verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq("second"));
+        assertEquals(transmitter.getQueuedMessagesCount(), 0);
+    }
+
+    @Test
+    public void shouldRegisterOpenedSessionAndSendMessagesOfReSenderBeforeNewMessages() throws IOException {
+        when(reSender.takeMessages(ENDPOINT_ID, 0)).thenReturn(asList(new PendingMessage(1, "old1"), new PendingMessage(2, "old2")));
+        // message transmitted right after registration of session
+        doAnswer(invocation -> {
+            transmitter.transmit(ENDPOINT_ID, "new");
+            return null;
+        }).when(registry).add(ENDPOINT_ID, session);
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+
+        transmitter.onSessionOpened(ENDPOINT_ID, session);
+
+        final InOrder inOrder = inOrder(registry, remote);
+        inOrder.verify(registry).add(ENDPOINT_ID, session);
+        inOrder.verify(remote).sendText(eq("old1"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("old2"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("new"), any(SendHandler.class));
+        assertEquals(transmitter.getSentMessagesCount(), 3);
+    }
+
+    @Test
+    public void shouldSendNextMessageWhenSendingOfPreviousOneIsCompleted() throws IOException {
+        final ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, "second");
+        verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+
+        handlerCaptor.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(transmitter.getSentMessagesCount(), 1);
+    }
+
+    @Test
+    public void shouldNotSendMessagesRecursivelyWhenSendingIsCompletedSynchronously() throws IOException {
+        final ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+        for (int i = 0; i < 100; i++) {
+            transmitter.transmit(ENDPOINT_ID, "queued");
+        }
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicInteger maxDepth = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            depth.decrementAndGet();
+            return null;
+        }).when(remote).sendText(eq("queued"), any(SendHandler.class));
+
+        handlerCaptor.getValue().onResult(new SendResult());
+
+        verify(remote, times(100)).sendText(eq("queued"), any(SendHandler.class));
+        assertEquals(maxDepth.get(), 1);
+        assertEquals(transmitter.getSentMessagesCount(), 101);
+    }
+
     @Test
     public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
         when(session.isOpen()).thenReturn(false);
 
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
-        verify(reSender).add(ENDPOINT_ID, MESSAGE);
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq(MESSAGE));
+    }
+
+    @Test
+    public void shouldPrefixMessagesWithSequenceNumbersIfClientRequestedThem() throws IOException {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap("lastSequence", singletonList("0")));
+        final ArgumentCaptor<String> textCaptor = ArgumentCaptor.forClass(String.class);
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(textCaptor.capture(), any(SendHandler.class));
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        final String first = textCaptor.getAllValues().get(0);
+        final String second = textCaptor.getAllValues().get(1);
+        assertTrue(first.endsWith(":first"));
+        assertTrue(second.endsWith(":second"));
+        assertTrue(sequenceOf(first) < sequenceOf(second));
+    }
+
+    @Test
+    public void shouldNotSendMessagesWhichClientHasReceivedAgainAfterReconnection() throws IOException {
+        final BasicWebSocketMessageTransmitter transmitter = new BasicWebSocketMessageTransmitter(registry, new MessagesReSender());
+        when(session.getRequestParameterMap()).thenReturn(singletonMap("lastSequence", singletonList("0")));
+        final ArgumentCaptor<String> textCaptor = ArgumentCaptor.forClass(String.class);
+        transmitter.onSessionOpened(ENDPOINT_ID, session);
+        // sending of the first message is not completed when session is closed, but client has received it
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        verify(remote).sendText(textCaptor.capture(), any(SendHandler.class));
+        final String received = textCaptor.getValue();
+        transmitter.onSessionClosed(session);
+        when(session.isOpen()).thenReturn(false);
+        transmitter.transmit(ENDPOINT_ID, "third");
+
+        final Session newSession = mock(Session.class);
+        final RemoteEndpoint.Async newRemote = mock(RemoteEndpoint.Async.class);
+        when(newSession.getAsyncRemote()).thenReturn(newRemote);
+        when(newSession.isOpen()).thenReturn(true);
+        when(newSession.getRequestParameterMap()).thenReturn(singletonMap("lastSequence",
+                                                                          singletonList(Long.toString(sequenceOf(received)))));
+        final List<String> sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            sent.add((String)invocation.getArguments()[0]);
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(newRemote).sendText(anyString(), any(SendHandler.class));
+        transmitter.onSessionOpened(ENDPOINT_ID, newSession);
+
+        assertEquals(received.substring(received.indexOf(':') + 1), "first");
+        assertEquals(sent.stream().map(text -> text.substring(text.indexOf(':') + 1)).collect(toList()), asList("second", "third"));
+    }
+
+    @Test
+    public void shouldSendLargeMessagesCompressedIfSessionNegotiatedDeflateEncoding() throws IOException {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(MessageEncoding.PARAMETER, singletonList("deflate")));
+
+        transmitter.transmit(ENDPOINT_ID, repeat(MESSAGE, BasicWebSocketMessageTransmitter.MIN_DEFLATE_LENGTH));
+
+        verify(remote).sendBinary(any(ByteBuffer.class), any(SendHandler.class));
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+        assertEquals(transmitter.getDeflatedMessagesCount(), 1);
+    }
+
+    @Test
+    public void shouldSendSmallMessagesAsTextIfSessionNegotiatedDeflateEncoding() throws IOException {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(MessageEncoding.PARAMETER, singletonList("deflate")));
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(remote, never()).sendBinary(any(ByteBuffer.class), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldSendLargeMessagesAsTextIfSessionDidNotNegotiateEncoding() throws IOException {
+        final String largeMessage = repeat(MESSAGE, BasicWebSocketMessageTransmitter.MIN_DEFLATE_LENGTH);
+
+        transmitter.transmit(ENDPOINT_ID, largeMessage);
+
+        verify(remote).sendText(eq(largeMessage), any(SendHandler.class));
+        verify(remote, never()).sendBinary(any(ByteBuffer.class), any(SendHandler.class));
+        assertEquals(transmitter.getDeflatedMessagesCount(), 0);
+    }
+
+    private static long sequenceOf(String text) {
+        return Long.parseLong(text.substring(0, text.indexOf(':')));
     }
 }
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import com.google.common.base.Strings;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Inflater;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MessageEncoding}
+ */
+public class MessageEncodingTest {
+    @Test
+    public void shouldSelectFirstKnownEncoding() {
+        assertEquals(MessageEncoding.negotiate(singletonList("brotli, deflate,json")), MessageEncoding.DEFLATE);
+        assertEquals(MessageEncoding.negotiate(asList("brotli", "JSON", "deflate")), MessageEncoding.JSON);
+    }
+
+    @Test
+    public void shouldFallBackToJsonWhenNoneOfEncodingsIsKnown() {
+        assertEquals(MessageEncoding.negotiate(singletonList("brotli")), MessageEncoding.JSON);
+        assertEquals(MessageEncoding.negotiate((List<String>)null), MessageEncoding.JSON);
+    }
+
+    @Test
+    public void shouldDeflateMessageToZlibFormat() throws Exception {
+        final String message = "{\"jsonrpc\":\"2.0\",\"method\":\"event:file-changed\",\"params\":{\"path\":\"" +
+                               "/\u043f\u0440\u043e\u0435\u043a\u0442/" + Strings.repeat("src/main/java/", 50) + "\"}}";
+
+        final ByteBuffer deflated = MessageEncoding.deflate(message);
+
+        assertTrue(deflated.remaining() < message.length());
+        assertEquals(inflate(deflated), message);
+    }
+
+    private static String inflate(ByteBuffer deflated) throws Exception {
+        final Inflater inflater = new Inflater();
+        try {
+            final byte[] input = new byte[deflated.remaining()];
+            deflated.get(input);
+            inflater.setInput(input);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                out.write(buffer, 0, inflater.inflate(buffer));
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -10,147 +10,137 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.testng.MockitoTestNGListener;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
 import org.testng.annotations.BeforeMethod;
-import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
-import javax.websocket.Session;
+import java.util.List;
 
-import java.util.Optional;
-
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link MessagesReSender}
  *
  * @author Dmitry Kuleshov
  */
-@Listeners(MockitoTestNGListener.class)
 public class MessagesReSenderTest {
     private static final String MESSAGE     = "message";
     private static final String ENDPOINT_ID = "id";
 
-    @Mock
-    private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
-    private MessagesReSender         reSender;
-
-    @Mock
-    private Session               session;
-    @Mock
-    private RemoteEndpoint.Async  endpoint;
-
-    @BeforeMethod
-    public void beforeMethod() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
-        when(session.isOpen()).thenReturn(true);
-    }
+    private MessagesReSender reSender;
+    private long             sequence;
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        reSender = new MessagesReSender();
     }
 
     @Test
-    public void shouldStopIfSessionIsNotRegistered() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
-
-        reSender.add(ENDPOINT_ID, MESSAGE);
+    public void shouldReturnNothingIfThereAreNoMessagesOfEndpoint() {
+        assertTrue(take(ENDPOINT_ID).isEmpty());
+    }
 
-        reSender.resend(ENDPOINT_ID);
+    @Test
+    public void shouldProperlyAddForSingleEndpoint() {
+        reSender.add(ENDPOINT_ID, ++sequence, MESSAGE);
+        reSender.add(ENDPOINT_ID, ++sequence, "second");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        assertEquals(take(ENDPOINT_ID), asList(MESSAGE, "second"));
     }
 
     @Test
-    public void shouldKeepMessagesIfSessionIsClosed() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
+    public void shouldProperlyAddForSeveralEndpoints() {
+        reSender.add(ENDPOINT_ID, ++sequence, MESSAGE);
+        reSender.add("1", ++sequence, "other");
 
-        when(session.isOpen()).thenReturn(false);
-        reSender.resend(ENDPOINT_ID);
+        assertEquals(take(ENDPOINT_ID), singletonList(MESSAGE));
+        assertEquals(take("1"), singletonList("other"));
+    }
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+    @Test
+    public void shouldClearOnExtractionForSingleEndpoint() {
+        reSender.add(ENDPOINT_ID, ++sequence, MESSAGE);
 
-        when(session.isOpen()).thenReturn(true);
-        reSender.resend(ENDPOINT_ID);
+        take(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertTrue(take(ENDPOINT_ID).isEmpty());
+        assertEquals(reSender.getPendingMessagesCount(), 0);
     }
 
     @Test
-    public void shouldProperlyAddForSingleEndpoint() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
+    public void shouldClearOnExtractionForSeveralEndpoint() {
+        reSender.add(ENDPOINT_ID, ++sequence, MESSAGE);
+        reSender.add("1", ++sequence, MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
+        take(ENDPOINT_ID);
+        take("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertTrue(take(ENDPOINT_ID).isEmpty());
+        assertTrue(take("1").isEmpty());
+        assertEquals(reSender.getPendingMessagesCount(), 0);
     }
 
     @Test
-    public void shouldProperlyAddForSeveralEndpoints() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
-        reSender.add("1", MESSAGE);
+    public void shouldDropOldestMessagesWhenBufferIsFull() {
+        for (int i = 0; i <= MessagesReSender.MAX_MESSAGES; i++) {
+            reSender.add(ENDPOINT_ID, ++sequence, MESSAGE + i);
+        }
+
+        assertEquals(reSender.getPendingMessagesCount(), MessagesReSender.MAX_MESSAGES);
+        assertEquals(reSender.getDroppedMessagesCount(), 1);
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        final List<String> messages = take(ENDPOINT_ID);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        assertEquals(messages.size(), MessagesReSender.MAX_MESSAGES);
+        assertEquals(messages.get(0), MESSAGE + 1);
+        assertEquals(messages.get(messages.size() - 1), MESSAGE + MessagesReSender.MAX_MESSAGES);
     }
 
     @Test
-    public void shouldClearOnExtractionForSingleEndpoint() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
+    public void shouldNotReturnMessagesWhichClientHasAlreadyReceived() {
+        reSender.add(ENDPOINT_ID, 1, MESSAGE);
+        reSender.add(ENDPOINT_ID, 2, "second");
+        reSender.add(ENDPOINT_ID, 3, "third");
+
+        final List<PendingMessage> messages = reSender.takeMessages(ENDPOINT_ID, 2);
+
+        assertEquals(messages.size(), 1);
+        assertEquals(messages.get(0).getSequence(), 3);
+        assertEquals(messages.get(0).getMessage(), "third");
+        assertEquals(reSender.getPendingMessagesCount(), 0);
+        assertEquals(reSender.getPendingBytes(), 0);
+    }
 
-        reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+    @Test
+    public void shouldReturnMessagesOrderedBySequenceNumbers() {
+        reSender.add(ENDPOINT_ID, 3, "third");
+        reSender.add(ENDPOINT_ID, 1, MESSAGE);
+        reSender.add(ENDPOINT_ID, 2, "second");
 
-        reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertEquals(take(ENDPOINT_ID), asList(MESSAGE, "second", "third"));
     }
 
     @Test
-    public void shouldClearOnExtractionForSeveralEndpoint() {
-        reSender.add(ENDPOINT_ID, MESSAGE);
-        reSender.add("1", MESSAGE);
+    public void shouldCountPendingBytesOfEncodedMessages() {
+        reSender.add(ENDPOINT_ID, ++sequence, MESSAGE);
+        // two bytes in UTF-8
+        reSender.add("1", ++sequence, "\u00e9");
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        assertEquals(reSender.getPendingBytes(), MESSAGE.length() + 2);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        take(ENDPOINT_ID);
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        assertEquals(reSender.getPendingBytes(), 2);
+    }
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+    private List<String> take(String endpointId) {
+        return reSender.takeMessages(endpointId, 0)
+                       .stream()
+                       .map(PendingMessage::getMessage)
+                       .collect(toList());
     }
 }
@@ -22,6 +22,8 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 import org.eclipse.che.dto.shared.SerializationIndex;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.Primitives;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -70,7 +72,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +305,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        builder.append("      return JsonStreams.toJson(this);\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +454,127 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates methods which write JSON directly to {@code JsonWriter}, so DTO may be serialized to stream without creating of
+     * intermediate JSON tree. Produced JSON is the same as JSON of {@code toJsonElement()}.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(java.io.Writer out) throws java.io.IOException {\n");
+        builder.append("      JsonWriter writer = JsonStreams.newWriter(out);\n");
+        builder.append("      writeJsonInt(writer);\n");
+        builder.append("      writer.flush();\n");
+        builder.append("    }\n\n");
+        builder.append("    public void writeJsonInt(JsonWriter writer) throws java.io.IOException {\n");
+        if (isStreamingSupported(getters)) {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                         "      ");
+            }
+            builder.append("      writer.endObject();\n");
+        } else {
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to {@code JsonWriter}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        Type type = expandedTypes.get(depth);
+        Class<?> rawClass = getRawClass(type);
+        String in = depth == 0 ? "this." + inVar : inVar;
+        String childInVar = inVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            }
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  writer.beginArray();\n");
+                builder.append(i).append("  for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(in)
+                       .append(") {\n");
+                emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "    ");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  writer.endArray();\n");
+            } else {
+                String entryVar = "entry" + depth;
+                builder.append(i).append("  writer.beginObject();\n");
+                builder.append(i).append("  for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(in).append(".entrySet()) {\n");
+                builder.append(i).append("    writer.name(").append(entryVar).append(".getKey());\n");
+                builder.append(i).append("    ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+                emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "    ");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  writer.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(in).append(" == null ? null : ").append(in).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitStreamSerializeDto(in, getImplNameForDto(rawClass), true, builder, i);
+        } else if (rawClass == float.class) {
+            // boxed float is written as it is done by JsonPrimitive, otherwise it is widened to double
+            builder.append(i).append("writer.value(Float.valueOf(").append(in).append("));\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.value(").append(in).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass.equals(String.class)
+                   || rawClass.isPrimitive()
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value(").append(in).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonStreams.writeJsonElement(writer, ").append(in).append(");\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitStreamSerializeDto(in, dtoImplementation.getCanonicalName(), hasStreamSerializer(dtoImplementation), builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitStreamSerializeDto(String in, String implName, boolean streaming, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(in).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        if (streaming) {
+            builder.append(i).append("  ((").append(implName).append(")").append(in).append(").writeJsonInt(writer);\n");
+        } else {
+            // implementation was generated by the previous version of generator
+            builder.append(i).append("  gson.toJson(((").append(implName).append(")").append(in)
+                   .append(").toJsonElementInt(false), writer);\n");
+        }
+        builder.append(i).append("}\n");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -477,6 +601,171 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a static factory method that reads a new instance directly from {@code JsonReader}, without creating of
+     * intermediate JSON tree. Unknown fields are skipped.
+     */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" fromJsonReader(JsonReader reader) throws java.io.IOException {\n");
+        if (!isStreamingSupported(getters)) {
+            builder.append("      return fromJsonElement(JsonStreams.readJsonElement(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(":\n");
+            if (getRawClass(expandedTypes.get(0)).isPrimitive()) {
+                // null can't be set to primitive field
+                builder.append("            if (reader.peek() == JsonToken.NULL) {\n");
+                builder.append("              reader.nextNull();\n");
+                builder.append("              break;\n");
+                builder.append("            }\n");
+            }
+            builder.append("            {\n");
+            emitStreamDeserializerImpl(expandedTypes, 0, builder, fieldNameOut, "              ");
+            builder.append("              dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            }\n");
+            builder.append("            break;\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read value of the given type from {@code JsonReader} to the new variable.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        Type type = expandedTypes.get(depth);
+        Class<?> rawClass = getRawClass(type);
+        String childOutVar = outVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  reader.beginArray();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endArray();\n");
+            } else {
+                String keyVar = "key" + depth;
+                builder.append(i).append("  reader.beginObject();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".fromJsonReader(reader);\n");
+        } else if (rawClass.isPrimitive()) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = ");
+            if (rawClass == boolean.class) {
+                builder.append("reader.nextBoolean();\n");
+            } else if (rawClass == long.class) {
+                builder.append("reader.nextLong();\n");
+            } else if (rawClass == double.class) {
+                builder.append("reader.nextDouble();\n");
+            } else if (rawClass == int.class) {
+                builder.append("reader.nextInt();\n");
+            } else if (rawClass == float.class) {
+                builder.append("(float)reader.nextDouble();\n");
+            } else {
+                builder.append("(").append(rawClass.getSimpleName()).append(")reader.nextInt();\n");
+            }
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("String ").append(outVar).append(" = JsonStreams.readString(reader);\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = JsonStreams.readJsonElement(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            String className = getImplName(rawClass, false);
+            if (dtoImplementation == null) {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            } else if (hasStreamDeserializer(dtoImplementation)) {
+                builder.append(i).append(className).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonReader(reader);\n");
+            } else {
+                // implementation was generated by the previous version of generator
+                builder.append(i).append(className).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName())
+                       .append(".fromJsonElement(JsonStreams.readJsonElement(reader), false);\n");
+            }
+        }
+    }
+
+    /**
+     * Compact DTOs are serialized to JSON arrays and they are rarely used, so they are streamed through JSON tree. Same is done for DTOs
+     * which have more than one property with the same JSON name.
+     */
+    private boolean isStreamingSupported(List<Method> getters) {
+        if (isCompactJson()) {
+            return false;
+        }
+        Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            if (!jsonFieldNames.add(getJsonFieldName(getter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasStreamSerializer(Class<?> dtoImplementation) {
+        try {
+            dtoImplementation.getMethod("writeJsonInt", JsonWriter.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasStreamDeserializer(Class<?> dtoImplementation) {
+        try {
+            dtoImplementation.getMethod("fromJsonReader", JsonReader.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private void emitDeserializerShortcut(StringBuilder builder) {
         builder.append("    public static ");
         builder.append(getImplClassName());
@@ -484,8 +773,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      if (jsonString == null) {\n");
         builder.append("        return null;\n");
         builder.append("      }\n\n");
-        // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
-        builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+        builder.append("      return JsonStreams.read(jsonString, ").append(getImplClassName()).append("::fromJsonReader);\n");
         builder.append("    }\n\n");
     }
 
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Helpers for streaming serialization of DTOs which are used by generated DTO implementations, so JSON is written to and read
+ * from streams directly without building of intermediate {@link JsonElement} trees.
+ *
+ * <p>Writers and readers created here produce and accept the same JSON as {@link JsonSerializable#toJson()} and
+ * {@link DtoProvider#fromJson(String)} did when they worked with trees: {@code null} fields are omitted, HTML characters are not
+ * escaped and JSON is parsed in lenient mode.
+ */
+public final class JsonStreams {
+    private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+    /** Reads value from the current position of reader. */
+    public interface ValueReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    /** Creates writer which writes JSON in the same way as generated DTOs do. */
+    public static JsonWriter newWriter(Writer out) {
+        final JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        writer.setHtmlSafe(false);
+        writer.setSerializeNulls(false);
+        return writer;
+    }
+
+    /** Creates lenient reader. */
+    public static JsonReader newReader(Reader in) {
+        final JsonReader reader = new JsonReader(in);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /**
+     * Serializes DTO to string using its {@link JsonSerializable#toJson(Writer)} method.
+     * Must not be used for implementation of {@link JsonSerializable#toJson(Writer)}.
+     */
+    public static String toJson(JsonSerializable dto) {
+        final StringWriter out = new StringWriter();
+        try {
+            dto.toJson(out);
+        } catch (IOException e) {
+            // not expected, StringWriter doesn't throw exceptions
+            throw new JsonIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Reads the whole JSON document.
+     *
+     * @param json
+     *         JSON document
+     * @param valueReader
+     *         reads top level value of the document
+     * @return value read by {@code valueReader} or {@code null} if document is empty
+     * @throws JsonSyntaxException
+     *         if document is not valid JSON
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public static <T> T read(Reader json, ValueReader<T> valueReader) throws IOException {
+        final JsonReader reader = newReader(json);
+        try {
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return null;
+            }
+            final T value = valueReader.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return value;
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Reads the whole JSON document from the string.
+     *
+     * @see #read(Reader, ValueReader)
+     */
+    public static <T> T read(String json, ValueReader<T> valueReader) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return read(new StringReader(json), valueReader);
+        } catch (IOException e) {
+            // not expected, StringReader doesn't throw exceptions
+            throw new JsonIOException(e);
+        }
+    }
+
+    /** Reads string, numbers and booleans are converted to string as it is done by {@link Gson}. */
+    public static String readString(JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    /** Reads value of any type as {@link JsonElement}, JSON {@code null} is read as {@link JsonNull#INSTANCE}. */
+    public static JsonElement readJsonElement(JsonReader reader) throws IOException {
+        return gson.fromJson(reader, JsonElement.class);
+    }
+
+    /** Writes value if it is {@link JsonElement} or {@code null} otherwise. */
+    public static void writeJsonElement(JsonWriter writer, Object value) throws IOException {
+        if (value instanceof JsonElement) {
+            gson.toJson((JsonElement)value, writer);
+        } else {
+            writer.nullValue();
+        }
+    }
+
+    private JsonStreams() {
+    }
+}
@@ -10,31 +10,38 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
 import org.eclipse.che.dto.definitions.DtoWithAny;
 import org.eclipse.che.dto.definitions.DtoWithDelegate;
 import org.eclipse.che.dto.definitions.DtoWithFieldNames;
+import org.eclipse.che.dto.definitions.DtoWithPrimitives;
 import org.eclipse.che.dto.definitions.SimpleDto;
 import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -364,4 +371,54 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void shouldWriteSameJsonToStreamAsJsonElement() throws Exception {
+        final Map<String, List<String>> attributes = new HashMap<>();
+        attributes.put("<html> & chars", asList("a", null, "b"));
+        final DtoWithPrimitives dto = dtoFactory.createDto(DtoWithPrimitives.class)
+                                                .withEnabled(true)
+                                                .withSize(Long.MAX_VALUE)
+                                                .withRatio(0.1)
+                                                .withWeight(0.1f)
+                                                .withActive(false)
+                                                .withDescription("line\n\"quoted\"")
+                                                .withAttributes(attributes);
+
+        final StringWriter writer = new StringWriter();
+        ((JsonSerializable)dto).toJson(writer);
+
+        assertEquals(writer.toString(), new GsonBuilder().disableHtmlEscaping().create().toJson(dtoFactory.toJsonElement(dto)));
+        assertEquals(dtoFactory.toJson(dto), writer.toString());
+    }
+
+    @Test
+    public void shouldReadDtoFromStream() throws Exception {
+        final DtoWithPrimitives dto = dtoFactory.createDto(DtoWithPrimitives.class)
+                                                .withSize(10)
+                                                .withWeight(1.5f)
+                                                .withCount(5)
+                                                .withDescription("description")
+                                                .withAttributes(singletonMap("key", asList("a", "b")));
+        final String json = "{\"unknown\":{\"field\":[1, 2]}," + dtoFactory.toJson(dto).substring(1);
+
+        final DtoWithPrimitives result = dtoFactory.createDtoFromJson(new StringReader(json), DtoWithPrimitives.class);
+
+        assertEquals(result, dto);
+    }
+
+    @Test
+    public void shouldReadListOfDtosFromStream() throws Exception {
+        final SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1);
+
+        final List<SimpleDto> result = dtoFactory.createListDtoFromJson(new StringReader("[" + dtoFactory.toJson(dto) + ", null]"),
+                                                                        SimpleDto.class);
+
+        assertEquals(result, asList(dto, null));
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenStreamContainsMalformedJson() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"name\":"), SimpleDto.class);
+    }
 }
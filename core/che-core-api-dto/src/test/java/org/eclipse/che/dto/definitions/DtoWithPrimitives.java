@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.definitions;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO with properties of primitive and boxed types.
+ */
+@DTO
+public interface DtoWithPrimitives {
+    boolean isEnabled();
+
+    DtoWithPrimitives withEnabled(boolean enabled);
+
+    long getSize();
+
+    DtoWithPrimitives withSize(long size);
+
+    double getRatio();
+
+    DtoWithPrimitives withRatio(double ratio);
+
+    float getWeight();
+
+    DtoWithPrimitives withWeight(float weight);
+
+    Integer getCount();
+
+    DtoWithPrimitives withCount(Integer count);
+
+    Boolean getActive();
+
+    DtoWithPrimitives withActive(Boolean active);
+
+    String getDescription();
+
+    DtoWithPrimitives withDescription(String description);
+
+    Map<String, List<String>> getAttributes();
+
+    DtoWithPrimitives withAttributes(Map<String, List<String>> attributes);
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.CacheInvalidationGuard;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps results of reading entities of one type, so repeated reads of the same entities don't require database queries.
+ * Results are cached by keys chosen by DAO, e.g. identifier of entity or parameters of query, and the whole cache is invalidated
+ * whenever DAO changes entities of this type, as any change may affect results of queries.
+ *
+ * <p>Cached objects are shared between callers, so DAO must cache detached copies of entities and return copies of cached objects.
+ *
+ * @see EntityCacheManager
+ */
+public class EntityCache {
+    private final String                 name;
+    private final long                   expireAfterMs;
+    private final Cache<Object, Object>  cache;
+    private final CacheInvalidationGuard guard;
+    private final AtomicLong             hits;
+    private final AtomicLong             misses;
+
+    /**
+     * Creates cache.
+     *
+     * @param name
+     *         name of the cache used in metrics
+     * @param expireAfterMs
+     *         time after which cached result is expired, 0 disables caching
+     * @param maxSize
+     *         max number of cached results
+     */
+    public EntityCache(String name, long expireAfterMs, int maxSize) {
+        this.name = name;
+        this.expireAfterMs = expireAfterMs;
+        this.cache = CacheBuilder.newBuilder()
+                                 .expireAfterWrite(Math.max(expireAfterMs, 1), TimeUnit.MILLISECONDS)
+                                 .maximumSize(maxSize)
+                                 .build();
+        this.guard = new CacheInvalidationGuard();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Gets result from the cache or loads it if it isn't cached yet.
+     *
+     * @param key
+     *         key of the result, must implement {@code equals} and {@code hashCode}
+     * @param loader
+     *         reads result from database, returns null if there is nothing to read, null results are not cached
+     * @return cached or loaded result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        if (expireAfterMs <= 0) {
+            return loader.get();
+        }
+        final Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return (T)cached;
+        }
+        misses.incrementAndGet();
+        final long loadGeneration = guard.beforeLoad();
+        final T value = loader.get();
+        if (value != null) {
+            guard.put(cache, key, value, loadGeneration);
+        }
+        return value;
+    }
+
+    /** Removes all cached results, should be called after entities are changed. */
+    public void invalidateAll() {
+        guard.invalidated();
+        cache.invalidateAll();
+    }
+
+    /** Returns name of the cache. */
+    public String getName() {
+        return name;
+    }
+
+    /** Number of reads which results were found in the cache. */
+    public long getHitsCount() {
+        return hits.get();
+    }
+
+    /** Number of reads which required database query. */
+    public long getMissesCount() {
+        return misses.get();
+    }
+
+    /** Ratio of reads which results were found in the cache, 0 if there were no reads yet. */
+    public double getHitRatio() {
+        final long hitsCount = hits.get();
+        final long requestsCount = hitsCount + misses.get();
+        return requestsCount == 0 ? 0 : (double)hitsCount / requestsCount;
+    }
+
+    /** Number of cached results. */
+    public long size() {
+        return cache.size();
+    }
+}
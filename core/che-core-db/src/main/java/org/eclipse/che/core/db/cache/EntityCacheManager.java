@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages {@link EntityCache caches} of DAOs, one cache per type of entities.
+ *
+ * <p>Caching is disabled by default and is enabled by setting {@value #EXPIRE_AFTER_MS_PROPERTY} to time after which cached
+ * results are expired. Caches are invalidated only by DAOs of this server, so caching must stay disabled when database is
+ * changed by other servers or applications.
+ *
+ * <p>Metrics of enabled caches are logged every {@value #METRICS_LOG_PERIOD_MIN} minutes.
+ *
+ * <p>Example of usage in DAO:
+ * <pre>
+ * public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+ *     final WorkspaceImpl workspace = cacheManager.getCache(WorkspaceImpl.class).get(id, () -> doGet(id));
+ *     if (workspace == null) {
+ *         throw new NotFoundException(...);
+ *     }
+ *     return new WorkspaceImpl(workspace);
+ * }
+ *
+ * public void remove(String id) throws ServerException {
+ *     try {
+ *         doRemove(id);
+ *     } finally {
+ *         cacheManager.getCache(WorkspaceImpl.class).invalidateAll();
+ *     }
+ * }
+ * </pre>
+ */
+@Singleton
+public class EntityCacheManager {
+    public static final String EXPIRE_AFTER_MS_PROPERTY = "che.db.cache.expire_ms";
+    public static final String MAX_SIZE_PROPERTY        = "che.db.cache.max_size";
+
+    private static final long METRICS_LOG_PERIOD_MIN = 10;
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheManager.class);
+
+    @Inject(optional = true)
+    @Named(EXPIRE_AFTER_MS_PROPERTY)
+    private long expireAfterMs = 0;
+
+    @Inject(optional = true)
+    @Named(MAX_SIZE_PROPERTY)
+    private int maxSize = 1000;
+
+    private final ConcurrentMap<Class<?>, EntityCache> caches = new ConcurrentHashMap<>();
+
+    /** Returns cache of entities of given type, creates cache if it doesn't exist yet. */
+    public EntityCache getCache(Class<?> entityType) {
+        return caches.computeIfAbsent(entityType, type -> new EntityCache(type.getSimpleName(), expireAfterMs, maxSize));
+    }
+
+    /**
+     * Invalidates all the caches. Should be called after changes which may affect entities of several types,
+     * e.g. after cascade removal.
+     */
+    public void invalidateAll() {
+        caches.values().forEach(EntityCache::invalidateAll);
+    }
+
+    /** Returns all the caches, e.g. to report their metrics. */
+    public Collection<EntityCache> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    /** Logs hits, misses, hit ratio and size of each cache, does nothing when caching is disabled. */
+    @ScheduleRate(initialDelay = METRICS_LOG_PERIOD_MIN, period = METRICS_LOG_PERIOD_MIN, unit = TimeUnit.MINUTES)
+    public void logMetrics() {
+        if (expireAfterMs <= 0) {
+            return;
+        }
+        for (EntityCache cache : caches.values()) {
+            LOG.info("Cache of {}: hits {}, misses {}, hit ratio {}, size {}",
+                     cache.getName(),
+                     cache.getHitsCount(),
+                     cache.getMissesCount(),
+                     String.format("%.2f", cache.getHitRatio()),
+                     cache.size());
+        }
+    }
+}
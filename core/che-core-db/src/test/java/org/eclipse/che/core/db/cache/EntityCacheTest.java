@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link EntityCache}.
+ */
+public class EntityCacheTest {
+
+    @Test
+    public void shouldReturnCachedResult() {
+        final EntityCache cache = new EntityCache("test", 60000, 10);
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(cache.get("key", () -> "value" + loads.incrementAndGet()), "value1");
+        assertEquals(cache.get("key", () -> "value" + loads.incrementAndGet()), "value1");
+
+        assertEquals(loads.get(), 1);
+        assertEquals(cache.getHitsCount(), 1);
+        assertEquals(cache.getMissesCount(), 1);
+        assertEquals(cache.getHitRatio(), 0.5);
+    }
+
+    @Test
+    public void shouldLoadResultAgainAfterInvalidation() {
+        final EntityCache cache = new EntityCache("test", 60000, 10);
+        cache.get("key", () -> "old");
+
+        cache.invalidateAll();
+
+        assertEquals(cache.get("key", () -> "new"), "new");
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheResultLoadedWhileCacheWasInvalidated() {
+        final EntityCache cache = new EntityCache("test", 60000, 10);
+
+        cache.get("key", () -> {
+            cache.invalidateAll();
+            return "old";
+        });
+
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.get("key", () -> "new"), "new");
+    }
+
+    @Test
+    public void shouldNotCacheNullResult() {
+        final EntityCache cache = new EntityCache("test", 60000, 10);
+
+        assertNull(cache.get("key", () -> null));
+
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldNotCacheResultsWhenCachingIsDisabled() {
+        final EntityCache cache = new EntityCache("test", 0, 10);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", loads::incrementAndGet);
+        cache.get("key", loads::incrementAndGet);
+
+        assertEquals(loads.get(), 2);
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHitRatio(), 0.0);
+    }
+}
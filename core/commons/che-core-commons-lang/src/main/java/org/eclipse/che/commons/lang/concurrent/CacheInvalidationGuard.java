@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.lang.concurrent;
+
+import com.google.common.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prevents caching of values which were loaded before the cache was invalidated, so stale value doesn't stay in the cache
+ * when it is invalidated while value is being loaded.
+ *
+ * <p>Owner of the cache must call {@link #invalidated()} before removing values from the cache and must put loaded values
+ * with {@link #put(Cache, Object, Object, long)}:
+ * <pre>
+ * final long generation = guard.beforeLoad();
+ * final V value = load(key);
+ * guard.put(cache, key, value, generation);
+ * </pre>
+ */
+public class CacheInvalidationGuard {
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Returns generation of the cache which should be passed to {@link #put(Cache, Object, Object, long)} after loading. */
+    public long beforeLoad() {
+        return generation.get();
+    }
+
+    /** Marks all the values which are being loaded as stale, must be called before values are removed from the cache. */
+    public void invalidated() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Puts loaded value to the cache unless the cache was invalidated after loading was started. Value is removed again if
+     * the cache is invalidated concurrently with putting, as invalidation might miss it.
+     *
+     * @param cache
+     *         cache to put value to
+     * @param key
+     *         key of the value
+     * @param value
+     *         loaded value
+     * @param loadGeneration
+     *         generation returned by {@link #beforeLoad()} before loading was started
+     * @return {@code true} if value was put to the cache and wasn't removed
+     */
+    public <K, V> boolean put(Cache<K, V> cache, K key, V value, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return false;
+        }
+        cache.put(key, value);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.lang.concurrent;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.ForwardingCache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CacheInvalidationGuard}
+ */
+public class CacheInvalidationGuardTest {
+    private CacheInvalidationGuard guard;
+    private Cache<String, String>  cache;
+
+    @BeforeMethod
+    public void setUp() {
+        guard = new CacheInvalidationGuard();
+        cache = CacheBuilder.newBuilder().build();
+    }
+
+    @Test
+    public void shouldPutValueLoadedWithoutInvalidation() {
+        final long generation = guard.beforeLoad();
+
+        assertTrue(guard.put(cache, "key", "value", generation));
+        assertEquals(cache.getIfPresent("key"), "value");
+    }
+
+    @Test
+    public void shouldNotPutValueLoadedBeforeInvalidation() {
+        final long generation = guard.beforeLoad();
+        guard.invalidated();
+        cache.invalidateAll();
+
+        assertFalse(guard.put(cache, "key", "stale", generation));
+        assertNull(cache.getIfPresent("key"));
+    }
+
+    @Test
+    public void shouldRemoveValueIfCacheIsInvalidatedWhileValueIsPut() {
+        // invalidation starts after the first check of generation, but before value is put, so it doesn't remove the value
+        final Cache<String, String> invalidatedCache = new ForwardingCache.SimpleForwardingCache<String, String>(cache) {
+            @Override
+            public void put(String key, String value) {
+                guard.invalidated();
+                super.put(key, value);
+            }
+        };
+        final long generation = guard.beforeLoad();
+
+        assertFalse(guard.put(invalidatedCache, "key", "stale", generation));
+        assertNull(cache.getIfPresent("key"));
+    }
+}
@@ -27,15 +27,26 @@ public class CommandOutputMessageUnmarshaller implements Unmarshallable<String>
         this.machineName = machineName;
     }
 
+    /** Body of message may contain several lines separated with line feed, if output is sent in batches. */
     @Override
     public void unmarshal(Message message) {
-        payload = message.getBody();
+        final StringBuilder lines = new StringBuilder();
+        for (String line : message.getBody().split("\n", -1)) {
+            if (lines.length() > 0) {
+                lines.append('\n');
+            }
+            lines.append(unmarshalLine(line));
+        }
+        payload = lines.toString();
+    }
 
-        if (payload.startsWith("[STDOUT]")) {
-            payload = payload.substring(9);
-        } else if (payload.startsWith("[STDERR]")) {
-            payload = payload.replace("[STDERR]", "[" + machineName + "]");
+    private String unmarshalLine(String line) {
+        if (line.startsWith("[STDOUT]")) {
+            return line.substring(9);
+        } else if (line.startsWith("[STDERR]")) {
+            return line.replace("[STDERR]", "[" + machineName + "]");
         }
+        return line;
     }
 
     @Override
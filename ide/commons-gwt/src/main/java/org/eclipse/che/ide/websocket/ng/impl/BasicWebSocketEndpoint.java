@@ -17,6 +17,9 @@ import javax.inject.Singleton;
 
 /**
  * Duplex WEB SOCKET endpoint, handles messages, errors, session open/close events.
+ * Messages received from server are prefixed by their sequence numbers, e.g.
+ * {@code 42:{"jsonrpc":"2.0",...}}, the number of the last received message is
+ * kept to be passed to server when connection is opened again.
  *
  * @author Dmitry Kuleshov
  */
@@ -25,12 +28,17 @@ public class BasicWebSocketEndpoint implements WebSocketEndpoint {
     private final WebSocketConnectionSustainer sustainer;
     private final MessagesReSender             reSender;
     private final WebSocketDispatcher          dispatcher;
+    private final WebSocketPropertyManager     propertyManager;
 
     @Inject
-    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer, MessagesReSender reSender, WebSocketDispatcher dispatcher) {
+    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer,
+                                  MessagesReSender reSender,
+                                  WebSocketDispatcher dispatcher,
+                                  WebSocketPropertyManager propertyManager) {
         this.sustainer = sustainer;
         this.reSender = reSender;
         this.dispatcher = dispatcher;
+        this.propertyManager = propertyManager;
     }
 
     @Override
@@ -57,6 +65,24 @@ public class BasicWebSocketEndpoint implements WebSocketEndpoint {
     public void onMessage(String url, String message) {
         Log.debug(getClass(), "Message received: " + message);
 
-        dispatcher.dispatch(url, message);
+        final int separator = getSequenceSeparatorIndex(message);
+        if (separator > 0) {
+            final long sequence = Long.parseLong(message.substring(0, separator));
+            if (sequence > propertyManager.getLastSequence(url)) {
+                propertyManager.setLastSequence(url, sequence);
+            }
+            dispatcher.dispatch(url, message.substring(separator + 1));
+        } else {
+            dispatcher.dispatch(url, message);
+        }
+    }
+
+    /** Returns index of colon which follows sequence number of message, or -1 if message has no sequence number. */
+    private static int getSequenceSeparatorIndex(String message) {
+        int i = 0;
+        while (i < message.length() && Character.isDigit(message.charAt(i))) {
+            i++;
+        }
+        return i > 0 && i < message.length() && message.charAt(i) == ':' ? i : -1;
     }
 }
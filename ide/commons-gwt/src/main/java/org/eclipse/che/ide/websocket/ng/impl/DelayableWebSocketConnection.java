@@ -18,11 +18,20 @@ import org.eclipse.che.ide.util.loging.Log;
 import javax.inject.Inject;
 
 /**
- * Web socket connection that can be established or reestablished with a delay
+ * Web socket connection that can be established or reestablished with a delay.
+ * When connection is opened, sequence number of the last message received from
+ * server is passed in query parameter, so server sends again only messages which
+ * were not received before the previous connection was closed. If browser is
+ * able to decompress messages, deflate encoding is requested, so server sends
+ * large messages compressed, otherwise all messages are sent as plain JSON.
  *
  * @author Dmitry Kuleshov
  */
 public class DelayableWebSocketConnection implements WebSocketConnection {
+    private static final String LAST_SEQUENCE_PARAMETER = "lastSequence";
+    private static final String ENCODING_PARAMETER      = "encoding";
+    private static final String DEFLATE_ENCODING        = "deflate";
+
     private final WebSocketPropertyManager propertyManager;
     private final WebSocketEndpoint        endpoint;
     private final String                   url;
@@ -43,12 +52,12 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
 
         if (isClosed() || isClosing()) {
             if (delay == 0) {
-                webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, getConnectionUrl(), endpoint);
             } else {
                 new Timer() {
                     @Override
                     public void run() {
-                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, getConnectionUrl(), endpoint);
                     }
                 }.schedule(delay);
             }
@@ -57,6 +66,17 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
         }
     }
 
+    private String getConnectionUrl() {
+        final StringBuilder connectionUrl = new StringBuilder(url).append(url.contains("?") ? '&' : '?')
+                                                                  .append(LAST_SEQUENCE_PARAMETER)
+                                                                  .append('=')
+                                                                  .append(propertyManager.getLastSequence(url));
+        if (WebSocketJsoWrapper.isDeflateSupported()) {
+            connectionUrl.append('&').append(ENCODING_PARAMETER).append('=').append(DEFLATE_ENCODING);
+        }
+        return connectionUrl.toString();
+    }
+
     @Override
     public void close() {
         if (isOpen()) {
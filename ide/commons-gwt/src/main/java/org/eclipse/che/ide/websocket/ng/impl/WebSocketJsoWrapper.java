@@ -21,8 +21,31 @@ public class WebSocketJsoWrapper extends JavaScriptObject {
     protected WebSocketJsoWrapper() {
     }
 
-    public static native WebSocketJsoWrapper connect(String url, WebSocketEndpoint endpoint) /*-{
-        var webSocket = new WebSocket(url);
+    /**
+     * Checks whether browser is able to decompress messages sent in deflate
+     * encoding, so the encoding may be requested from server.
+     */
+    public static native boolean isDeflateSupported() /*-{
+        return typeof DecompressionStream === 'function' && typeof Response === 'function'
+               && typeof Blob === 'function' && typeof Blob.prototype.stream === 'function';
+    }-*/;
+
+    /**
+     * Opens web socket connection. Text messages are passed to endpoint as is,
+     * binary messages are messages in deflate encoding, they are decompressed
+     * before passing to endpoint. Messages are passed in order they are received,
+     * so text messages wait for decompression of preceding binary ones.
+     *
+     * @param url
+     *         url that identifies the connection in events passed to endpoint
+     * @param connectionUrl
+     *         url to connect to, it may differ from identifying url by query parameters
+     * @param endpoint
+     *         endpoint that handles events of the connection
+     */
+    public static native WebSocketJsoWrapper connect(String url, String connectionUrl, WebSocketEndpoint endpoint) /*-{
+        var webSocket = new WebSocket(connectionUrl);
+        webSocket.binaryType = 'blob';
         webSocket.onopen = function () {
             endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onOpen(Ljava/lang/String;)(url);
         };
@@ -35,8 +58,39 @@ public class WebSocketJsoWrapper extends JavaScriptObject {
             endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onError(Ljava/lang/String;)(url);
         };
 
+        var received = [];
+        var inflating = false;
+
+        var deliver = function (message) {
+            endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onMessage(Ljava/lang/String;Ljava/lang/String;)(url, message);
+        };
+
+        var drain = function () {
+            while (!inflating && received.length > 0) {
+                var data = received.shift();
+                if (typeof data === 'string') {
+                    deliver(data);
+                } else {
+                    inflating = true;
+                    new Response(data.stream().pipeThrough(new DecompressionStream('deflate'))).text().then(function (message) {
+                        inflating = false;
+                        try {
+                            deliver(message);
+                        } finally {
+                            drain();
+                        }
+                    }, function () {
+                        inflating = false;
+                        endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onError(Ljava/lang/String;)(url);
+                        drain();
+                    });
+                }
+            }
+        };
+
         webSocket.onmessage = function (event) {
-            endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onMessage(Ljava/lang/String;Ljava/lang/String;)(url, event.data);
+            received.push(event.data);
+            drain();
         };
         return webSocket;
     }-*/;
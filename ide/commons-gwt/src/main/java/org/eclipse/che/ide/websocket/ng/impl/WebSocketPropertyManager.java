@@ -20,6 +20,7 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.ATTEMPTS;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.DELAY;
+import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.LAST_SEQUENCE;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.SUSTAINER_ENABLED;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.URL;
 
@@ -51,6 +52,7 @@ public class WebSocketPropertyManager {
      * <li>Reconnection delay: 0</li>
      * <li>Reconnection attempts: 0</li>
      * <li>Sustainer status: enabled</li>
+     * <li>Sequence number of the last received message: 0</li>
      * </ul>
      *
      * @param url
@@ -62,6 +64,7 @@ public class WebSocketPropertyManager {
         properties.put(DELAY, "0");
         properties.put(ATTEMPTS, "0");
         properties.put(SUSTAINER_ENABLED, TRUE.toString());
+        properties.put(LAST_SEQUENCE, "0");
 
         this.properties.put(url, properties);
     }
@@ -126,6 +129,14 @@ public class WebSocketPropertyManager {
         return Boolean.valueOf(getProperty(url, SUSTAINER_ENABLED));
     }
 
+    public void setLastSequence(String url, long sequence) {
+        setProperty(url, LAST_SEQUENCE, Long.toString(sequence));
+    }
+
+    public long getLastSequence(String url) {
+        return Long.valueOf(getProperty(url, LAST_SEQUENCE));
+    }
+
     private Map<String, String> getPropertiesMap(String url) {
         if (properties.containsKey(url)) {
             return properties.get(url);
@@ -154,5 +165,9 @@ public class WebSocketPropertyManager {
          * Current connection sustainer status
          */
         String SUSTAINER_ENABLED = "sustainer-status";
+        /**
+         * Sequence number of the last message received from server
+         */
+        String LAST_SEQUENCE     = "last-sequence";
     }
 }
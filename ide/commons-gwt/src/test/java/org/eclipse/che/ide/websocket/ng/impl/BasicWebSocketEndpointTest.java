@@ -20,7 +20,11 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link BasicWebSocketEndpoint}
@@ -35,6 +39,8 @@ public class BasicWebSocketEndpointTest {
     private  MessagesReSender             reSender;
     @Mock
     private  WebSocketDispatcher          dispatcher;
+    @Mock
+    private  WebSocketPropertyManager     propertyManager;
     @InjectMocks
     private BasicWebSocketEndpoint        endpoint;
 
@@ -66,4 +72,24 @@ public class BasicWebSocketEndpointTest {
         verify(dispatcher).dispatch("url", "message");
     }
 
+    @Test
+    public void shouldDispatchMessageWithoutSequenceNumberAndKeepTheNumber(){
+        when(propertyManager.getLastSequence("url")).thenReturn(41L);
+
+        endpoint.onMessage("url", "42:{\"jsonrpc\":\"2.0\"}");
+
+        verify(dispatcher).dispatch("url", "{\"jsonrpc\":\"2.0\"}");
+        verify(propertyManager).setLastSequence("url", 42L);
+    }
+
+    @Test
+    public void shouldNotDecreaseSequenceNumberOfTheLastReceivedMessage(){
+        when(propertyManager.getLastSequence("url")).thenReturn(43L);
+
+        endpoint.onMessage("url", "42:message");
+
+        verify(dispatcher).dispatch("url", "message");
+        verify(propertyManager, never()).setLastSequence(eq("url"), anyLong());
+    }
+
 }
@@ -74,4 +74,11 @@ public class WebSocketPropertyManagerTest {
 
         assertTrue(sustainerEnabled);
     }
+
+    @Test
+    public void shouldInitializeDefaultLastSequenceOnInitialize() {
+        propertyManager.initializeConnection("url");
+
+        assertEquals(0, propertyManager.getLastSequence("url"));
+    }
 }
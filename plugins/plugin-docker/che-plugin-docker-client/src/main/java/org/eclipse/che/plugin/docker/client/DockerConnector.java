@@ -108,6 +108,7 @@ import java.util.concurrent.Future;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.net.UrlEscapers.urlPathSegmentEscaper;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
@@ -135,6 +136,7 @@ public class DockerConnector {
     private final DockerRegistryAuthResolver authResolver;
     private final ExecutorService            executor;
     private final DockerConnectionFactory    connectionFactory;
+    private final DockerInspectCache         inspectCache;
 
     protected final String apiVersionPathPrefix;
 
@@ -142,9 +144,11 @@ public class DockerConnector {
     public DockerConnector(DockerConnectorConfiguration connectorConfiguration,
                            DockerConnectionFactory connectionFactory,
                            DockerRegistryAuthResolver authResolver,
-                           DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider) {
+                           DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider,
+                           DockerInspectCache inspectCache) {
         this.dockerDaemonUri = connectorConfiguration.getDockerDaemonUri();
         this.connectionFactory = connectionFactory;
+        this.inspectCache = inspectCache;
         this.authResolver = authResolver;
         this.apiVersionPathPrefix = dockerApiVersionPathPrefixProvider.get();
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
@@ -265,12 +269,17 @@ public class DockerConnector {
 
     /**
      * Gets detailed information about docker image.
+     * Result may be taken from {@link DockerInspectCache}.
      *
      * @return detailed information about {@code image}
      * @throws IOException
      *          when a problem occurs with docker api calls
      */
     public ImageInfo inspectImage(InspectImageParams params) throws IOException {
+        return inspectCache.getImage(params.getImage(), () -> doInspectImage(params));
+    }
+
+    private ImageInfo doInspectImage(InspectImageParams params) throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/images/" + params.getImage() + "/json")) {
@@ -301,6 +310,8 @@ public class DockerConnector {
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getContainer());
         }
     }
 
@@ -321,6 +332,8 @@ public class DockerConnector {
             if (NO_CONTENT.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getContainer());
         }
     }
 
@@ -351,6 +364,8 @@ public class DockerConnector {
             if (NO_CONTENT.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getContainer());
         }
     }
 
@@ -383,6 +398,8 @@ public class DockerConnector {
                 throw getDockerException(response);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerExitStatus.class).getStatusCode();
+        } finally {
+            inspectCache.invalidateContainer(params.getContainer());
         }
     }
 
@@ -400,12 +417,20 @@ public class DockerConnector {
 
     /**
      * Gets detailed information about docker container.
+     * Result may be taken from {@link DockerInspectCache} unless size of container is requested.
      *
      * @return detailed information about {@code container}
      * @throws IOException
      *          when a problem occurs with docker api calls
      */
     public ContainerInfo inspectContainer(final InspectContainerParams params) throws IOException {
+        if (Boolean.TRUE.equals(params.isReturnContainerSize())) {
+            return doInspectContainer(params);
+        }
+        return inspectCache.getContainer(params.getContainer(), () -> doInspectContainer(params));
+    }
+
+    private ContainerInfo doInspectContainer(InspectContainerParams params) throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
@@ -828,6 +853,8 @@ public class DockerConnector {
             } catch (InterruptedException e) {
                 throw new DockerException("Docker image build was interrupted", 500);
             }
+        } finally {
+            inspectCache.invalidateImages();
         }
     }
 
@@ -859,6 +886,8 @@ public class DockerConnector {
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateImages();
         }
     }
 
@@ -886,6 +915,8 @@ public class DockerConnector {
             if (status / 100 != 2) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateImages();
         }
     }
 
@@ -981,6 +1012,8 @@ public class DockerConnector {
                 throw getDockerException(response);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerCommitted.class).getId();
+        } finally {
+            inspectCache.invalidateImages();
         }
     }
 
@@ -1050,6 +1083,8 @@ public class DockerConnector {
             } catch (InterruptedException e) {
                 throw new DockerException("Docker image pulling was interrupted", 500);
             }
+        } finally {
+            inspectCache.invalidateImages();
         }
     }
 
@@ -1100,6 +1135,8 @@ public class DockerConnector {
                     throw dockerException;
                 }
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getContainer());
         }
     }
 
@@ -1216,6 +1253,8 @@ public class DockerConnector {
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getConnectContainer().getContainer());
         }
     }
 
@@ -1251,6 +1290,8 @@ public class DockerConnector {
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
             }
+        } finally {
+            inspectCache.invalidateContainer(params.getDisconnectContainer().getContainer());
         }
     }
 
@@ -1300,7 +1341,7 @@ public class DockerConnector {
     }
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException {
-        try (InputStreamReader reader = new InputStreamReader(inputStream)) {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, UTF_8)) {
             return GSON.fromJson(reader, clazz);
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
@@ -1308,7 +1349,7 @@ public class DockerConnector {
     }
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, TypeToken<T> tt) throws IOException {
-        try (InputStreamReader reader = new InputStreamReader(inputStream)) {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, UTF_8)) {
             return GSON.fromJson(reader, tt.getType());
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
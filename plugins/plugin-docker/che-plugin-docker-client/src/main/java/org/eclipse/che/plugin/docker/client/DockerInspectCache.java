@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+
+import org.eclipse.che.commons.lang.concurrent.CacheInvalidationGuard;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps results of containers and images inspection, so repeated inspection of the same container or image doesn't require
+ * request to docker daemon.
+ *
+ * <p>Cached results are invalidated by {@link DockerConnector} when it changes state of container or image and by
+ * {@link #onEvent(Event)} when events of docker daemon are received. Results are also expired after
+ * {@value #EXPIRE_AFTER_MS_PROPERTY} in case some events are missed. Caching may be disabled by setting this property to 0.
+ *
+ * <p>Note that cached objects are shared between callers and must not be modified.
+ */
+@Singleton
+public class DockerInspectCache {
+    public static final String EXPIRE_AFTER_MS_PROPERTY = "che.docker.inspect_cache_expire_ms";
+
+    private static final int MAX_SIZE = 1000;
+
+    /** Events after which result of container inspection is changed. */
+    private static final Set<String> CONTAINER_EVENTS = ImmutableSet.of("start", "restart", "stop", "kill", "die", "oom", "pause",
+                                                                        "unpause", "rename", "update", "destroy");
+    /** Events after which result of image inspection is changed, names of images may be resolved to other images after them. */
+    private static final Set<String> IMAGE_EVENTS     = ImmutableSet.of("pull", "import", "tag", "untag", "delete");
+
+    /** Names of events which should be received for invalidation of cached results. */
+    public static final Set<String> INVALIDATING_EVENTS = ImmutableSet.<String>builder().addAll(CONTAINER_EVENTS)
+                                                                                        .addAll(IMAGE_EVENTS)
+                                                                                        .build();
+
+    @Inject(optional = true)
+    @Named(EXPIRE_AFTER_MS_PROPERTY)
+    private long expireAfterMs = 60000;
+
+    private final Cache<String, Entry<ContainerInfo>> containers;
+    private final Cache<String, Entry<ImageInfo>>     images;
+    private final CacheInvalidationGuard              guard;
+    private final AtomicLong                          hits;
+    private final AtomicLong                          misses;
+
+    public DockerInspectCache() {
+        this.containers = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+        this.images = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+        this.guard = new CacheInvalidationGuard();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Gets result of container inspection from the cache or loads it if it isn't cached yet.
+     *
+     * @param container
+     *         container identifier, either id or name
+     * @param loader
+     *         inspects container if cached result is missing
+     */
+    public ContainerInfo getContainer(String container, Loader<ContainerInfo> loader) throws IOException {
+        return get(containers, container, loader);
+    }
+
+    /**
+     * Gets result of image inspection from the cache or loads it if it isn't cached yet.
+     *
+     * @param image
+     *         image identifier, either id or name
+     * @param loader
+     *         inspects image if cached result is missing
+     */
+    public ImageInfo getImage(String image, Loader<ImageInfo> loader) throws IOException {
+        return get(images, image, loader);
+    }
+
+    /**
+     * Removes cached results of container inspection.
+     *
+     * @param container
+     *         container identifier, either full or short id or name
+     */
+    public void invalidateContainer(String container) {
+        guard.invalidated();
+        if (container == null) {
+            return;
+        }
+        containers.asMap().entrySet().removeIf(entry -> entry.getKey().equals(container)
+                                                        || matches(entry.getValue().value, container));
+    }
+
+    /** Removes cached results of all images inspection. */
+    public void invalidateImages() {
+        guard.invalidated();
+        images.invalidateAll();
+    }
+
+    /** Removes all cached results. */
+    public void invalidateAll() {
+        guard.invalidated();
+        containers.invalidateAll();
+        images.invalidateAll();
+    }
+
+    /** Invalidates cached results affected by event of docker daemon. */
+    public void onEvent(Event event) {
+        final String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        if (action == null) {
+            return;
+        }
+        if ("image".equals(event.getType()) || (event.getType() == null && IMAGE_EVENTS.contains(action))) {
+            invalidateImages();
+        } else if (CONTAINER_EVENTS.contains(action) && event.getId() != null) {
+            invalidateContainer(event.getId());
+        }
+    }
+
+    /** Number of inspections which results were found in the cache. */
+    public long getHitsCount() {
+        return hits.get();
+    }
+
+    /** Number of inspections which required request to docker daemon. */
+    public long getMissesCount() {
+        return misses.get();
+    }
+
+    /** Number of cached results. */
+    public long size() {
+        return containers.size() + images.size();
+    }
+
+    private <T> T get(Cache<String, Entry<T>> cache, String key, Loader<T> loader) throws IOException {
+        if (expireAfterMs <= 0) {
+            return loader.load();
+        }
+        final Entry<T> cached = cache.getIfPresent(key);
+        if (cached != null && System.currentTimeMillis() - cached.time < expireAfterMs) {
+            hits.incrementAndGet();
+            return cached.value;
+        }
+        misses.incrementAndGet();
+        final long loadGeneration = guard.beforeLoad();
+        final long time = System.currentTimeMillis();
+        final T value = loader.load();
+        if (value != null) {
+            guard.put(cache, key, new Entry<>(value, time), loadGeneration);
+        }
+        return value;
+    }
+
+    private static boolean matches(ContainerInfo info, String container) {
+        return (info.getId() != null && info.getId().startsWith(container)) || ('/' + container).equals(info.getName());
+    }
+
+    /** Inspects container or image. */
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    private static class Entry<T> {
+        final T    value;
+        final long time;
+
+        Entry(T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+}
@@ -18,6 +18,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * @author andrew00x
  */
@@ -26,6 +28,7 @@ class LogMessagePumper extends MessagePumper<LogMessage> {
 
     private static final int STREAM_HEADER_LENGTH = 8;
     private static final int MAX_LINE_LENGTH      = 1024;
+    private static final int BUFFER_SIZE          = 8192;
 
     private final InputStream                  source;
     private final MessageProcessor<LogMessage> target;
@@ -38,65 +41,100 @@ class LogMessagePumper extends MessagePumper<LogMessage> {
 
     @Override
     void start() throws IOException {
-        final byte[] buf = new byte[MAX_LINE_LENGTH];
-        StringBuilder lineBuf = null;
-        boolean endOfLine = false;
+        final byte[] header = new byte[STREAM_HEADER_LENGTH];
+        final byte[] buf = new byte[BUFFER_SIZE];
+        // bytes of line are collected in reusable buffer and decoded once line is completed, one more byte is reserved for <CR>
+        final byte[] line = new byte[MAX_LINE_LENGTH + 1];
+        int lineLength = 0;
+        // <CR> was the last byte of previous read, so it isn't known yet whether <LF> follows it
+        boolean pendingCarriageReturn = false;
         LogMessage.Type logMessageType = LogMessage.Type.DOCKER;
         for (; ; ) {
-            int r = ByteStreams.read(source, buf, 0, STREAM_HEADER_LENGTH);
-            if (r != 8) {
-                if (r != -1) {
+            int r = ByteStreams.read(source, header, 0, STREAM_HEADER_LENGTH);
+            if (r != STREAM_HEADER_LENGTH) {
+                if (r > 0) {
                     LOG.debug("Invalid stream, can't read header. Header of each frame must contain 8 bytes but got {}", r);
                 }
-                if (lineBuf != null && lineBuf.length() > 0) {
-                    target.process(new LogMessage(logMessageType, lineBuf.toString()));
-                    lineBuf.setLength(0);
-                }
                 break;
             }
-            logMessageType = getLogMessageType(buf);
-            int remaining = getPayloadLength(buf);
+            logMessageType = getLogMessageType(header);
+            int remaining = getPayloadLength(header);
             while (remaining > 0) {
                 r = source.read(buf, 0, Math.min(remaining, buf.length));
-                int offset = 0;
-                int lineLength = lineBuf != null ? lineBuf.length() : 0;
-                for (int i = 0; i < r; i++, lineLength++) {
-                    endOfLine = false;
-                    if (buf[i] == '\n' || buf[i] == '\r' || lineLength > MAX_LINE_LENGTH) {
-                        int length = i - offset;
-                        boolean isLineFeedFollowed = false;
-                        if (buf[i] == '\r') {
-                            int nextIndex = i + 1;
-                            isLineFeedFollowed = nextIndex < MAX_LINE_LENGTH && nextIndex < r && buf[nextIndex] == '\n';
-                            if (!isLineFeedFollowed) {
-                                length += 1; // include <CR> char in log message
-                            }
-                        }
-                        if (lineBuf != null && lineBuf.length() > 0) {
-                            lineBuf.append(new String(buf, offset, length));
-                            target.process(new LogMessage(logMessageType, lineBuf.toString()));
-                            lineBuf.setLength(0);
-                        } else {
-                            target.process(new LogMessage(logMessageType, new String(buf, offset, length)));
-                        }
-
-                        if (isLineFeedFollowed) {
-                            i++;
+                if (r == -1) {
+                    LOG.debug("Invalid stream, end of stream reached but {} bytes of frame are not read", remaining);
+                    break;
+                }
+                for (int i = 0; i < r; i++) {
+                    final byte b = buf[i];
+                    if (pendingCarriageReturn) {
+                        pendingCarriageReturn = false;
+                        if (b == '\n') {
+                            process(logMessageType, line, lineLength);
+                            lineLength = 0;
+                            continue;
                         }
-                        offset = i + 1;
+                        line[lineLength++] = '\r'; // include <CR> char in log message
+                        process(logMessageType, line, lineLength);
                         lineLength = 0;
-                        endOfLine = true;
                     }
-                }
-                if (!endOfLine) {
-                    if (lineBuf == null) {
-                        lineBuf = new StringBuilder(MAX_LINE_LENGTH);
+                    if (b == '\n') {
+                        process(logMessageType, line, lineLength);
+                        lineLength = 0;
+                    } else if (b == '\r') {
+                        pendingCarriageReturn = true;
+                    } else {
+                        if (lineLength == MAX_LINE_LENGTH) {
+                            lineLength = processCompleteChars(logMessageType, line, lineLength, b);
+                        }
+                        line[lineLength++] = b;
                     }
-                    lineBuf.append(new String(buf, offset, r - offset));
                 }
                 remaining -= r;
             }
+            if (remaining > 0) {
+                break;
+            }
+        }
+        if (pendingCarriageReturn) {
+            line[lineLength++] = '\r';
         }
+        if (lineLength > 0) {
+            process(logMessageType, line, lineLength);
+        }
+    }
+
+    /**
+     * Processes too long line without the last char if {@code next} byte continues it, so multi-byte char isn't split between
+     * log messages. Bytes of that char are moved to the beginning of line buffer.
+     *
+     * @return number of bytes left in line buffer
+     */
+    private int processCompleteChars(LogMessage.Type type, byte[] line, int length, byte next) {
+        int charStart = length;
+        if (isContinuationByte(next)) {
+            int i = length - 1;
+            while (i > 0 && length - i < 3 && isContinuationByte(line[i])) {
+                i--;
+            }
+            if ((line[i] & 0xC0) == 0xC0) {
+                charStart = i;
+            }
+        }
+        if (charStart == 0) {
+            charStart = length;
+        }
+        process(type, line, charStart);
+        System.arraycopy(line, charStart, line, 0, length - charStart);
+        return length - charStart;
+    }
+
+    private static boolean isContinuationByte(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private void process(LogMessage.Type type, byte[] line, int length) {
+        target.process(new LogMessage(type, new String(line, 0, length, UTF_8)));
     }
 
     private int getPayloadLength(byte[] header) {
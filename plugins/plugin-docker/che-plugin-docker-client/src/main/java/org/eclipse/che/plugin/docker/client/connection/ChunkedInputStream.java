@@ -65,6 +65,10 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    synchronized boolean isEndOfStream() {
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
@@ -33,6 +33,8 @@ public abstract class DockerConnection implements Closeable {
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
 
+    private DockerConnectionMetrics metrics;
+
     public DockerConnection method(String method) {
         this.method = method;
         return this;
@@ -92,7 +94,17 @@ public abstract class DockerConnection implements Closeable {
     }
 
     public DockerResponse request() throws IOException {
-        return request(method, path, query.toString(), headers, entity);
+        if (metrics == null) {
+            return request(method, path, query.toString(), headers, entity);
+        }
+        final long start = System.nanoTime();
+        return new MeasuredDockerResponse(request(method, path, query.toString(), headers, entity), start, metrics);
+    }
+
+    /** Sets metrics of docker daemon, latency of request is added to them as soon as status of response is received. */
+    DockerConnection metrics(DockerConnectionMetrics metrics) {
+        this.metrics = metrics;
+        return this;
     }
 
     protected abstract DockerResponse request(String method,
@@ -103,6 +115,55 @@ public abstract class DockerConnection implements Closeable {
 
     public abstract void close();
 
+    private static class MeasuredDockerResponse implements DockerResponse {
+        private final DockerResponse          delegate;
+        private final long                    start;
+        private final DockerConnectionMetrics metrics;
+
+        private boolean measured;
+
+        MeasuredDockerResponse(DockerResponse delegate, long start, DockerConnectionMetrics metrics) {
+            this.delegate = delegate;
+            this.start = start;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            final int status = delegate.getStatus();
+            if (!measured) {
+                measured = true;
+                metrics.addRequest(System.nanoTime() - start);
+            }
+            return status;
+        }
+
+        @Override
+        public int getContentLength() throws IOException {
+            return delegate.getContentLength();
+        }
+
+        @Override
+        public String getContentType() throws IOException {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public String getHeader(String name) throws IOException {
+            return delegate.getHeader(name);
+        }
+
+        @Override
+        public String[] getHeaders(String name) throws IOException {
+            return delegate.getHeaders(name);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return delegate.getInputStream();
+        }
+    }
+
     static abstract class Entity<T> {
         final T entity;
 
@@ -15,19 +15,35 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Unix socket connections to docker daemon are kept alive after response is read, so consequent requests don't need to connect
+ * again. Idle connections are kept in the pool of factory, keep-alive may be disabled by setting {@value #MAX_IDLE_CONNECTIONS_PROPERTY}
+ * to 0. TCP connections are still closed after each request, see {@link TcpConnection}.
+ *
+ * <p>Number of unix socket connections to one docker daemon, which are in use or idle, is limited by {@value #MAX_CONNECTIONS_PROPERTY},
+ * when the limit is reached requests wait for released connection not longer than {@value #CONNECTION_WAIT_TIMEOUT_MS_PROPERTY}.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String MAX_IDLE_CONNECTIONS_PROPERTY       = "che.docker.max_idle_connections";
+    public static final String IDLE_CONNECTION_TIMEOUT_MS_PROPERTY = "che.docker.idle_connection_timeout_ms";
+    public static final String MAX_CONNECTIONS_PROPERTY            = "che.docker.max_connections";
+    public static final String CONNECTION_WAIT_TIMEOUT_MS_PROPERTY = "che.docker.connection_wait_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +53,66 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(MAX_IDLE_CONNECTIONS_PROPERTY)
+    private int maxIdleConnections = 10;
+
+    @Inject(optional = true)
+    @Named(IDLE_CONNECTION_TIMEOUT_MS_PROPERTY)
+    private int idleConnectionTimeoutMs = 30000;
+
+    @Inject(optional = true)
+    @Named(MAX_CONNECTIONS_PROPERTY)
+    private int maxConnections = 500;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_WAIT_TIMEOUT_MS_PROPERTY)
+    private int connectionWaitTimeoutMs = 60000;
+
+    private final DockerCertificates                           dockerCertificates;
+    private final ConcurrentMap<URI, DockerConnectionMetrics>  metrics;
+    private final ConcurrentMap<URI, UnixSocketConnectionPool> pools;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.metrics = new ConcurrentHashMap<>();
+        this.pools = new ConcurrentHashMap<>();
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
+        final DockerConnectionMetrics daemonMetrics = getMetrics(dockerDaemonUri);
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            final UnixSocketConnectionPool pool =
+                    pools.computeIfAbsent(dockerDaemonUri, uri -> new UnixSocketConnectionPool(uri.getPath(),
+                                                                                               maxConnections,
+                                                                                               maxIdleConnections,
+                                                                                               idleConnectionTimeoutMs,
+                                                                                               connectionWaitTimeoutMs,
+                                                                                               daemonMetrics));
+            return new UnixSocketConnection(pool).metrics(daemonMetrics);
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri,
+                                     dockerCertificates,
+                                     connectionTimeoutMs,
+                                     connectionReadTimeoutMs).metrics(daemonMetrics);
         }
     }
+
+    /** Gets metrics of connections to specified docker daemon. */
+    public DockerConnectionMetrics getMetrics(URI dockerDaemonUri) {
+        return metrics.computeIfAbsent(dockerDaemonUri, uri -> new DockerConnectionMetrics());
+    }
+
+    /** Gets number of idle connections to specified docker daemon, TCP connections kept by JDK are not counted. */
+    public int getIdleConnectionsCount(URI dockerDaemonUri) {
+        final UnixSocketConnectionPool pool = pools.get(dockerDaemonUri);
+        return pool == null ? 0 : pool.getIdleConnectionsCount();
+    }
+
+    /** Closes all idle connections. */
+    @PreDestroy
+    public void closeIdleConnections() {
+        pools.values().forEach(UnixSocketConnectionPool::close);
+    }
 }
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of connections to single docker daemon. Latency of request is time between sending of request and
+ * receiving of response status. Numbers of opened and reused connections are counted only for unix socket
+ * connections, keep-alive of TCP connections is managed by JDK.
+ */
+public class DockerConnectionMetrics {
+    private final AtomicLong requests          = new AtomicLong();
+    private final AtomicLong latencyNanos      = new AtomicLong();
+    private final AtomicLong maxLatencyNanos   = new AtomicLong();
+    private final AtomicLong openedConnections = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+
+    void addRequest(long latencyNanos) {
+        requests.incrementAndGet();
+        this.latencyNanos.addAndGet(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    void connectionOpened() {
+        openedConnections.incrementAndGet();
+    }
+
+    void connectionReused() {
+        reusedConnections.incrementAndGet();
+    }
+
+    public long getRequestsCount() {
+        return requests.get();
+    }
+
+    public double getAverageLatencyMillis() {
+        final long count = requests.get();
+        return count == 0 ? 0 : latencyNanos.get() / 1000000.0 / count;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1000000.0;
+    }
+
+    public long getOpenedConnectionsCount() {
+        return openedConnections.get();
+    }
+
+    public long getReusedConnectionsCount() {
+        return reusedConnections.get();
+    }
+}
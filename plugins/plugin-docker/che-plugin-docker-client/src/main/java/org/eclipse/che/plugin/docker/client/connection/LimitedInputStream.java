@@ -59,6 +59,10 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    synchronized boolean isEndOfStream() {
+        return pos >= limit;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
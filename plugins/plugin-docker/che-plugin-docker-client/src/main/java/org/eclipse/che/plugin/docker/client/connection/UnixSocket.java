@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket with buffered streams, may be used for several HTTP requests one after another.
+ */
+class UnixSocket {
+    final int          fd;
+    final InputStream  input;
+    final OutputStream output;
+
+    long    lastUsed;
+    boolean reused;
+
+    private UnixSocket(int fd) {
+        this.fd = fd;
+        this.input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        this.output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+    }
+
+    static UnixSocket connect(String socketPath) throws ConnectException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return new UnixSocket(fd);
+    }
+
+    void close() {
+        getCLibrary().close(fd);
+    }
+}
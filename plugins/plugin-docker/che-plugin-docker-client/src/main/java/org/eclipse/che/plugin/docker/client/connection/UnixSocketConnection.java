@@ -11,70 +11,100 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
-
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+import java.util.Set;
 
 /**
+ * Connection to docker unix socket. Socket is taken from the pool and returned back when connection is closed
+ * if response was read completely, so it can be reused by next connection.
+ * <p/>
+ * Idle connection might be already closed by docker when it is taken from the pool. Then docker doesn't handle the request
+ * and nothing is received in response, so idempotent request is sent again with new connection. Other requests are not
+ * repeated, as it isn't known whether docker has handled them or not.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private UnixSocket               socket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
-        this.dockerSocketPath = dockerSocketPath;
+        this(new UnixSocketConnectionPool(dockerSocketPath, 0, 0, 0, 0, new DockerConnectionMetrics()));
+    }
+
+    UnixSocketConnection(UnixSocketConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        socket = pool.borrow();
+        if (socket.reused && isRepeatable(method, entity)) {
+            try {
+                send(socket, method, path, query, headers, entity);
+                if (isResponseReceived(socket.input)) {
+                    return response = new UnixSocketDockerResponse(socket.input);
+                }
+            } catch (IOException ignored) {
+                // connection is broken before anything is received in response, so docker hasn't handled the request
+            }
+            pool.discard(socket);
+            socket = null;
+            socket = pool.open();
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        send(socket, method, path, query, headers, entity);
+        return response = new UnixSocketDockerResponse(socket.input);
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
+        if (socket != null) {
+            if (response != null && response.isCompleted()) {
+                pool.release(socket);
+            } else {
+                pool.discard(socket);
+            }
+            socket = null;
         }
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    private boolean isRepeatable(String method, Entity<?> entity) {
+        return IDEMPOTENT_METHODS.contains(method) && !(entity instanceof StreamEntity);
+    }
+
+    /** Waits for the first byte of response without consuming it, returns false if connection is closed by docker. */
+    private boolean isResponseReceived(InputStream input) throws IOException {
+        input.mark(1);
+        final int first = input.read();
+        input.reset();
+        return first != -1;
+    }
+
+    private void send(UnixSocket socket,
+                      String method,
+                      String path,
+                      String query,
+                      List<Pair<String, ?>> headers,
+                      Entity<?> entity) throws IOException {
+        writeHttpHeaders(socket.output, method, path, query, headers);
+        if (entity != null) {
+            entity.writeTo(socket.output);
         }
-        return fd;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -98,12 +128,4 @@ public class UnixSocketConnection extends DockerConnection {
         writer.write("Host: \r\n\r\n");
         writer.flush();
     }
-
-    private InputStream openInputStream(int fd) {
-        return new UnixSocketInputStream(fd);
-    }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
-    }
 }
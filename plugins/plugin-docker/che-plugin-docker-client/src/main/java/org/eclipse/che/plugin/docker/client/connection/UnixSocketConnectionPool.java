@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps idle connections to docker unix socket, so consequent requests don't need to connect again. Connection is returned
+ * to the pool only if response was read completely. Not more than {@code maxIdleConnections} connections are kept in the pool,
+ * connections which are not used longer than {@code idleTimeoutMs} are closed.
+ * <p/>
+ * Not more than {@code maxConnections} connections, which are in use or idle, are opened at the same time. When the limit is
+ * reached, borrowing of connection waits until another connection is released or discarded, but not longer than
+ * {@code waitTimeoutMs}. Connections which are not returned to the pool must be discarded with {@link #discard(UnixSocket)}.
+ */
+class UnixSocketConnectionPool {
+    private final String                  socketPath;
+    private final int                     maxConnections;
+    private final int                     maxIdleConnections;
+    private final long                    idleTimeoutMs;
+    private final long                    waitTimeoutMs;
+    private final DockerConnectionMetrics metrics;
+    private final Deque<UnixSocket>       idle;
+
+    private int connections;
+
+    /**
+     * Creates pool.
+     *
+     * @param socketPath
+     *         path to docker unix socket
+     * @param maxConnections
+     *         max number of opened connections, 0 means not limited
+     * @param maxIdleConnections
+     *         max number of idle connections kept in the pool
+     * @param idleTimeoutMs
+     *         time after which idle connection is closed
+     * @param waitTimeoutMs
+     *         max time of waiting for connection when limit of connections is reached
+     * @param metrics
+     *         metrics of connections to docker daemon
+     */
+    UnixSocketConnectionPool(String socketPath,
+                             int maxConnections,
+                             int maxIdleConnections,
+                             long idleTimeoutMs,
+                             long waitTimeoutMs,
+                             DockerConnectionMetrics metrics) {
+        this.socketPath = socketPath;
+        this.maxConnections = maxConnections;
+        this.maxIdleConnections = maxIdleConnections;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.metrics = metrics;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets the most recently used idle connection or opens new one if there is no idle connections.
+     *
+     * @throws IOException
+     *         if connection can't be opened or limit of connections is reached and no connection is released in time
+     */
+    UnixSocket borrow() throws IOException {
+        final long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        synchronized (idle) {
+            for (; ; ) {
+                closeExpired();
+                final UnixSocket socket = idle.pollFirst();
+                if (socket != null) {
+                    socket.reused = true;
+                    metrics.connectionReused();
+                    return socket;
+                }
+                if (maxConnections <= 0 || connections < maxConnections) {
+                    connections++;
+                    break;
+                }
+                awaitConnection(deadline);
+            }
+        }
+        return connect();
+    }
+
+    /**
+     * Opens new connection ignoring idle ones, least recently used idle connection is closed if limit of connections is reached.
+     *
+     * @throws IOException
+     *         if connection can't be opened or limit of connections is reached and no connection is released in time
+     */
+    UnixSocket open() throws IOException {
+        final long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        synchronized (idle) {
+            while (maxConnections > 0 && connections >= maxConnections) {
+                if (idle.isEmpty()) {
+                    awaitConnection(deadline);
+                } else {
+                    closeIdle(idle.pollLast());
+                }
+            }
+            connections++;
+        }
+        return connect();
+    }
+
+    /** Returns connection to the pool or closes it if pool is full. */
+    void release(UnixSocket socket) {
+        synchronized (idle) {
+            if (idle.size() < maxIdleConnections) {
+                socket.lastUsed = System.currentTimeMillis();
+                idle.addFirst(socket);
+                idle.notifyAll();
+                return;
+            }
+        }
+        discard(socket);
+    }
+
+    /** Closes connection which can't be returned to the pool. */
+    void discard(UnixSocket socket) {
+        socket.close();
+        synchronized (idle) {
+            connections--;
+            idle.notifyAll();
+        }
+    }
+
+    int getIdleConnectionsCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /** Gets number of opened connections, including idle ones. */
+    int getConnectionsCount() {
+        synchronized (idle) {
+            return connections;
+        }
+    }
+
+    /** Closes all idle connections. */
+    void close() {
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                closeIdle(idle.pollFirst());
+            }
+        }
+    }
+
+    private UnixSocket connect() throws IOException {
+        final UnixSocket socket;
+        try {
+            socket = UnixSocket.connect(socketPath);
+        } catch (IOException | RuntimeException e) {
+            synchronized (idle) {
+                connections--;
+                idle.notifyAll();
+            }
+            throw e;
+        }
+        metrics.connectionOpened();
+        return socket;
+    }
+
+    private void awaitConnection(long deadline) throws IOException {
+        final long timeout = deadline - System.currentTimeMillis();
+        if (timeout <= 0) {
+            throw new IOException(String.format("Limit of %d connections to docker unix socket '%s' is reached",
+                                                maxConnections,
+                                                socketPath));
+        }
+        try {
+            idle.wait(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for connection to docker unix socket");
+        }
+    }
+
+    private void closeIdle(UnixSocket socket) {
+        socket.close();
+        connections--;
+        idle.notifyAll();
+    }
+
+    private void closeExpired() {
+        final long expired = System.currentTimeMillis() - idleTimeoutMs;
+        // the least recently used connections are at the end of queue
+        while (!idle.isEmpty() && idle.peekLast().lastUsed < expired) {
+            closeIdle(idle.pollLast());
+        }
+    }
+}
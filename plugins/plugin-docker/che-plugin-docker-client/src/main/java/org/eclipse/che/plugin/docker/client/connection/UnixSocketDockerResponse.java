@@ -81,6 +81,10 @@ public class UnixSocketDockerResponse implements DockerResponse {
     @Override
     public String getHeader(String name) throws IOException {
         getInputStream();
+        return findHeader(name);
+    }
+
+    private String findHeader(String name) {
         final String lowerCaseName = name.toLowerCase();
         for (String field : headersFields) {
             if (field.toLowerCase().startsWith(lowerCaseName)) {
@@ -143,6 +147,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        if (status == 204 || status == 304) {
+            // responses without body
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +161,21 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether response was read completely, so connection may be used for the next request. Responses which are
+     * not limited with content length or chunked encoding are read till connection is closed, so connection can't be reused.
+     */
+    synchronized boolean isCompleted() {
+        if (headersFields == null || "close".equalsIgnoreCase(findHeader("Connection"))) {
+            return false;
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isEndOfStream();
+        }
+        return data instanceof ChunkedInputStream && ((ChunkedInputStream)data).isEndOfStream();
+    }
 }
@@ -208,7 +208,8 @@ public class DockerConnectorTest {
         dockerConnector = spy(new DockerConnector(dockerConnectorConfiguration,
                                                   dockerConnectionFactory,
                                                   authManager,
-                                                  dockerApiVersionPathPrefixProvider));
+                                                  dockerApiVersionPathPrefixProvider,
+                                                  new DockerInspectCache()));
 
         inputStream = spy(new ByteArrayInputStream(ERROR_MESSAGE.getBytes()));
         when(dockerResponse.getInputStream()).thenReturn(inputStream);
@@ -240,7 +241,8 @@ public class DockerConnectorTest {
         dockerConnector = spy(new DockerConnector(dockerConnectorConfiguration,
                                                   dockerConnectionFactory,
                                                   authManager,
-                                                  dockerApiVersionPathPrefixProvider));
+                                                  dockerApiVersionPathPrefixProvider,
+                                                  new DockerInspectCache()));
         SystemInfo systemInfo = mock(SystemInfo.class);
         doReturn(systemInfo).when(dockerConnector).parseResponseStreamAndClose(inputStream, SystemInfo.class);
 
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link DockerInspectCache}.
+ */
+public class DockerInspectCacheTest {
+    private static final String CONTAINER_ID   = "abcdef0123456789";
+    private static final String CONTAINER_NAME = "workspace_machine";
+    private static final String IMAGE          = "codenvy/ubuntu_jdk8";
+
+    private DockerInspectCache cache;
+    private AtomicInteger      loads;
+
+    @BeforeMethod
+    public void setUp() {
+        cache = new DockerInspectCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldLoadContainerOnlyOnce() throws Exception {
+        final ContainerInfo first = cache.getContainer(CONTAINER_NAME, this::loadContainer);
+        final ContainerInfo second = cache.getContainer(CONTAINER_NAME, this::loadContainer);
+
+        assertSame(second, first);
+        assertEquals(loads.get(), 1);
+        assertEquals(cache.getHitsCount(), 1);
+        assertEquals(cache.getMissesCount(), 1);
+    }
+
+    @Test
+    public void shouldInvalidateContainerCachedByNameOnEventWithId() throws Exception {
+        cache.getContainer(CONTAINER_NAME, this::loadContainer);
+
+        cache.onEvent(new Event().withStatus("die").withId(CONTAINER_ID));
+        cache.getContainer(CONTAINER_NAME, this::loadContainer);
+
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void shouldInvalidateContainerCachedByFullIdWhenShortIdIsUsed() throws Exception {
+        cache.getContainer(CONTAINER_ID, this::loadContainer);
+
+        cache.invalidateContainer(CONTAINER_ID.substring(0, 6));
+        cache.getContainer(CONTAINER_ID, this::loadContainer);
+
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void shouldNotInvalidateContainerOnNotRelatedEvent() throws Exception {
+        cache.getContainer(CONTAINER_ID, this::loadContainer);
+
+        cache.onEvent(new Event().withStatus("exec_start: /bin/bash").withId(CONTAINER_ID));
+        cache.onEvent(new Event().withStatus("die").withId("0123456789abcdef"));
+        cache.getContainer(CONTAINER_ID, this::loadContainer);
+
+        assertEquals(loads.get(), 1);
+    }
+
+    @Test
+    public void shouldInvalidateImagesOnImageEvent() throws Exception {
+        cache.getImage(IMAGE, this::loadImage);
+
+        cache.onEvent(new Event().withType("image").withAction("tag").withId(IMAGE));
+        cache.getImage(IMAGE, this::loadImage);
+
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void shouldNotCacheResultLoadedConcurrentlyWithInvalidation() throws Exception {
+        cache.getContainer(CONTAINER_ID, () -> {
+            cache.invalidateContainer(CONTAINER_ID);
+            return loadContainer();
+        });
+        cache.getContainer(CONTAINER_ID, this::loadContainer);
+
+        assertEquals(loads.get(), 2);
+    }
+
+    private ContainerInfo loadContainer() {
+        loads.incrementAndGet();
+        final ContainerInfo info = new ContainerInfo();
+        info.setId(CONTAINER_ID);
+        info.setName('/' + CONTAINER_NAME);
+        return info;
+    }
+
+    private ImageInfo loadImage() {
+        loads.incrementAndGet();
+        final ImageInfo info = new ImageInfo();
+        info.setId("sha256:0123");
+        return info;
+    }
+}
@@ -10,12 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client;
 
+import com.google.common.base.Strings;
+
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -61,6 +69,56 @@ public class LogMessagePumperTest {
         logMessagePumper.start();
     }
 
+    @Test
+    public void shouldDecodeMultiByteCharSplitBetweenFrames() throws Exception {
+        final byte[] src = (CONTENT + " \u00e9" + LINE_FEED).getBytes(StandardCharsets.UTF_8);
+        // second byte of two bytes char goes to the next frame
+        final int split = src.length - 2;
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(src.length + 16);
+        byteBuffer.put(new byte[]{1, 0, 0, 0, 0, 0, 0, (byte)split});
+        byteBuffer.put(src, 0, split);
+        byteBuffer.put(new byte[]{1, 0, 0, 0, 0, 0, 0, (byte)(src.length - split)});
+        byteBuffer.put(src, split, src.length - split);
+        final List<String> messages = new ArrayList<>();
+
+        new LogMessagePumper(new ByteArrayInputStream(byteBuffer.array()), message -> messages.add(message.getContent())).start();
+
+        assertEquals(messages, Collections.singletonList(CONTENT + " \u00e9"));
+    }
+
+    @Test
+    public void shouldNotIncludeCarriageReturnCharInLogMessageWhenLineFeedCharFollowInNextFrame() throws Exception {
+        final List<String> messages = new ArrayList<>();
+
+        new LogMessagePumper(getFramesInputStream(CONTENT + CARRIAGE_RETURN, LINE_FEED + CONTENT + CARRIAGE_RETURN),
+                             message -> messages.add(message.getContent())).start();
+
+        assertEquals(messages, Arrays.asList(CONTENT, CONTENT + CARRIAGE_RETURN));
+    }
+
+    @Test
+    public void shouldNotSplitMultiByteCharWhenLongLineIsCut() throws Exception {
+        // the first byte of two bytes char is the last byte allowed in log message
+        final String longLine = Strings.repeat("a", 1023) + "\u00e9" + CONTENT;
+        final List<String> messages = new ArrayList<>();
+
+        new LogMessagePumper(getFramesInputStream(longLine + LINE_FEED), message -> messages.add(message.getContent())).start();
+
+        assertEquals(messages, Arrays.asList(Strings.repeat("a", 1023), "\u00e9" + CONTENT));
+    }
+
+    private InputStream getFramesInputStream(String... frames) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String frame : frames) {
+            final byte[] payload = frame.getBytes(StandardCharsets.UTF_8);
+            out.write(1);
+            out.write(new byte[3], 0, 3);
+            out.write(ByteBuffer.allocate(4).putInt(payload.length).array(), 0, 4);
+            out.write(payload, 0, payload.length);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
     private InputStream getTestInputStream(String src) throws UnsupportedEncodingException {
         final byte remaining = (byte)src.getBytes("UTF-8").length;
         final byte[] stdoutHeader = {1, 0, 0, 0, 0, 0, 0, remaining};
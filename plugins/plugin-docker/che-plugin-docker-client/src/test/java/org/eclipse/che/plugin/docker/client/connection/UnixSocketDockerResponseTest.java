@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link UnixSocketDockerResponse}
+ */
+public class UnixSocketDockerResponseTest {
+
+    @Test
+    public void shouldBeCompletedWhenContentIsReadTillContentLength() throws IOException {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nbody" +
+                                         "HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nnext");
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+        assertFalse(response.isCompleted());
+        assertEquals(readContent(response), "body");
+        assertTrue(response.isCompleted());
+
+        // the same stream is used for the next response
+        final UnixSocketDockerResponse next = new UnixSocketDockerResponse(input);
+        assertEquals(readContent(next), "next");
+    }
+
+    @Test
+    public void shouldBeCompletedWhenLastChunkIsRead() throws IOException {
+        final UnixSocketDockerResponse response =
+                new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nbody\r\n0\r\n\r\n"));
+
+        assertEquals(readContent(response), "body");
+        assertTrue(response.isCompleted());
+    }
+
+    @Test
+    public void shouldBeCompletedWhenResponseHasNoContent() throws IOException {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 204 No Content\r\n\r\n"));
+
+        assertEquals(response.getStatus(), 204);
+        assertEquals(response.getInputStream().read(), -1);
+        assertTrue(response.isCompleted());
+    }
+
+    @Test
+    public void shouldNotBeCompletedWhenContentIsNotLimited() throws IOException {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n\r\nbody"));
+
+        readContent(response);
+
+        assertFalse(response.isCompleted());
+    }
+
+    @Test
+    public void shouldNotBeCompletedWhenServerClosesConnection() throws IOException {
+        final UnixSocketDockerResponse response =
+                new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nContent-Length: 4\r\nConnection: close\r\n\r\nbody"));
+
+        readContent(response);
+
+        assertFalse(response.isCompleted());
+    }
+
+    private static String readContent(DockerResponse response) throws IOException {
+        final InputStream content = response.getInputStream();
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buf = new byte[16];
+        for (int n; (n = content.read(buf)) != -1; ) {
+            result.write(buf, 0, n);
+        }
+        return result.toString();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+}
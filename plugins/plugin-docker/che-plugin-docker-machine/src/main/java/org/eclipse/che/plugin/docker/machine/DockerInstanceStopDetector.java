@@ -19,6 +19,7 @@ import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerInspectCache;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.Filters;
@@ -30,7 +31,9 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -38,6 +41,7 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Track docker containers events to detect containers stop or failure.
+ * Events are also used for invalidation of cached results of containers and images inspection, see {@link DockerInspectCache}.
  *
  * @author Alexander Garagatyi
  */
@@ -47,6 +51,7 @@ public class DockerInstanceStopDetector {
 
     private final EventService                      eventService;
     private final DockerConnector                   dockerConnector;
+    private final DockerInspectCache                inspectCache;
     private final ExecutorService                   executorService;
     private final Map<String, Pair<String, String>> instances;
     /*
@@ -66,9 +71,10 @@ public class DockerInstanceStopDetector {
     private long lastProcessedEventDate = 0;
 
     @Inject
-    public DockerInstanceStopDetector(EventService eventService, DockerConnector dockerConnector) {
+    public DockerInstanceStopDetector(EventService eventService, DockerConnector dockerConnector, DockerInspectCache inspectCache) {
         this.eventService = eventService;
         this.dockerConnector = dockerConnector;
+        this.inspectCache = inspectCache;
         this.instances = new ConcurrentHashMap<>();
         this.containersOomTimestamps = CacheBuilder.newBuilder()
                                                    .expireAfterWrite(10, TimeUnit.SECONDS)
@@ -109,18 +115,24 @@ public class DockerInstanceStopDetector {
 
     @PostConstruct
     private void detectContainersEvents() {
+        final Set<String> events = new HashSet<>(DockerInspectCache.INVALIDATING_EVENTS);
+        events.add("die");
+        events.add("oom");
+        final Filters filters = new Filters().withFilter("event", events.toArray(new String[events.size()]));
         executorService.execute(() -> {
             //noinspection InfiniteLoopStatement
             while (true) {
                 try {
                     dockerConnector.getEvents(GetEventsParams.create()
                                                              .withSinceSecond(lastProcessedEventDate)
-                                                             .withFilters(new Filters().withFilter("event", "die", "oom")),
+                                                             .withFilters(filters),
                                               new EventsProcessor());
                 } catch (IOException e) {
                     // usually connection timeout
                     LOG.debug(e.getLocalizedMessage(), e);
                 }
+                // events might be missed until reconnection
+                inspectCache.invalidateAll();
             }
         });
     }
@@ -128,11 +140,17 @@ public class DockerInstanceStopDetector {
     private class EventsProcessor implements MessageProcessor<Event> {
         @Override
         public void process(Event message) {
+            inspectCache.onEvent(message);
+
             if (message.getType() != null && !"container".equals(message.getType())) {
                 // this check is added because of bug in the docker swarm which do not filter events
                 // in case of new response format of 'get events' we should skip all not filtered by swarm event types
                 return;
             }
+            // status is missing in some events which are received only for invalidation of inspect cache
+            if (message.getStatus() == null) {
+                return;
+            }
 
             switch (message.getStatus()) {
                 case "oom":
@@ -16,6 +16,7 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.plugin.docker.client.DockerApiVersionPathPrefixProvider;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerInspectCache;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver;
 import org.eclipse.che.plugin.docker.client.InitialAuthConfig;
@@ -55,7 +56,8 @@ public class DockerProcessTest {
         docker = new DockerConnector(dockerConnectorConfiguration,
                                      new DockerConnectionFactory(dockerConnectorConfiguration),
                                      new DockerRegistryAuthResolver(null, null),
-                                     new DockerApiVersionPathPrefixProvider("1.18"));
+                                     new DockerApiVersionPathPrefixProvider("1.18"),
+                                     new DockerInspectCache());
 
         final ContainerCreated containerCreated = docker.createContainer(
                 CreateContainerParams.create(new ContainerConfig().withImage("ubuntu")
@@ -94,7 +96,8 @@ public class DockerProcessTest {
             docker = new DockerConnector(dockerConnectorConfiguration,
                                          new DockerConnectionFactory(dockerConnectorConfiguration),
                                          new DockerRegistryAuthResolver(null, null),
-                                         new DockerApiVersionPathPrefixProvider(""));
+                                         new DockerApiVersionPathPrefixProvider(""),
+                                         new DockerInspectCache());
         }
         Command command = new CommandImpl("tailf", "tail -f /dev/null", "mvn");
         final DockerProcess dockerProcess = new DockerProcess(docker,
@@ -152,7 +152,10 @@ public class CommandOutputConsolePresenter implements CommandOutputConsole, Outp
         outputHandler = new SubscriptionHandler<String>(new CommandOutputMessageUnmarshaller(machine.getConfig().getName())) {
             @Override
             protected void onMessageReceived(String result) {
-                view.print(result, result.endsWith("\r"));
+                // several lines are received in one message if output is sent in batches
+                for (String line : result.split("\n", -1)) {
+                    view.print(line, line.endsWith("\r"));
+                }
 
                 for (ActionDelegate actionDelegate : actionDelegates) {
                     actionDelegate.onConsoleOutput(CommandOutputConsolePresenter.this);
@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.core.model.factory.Button;
+import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
+import org.eclipse.che.api.factory.shared.dto.AuthorDto;
+import org.eclipse.che.api.factory.shared.dto.ButtonAttributesDto;
+import org.eclipse.che.api.factory.shared.dto.ButtonDto;
+import org.eclipse.che.api.factory.shared.dto.FactoryDto;
+import org.eclipse.che.api.factory.shared.dto.IdeActionDto;
+import org.eclipse.che.api.factory.shared.dto.IdeDto;
+import org.eclipse.che.api.factory.shared.dto.OnAppLoadedDto;
+import org.eclipse.che.api.factory.shared.dto.OnProjectsLoadedDto;
+import org.eclipse.che.api.factory.shared.dto.PoliciesDto;
+import org.eclipse.che.api.git.LogPage;
+import org.eclipse.che.api.git.shared.DiffCommitFile;
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.che.api.git.shared.Log;
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.api.machine.shared.dto.MachineLimitsDto;
+import org.eclipse.che.api.machine.shared.dto.MachineRuntimeInfoDto;
+import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
+import org.eclipse.che.api.machine.shared.dto.ServerConfDto;
+import org.eclipse.che.api.machine.shared.dto.ServerDto;
+import org.eclipse.che.api.machine.shared.dto.ServerPropertiesDto;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.TreeElement;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
+import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ServerConf2Dto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.cloneDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Builds DTOs which are similar by size and shape to the ones sent by REST services, so benchmarks measure realistic payloads.
+ */
+final class DtoSamples {
+    /** DTOs used by benchmarks, each sample is serialized as {@link #getType()}. */
+    enum Sample {
+        /** Running workspace with two projects and two machines, as returned by workspace service. */
+        WORKSPACE(WorkspaceDto.class) {
+            @Override
+            Object create() {
+                return workspace();
+            }
+        },
+        /** Three levels of project tree with ten items in each folder, as returned by project service. */
+        PROJECT_TREE(TreeElement.class) {
+            @Override
+            Object create() {
+                return projectTree("/spring-petclinic", 3, 10);
+            }
+        },
+        /** Hundred commits of git log, copied to generated DTO since {@link LogPage} is serialized by reflection. */
+        GIT_LOG(Log.class) {
+            @Override
+            Object create() {
+                return cloneDto((Log)logPage(100));
+            }
+        },
+        /** Factory which creates workspace with two projects. */
+        FACTORY(FactoryDto.class) {
+            @Override
+            Object create() {
+                return factory();
+            }
+        };
+
+        private final Class<?> type;
+
+        Sample(Class<?> type) {
+            this.type = type;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        abstract Object create();
+    }
+
+    static WorkspaceDto workspace() {
+        final String workspaceId = "workspace7xvy4ahqxfmjb8tk";
+        final List<MachineDto> machines = asList(machine(workspaceId, "dev-machine", true),
+                                                 machine(workspaceId, "db", false));
+        final WorkspaceRuntimeDto runtime = newDto(WorkspaceRuntimeDto.class).withActiveEnv("default")
+                                                                             .withRootFolder("/projects")
+                                                                             .withDevMachine(machines.get(0))
+                                                                             .withMachines(machines)
+                                                                             .withLinks(links("/workspace/" + workspaceId + "/runtime",
+                                                                                              3));
+        return newDto(WorkspaceDto.class).withId(workspaceId)
+                                         .withNamespace("che")
+                                         .withStatus(WorkspaceStatus.RUNNING)
+                                         .withTemporary(false)
+                                         .withAttributes(ImmutableMap.of("created", "1477316436126",
+                                                                         "updated", "1477318831017",
+                                                                         "stackId", "java-mysql"))
+                                         .withConfig(workspaceConfig("petclinic"))
+                                         .withRuntime(runtime)
+                                         .withLinks(links("/workspace/" + workspaceId, 6));
+    }
+
+    static WorkspaceConfigDto workspaceConfig(String name) {
+        final Map<String, ExtendedMachineDto> machines = new HashMap<>();
+        machines.put("dev-machine", newDto(ExtendedMachineDto.class).withAgents(asList("org.eclipse.che.terminal",
+                                                                                       "org.eclipse.che.ws-agent",
+                                                                                       "org.eclipse.che.ssh"))
+                                                                    .withAttributes(singletonMap("memoryLimitBytes", "2147483648"))
+                                                                    .withServers(singletonMap("tomcat8", serverConf("8080"))));
+        machines.put("db", newDto(ExtendedMachineDto.class).withAgents(singletonList("org.eclipse.che.terminal"))
+                                                           .withAttributes(singletonMap("memoryLimitBytes", "536870912"))
+                                                           .withServers(singletonMap("mysql", serverConf("3306"))));
+        final EnvironmentDto environment =
+                newDto(EnvironmentDto.class).withRecipe(newDto(EnvironmentRecipeDto.class).withType("compose")
+                                                                                          .withContentType("application/x-yaml")
+                                                                                          .withContent(composeFile()))
+                                            .withMachines(machines);
+        return newDto(WorkspaceConfigDto.class).withName(name)
+                                               .withDefaultEnv("default")
+                                               .withDescription("Java web application with MySQL database")
+                                               .withEnvironments(singletonMap("default", environment))
+                                               .withCommands(asList(command("build", "mvn clean install -f ${current.project.path}"),
+                                                                    command("run", "cp ${current.project.path}/target/*.war"
+                                                                                   + " $TOMCAT_HOME/webapps/ROOT.war"
+                                                                                   + " && $TOMCAT_HOME/bin/catalina.sh run"),
+                                                                    command("debug", "$TOMCAT_HOME/bin/catalina.sh jpda run")))
+                                               .withProjects(asList(project("spring-petclinic"), project("web-java-spring")));
+    }
+
+    static TreeElement projectTree(String path, int depth, int width) {
+        final TreeElement element = newDto(TreeElement.class).withNode(item(path, depth == 0 ? "file" : "folder"));
+        if (depth > 0) {
+            final List<TreeElement> children = new ArrayList<>(width);
+            for (int i = 0; i < width; i++) {
+                final String childPath = path + '/' + (depth == 1 ? "File" + i + ".java" : "folder" + i);
+                children.add(projectTree(childPath, depth - 1, width));
+            }
+            element.setChildren(children);
+        }
+        return element;
+    }
+
+    static List<ItemReference> items(String path, int count) {
+        final List<ItemReference> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item(path + "/File" + i + ".java", "file"));
+        }
+        return items;
+    }
+
+    static LogPage logPage(int commits) {
+        return new LogPage(commits(commits));
+    }
+
+    static List<Revision> commits(int count) {
+        final List<Revision> commits = new ArrayList<>(count);
+        final GitUser user = newDto(GitUser.class).withName("Developer").withEmail("developer@example.com");
+        for (int i = 0; i < count; i++) {
+            final String id = String.format("%040x", 0xC0FFEEL * (i + 1));
+            commits.add(newDto(Revision.class).withId(id)
+                                              .withBranch("master")
+                                              .withMessage("Fix issue #" + i + "\n\nChange validation of owner's telephone number")
+                                              .withCommitTime(1477316436126L - i * 3600_000L)
+                                              .withAuthor(user)
+                                              .withCommitter(user)
+                                              .withCommitParent(singletonList(String.format("%040x", 0xC0FFEEL * (i + 2))))
+                                              .withDiffCommitFile(singletonList(
+                                                      newDto(DiffCommitFile.class).withChangeType("MODIFIED")
+                                                                                  .withOldPath("src/main/java/Owner.java")
+                                                                                  .withNewPath("src/main/java/Owner.java"))));
+        }
+        return commits;
+    }
+
+    static FactoryDto factory() {
+        final IdeActionDto openFile = newDto(IdeActionDto.class).withId("openFile")
+                                                                .withProperties(singletonMap("file", "/spring-petclinic/README.md"));
+        final IdeActionDto runCommand = newDto(IdeActionDto.class).withId("runCommand").withProperties(singletonMap("name", "build"));
+        return newDto(FactoryDto.class).withV("4.0")
+                                       .withId("factoryhdq0j5kqu7sb2oz7")
+                                       .withName("petclinic")
+                                       .withWorkspace(workspaceConfig("petclinic"))
+                                       .withCreator(newDto(AuthorDto.class).withUserId("user2cqxzumy5xr0txrr")
+                                                                           .withName("developer")
+                                                                           .withEmail("developer@example.com")
+                                                                           .withCreated(1477316436126L))
+                                       .withPolicies(newDto(PoliciesDto.class).withCreate("perClick")
+                                                                              .withReferer("example.com")
+                                                                              .withSince(1477316436126L))
+                                       .withButton(newDto(ButtonDto.class).withType(Button.Type.LOGO)
+                                                                          .withAttributes(newDto(ButtonAttributesDto.class)
+                                                                                                  .withColor("gray")
+                                                                                                  .withCounter(true)
+                                                                                                  .withStyle("square")))
+                                       .withIde(newDto(IdeDto.class)
+                                                        .withOnAppLoaded(newDto(OnAppLoadedDto.class).withActions(singletonList(openFile)))
+                                                        .withOnProjectsLoaded(newDto(OnProjectsLoadedDto.class)
+                                                                                      .withActions(singletonList(runCommand))))
+                                       .withLinks(links("/factory/factoryhdq0j5kqu7sb2oz7", 4));
+    }
+
+    private static MachineDto machine(String workspaceId, String name, boolean dev) {
+        final String machineId = "machine" + name.hashCode();
+        final Map<String, ServerDto> servers = new HashMap<>();
+        for (String port : asList("22/tcp", "4401/tcp", "4411/tcp", "8000/tcp", "8080/tcp")) {
+            final String address = "192.168.65.2:" + (32768 + port.hashCode() % 1000);
+            servers.put(port, newDto(ServerDto.class).withRef(port.substring(0, port.indexOf('/')))
+                                                     .withProtocol("http")
+                                                     .withAddress(address)
+                                                     .withUrl("http://" + address + "/api")
+                                                     .withProperties(newDto(ServerPropertiesDto.class)
+                                                                             .withPath("/api")
+                                                                             .withInternalAddress("172.17.0.3:" + port)
+                                                                             .withInternalUrl("http://172.17.0.3:" + port + "/api")));
+        }
+        final Map<String, String> env = ImmutableMap.of("JAVA_HOME", "/opt/jdk1.8.0_45",
+                                                        "TOMCAT_HOME", "/home/user/tomcat8",
+                                                        "CHE_WORKSPACE_ID", workspaceId,
+                                                        "PATH", "/opt/jdk1.8.0_45/bin:/usr/local/sbin:/usr/local/bin:/usr/sbin:/usr/bin");
+        final MachineConfigDto config =
+                newDto(MachineConfigDto.class).withName(name)
+                                              .withDev(dev)
+                                              .withType("docker")
+                                              .withSource(newDto(MachineSourceDto.class).withType("image")
+                                                                                        .withLocation("codenvy/ubuntu_jdk8"))
+                                              .withLimits(newDto(MachineLimitsDto.class).withRam(2048))
+                                              .withServers(singletonList(newDto(ServerConfDto.class).withRef("tomcat8")
+                                                                                                     .withPort("8080/tcp")
+                                                                                                     .withProtocol("http")))
+                                              .withEnvVariables(singletonMap("CHE_MACHINE_NAME", name));
+        return newDto(MachineDto.class).withId(machineId)
+                                       .withWorkspaceId(workspaceId)
+                                       .withEnvName("default")
+                                       .withOwner("che")
+                                       .withStatus(MachineStatus.RUNNING)
+                                       .withConfig(config)
+                                       .withRuntime(newDto(MachineRuntimeInfoDto.class).withEnvVariables(env)
+                                                                                       .withProperties(env)
+                                                                                       .withServers(servers))
+                                       .withLinks(links("/machine/" + machineId, 4));
+    }
+
+    private static ServerConf2Dto serverConf(String port) {
+        return newDto(ServerConf2Dto.class).withPort(port + "/tcp")
+                                           .withProtocol("http")
+                                           .withProperties(singletonMap("path", "/"));
+    }
+
+    private static CommandDto command(String name, String commandLine) {
+        return newDto(CommandDto.class).withName(name)
+                                       .withType("mvn")
+                                       .withCommandLine(commandLine)
+                                       .withAttributes(singletonMap("previewUrl", "http://${server.port.8080}"));
+    }
+
+    private static ProjectConfigDto project(String name) {
+        final Map<String, List<String>> attributes = new HashMap<>();
+        attributes.put("language", singletonList("java"));
+        attributes.put("maven.groupId", singletonList("org.springframework.samples"));
+        attributes.put("maven.artifactId", singletonList(name));
+        attributes.put("maven.source.folder", singletonList("src/main/java"));
+        attributes.put("maven.test.source.folder", singletonList("src/test/java"));
+        return newDto(ProjectConfigDto.class).withName(name)
+                                             .withPath('/' + name)
+                                             .withType("maven")
+                                             .withMixins(singletonList("git"))
+                                             .withAttributes(attributes)
+                                             .withSource(newDto(SourceStorageDto.class)
+                                                                 .withType("git")
+                                                                 .withLocation("https://github.com/che-samples/" + name + ".git")
+                                                                 .withParameters(singletonMap("branch", "master")));
+    }
+
+    private static ItemReference item(String path, String type) {
+        return newDto(ItemReference.class).withName(path.substring(path.lastIndexOf('/') + 1))
+                                          .withPath(path)
+                                          .withProject("/spring-petclinic")
+                                          .withType(type)
+                                          .withModified(1477316436126L)
+                                          .withContentLength("file".equals(type) ? 4096 : 0)
+                                          .withAttributes(singletonMap("vcs.status", "NOT_MODIFIED"))
+                                          .withLinks(links("/project/file" + path, 2));
+    }
+
+    private static String composeFile() {
+        return "services:\n"
+               + "  db:\n"
+               + "    image: codenvy/mysql\n"
+               + "    environment:\n"
+               + "      MYSQL_USER: petclinic\n"
+               + "      MYSQL_DATABASE: petclinic\n"
+               + "    mem_limit: 536870912\n"
+               + "  dev-machine:\n"
+               + "    image: codenvy/ubuntu_jdk8\n"
+               + "    mem_limit: 2147483648\n"
+               + "    depends_on:\n"
+               + "      - db\n";
+    }
+
+    private static List<Link> links(String path, int count) {
+        final List<Link> links = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            links.add(newDto(Link.class).withHref("http://localhost:8080/api" + path + "/rel" + i)
+                                        .withRel("rel" + i)
+                                        .withMethod(i % 2 == 0 ? "GET" : "DELETE")
+                                        .withProduces("application/json")
+                                        .withParameters(singletonList(newDto(LinkParameter.class).withName("token")
+                                                                                                 .withRequired(false))));
+        }
+        return links;
+    }
+
+    private DtoSamples() {
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.benchmarks;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Checks that samples used by benchmarks survive serialization, so benchmarks don't measure failing or partial operations.
+ */
+public class DtoSamplesTest {
+    @DataProvider(name = "samples")
+    public Object[][] samples() {
+        final DtoSamples.Sample[] samples = DtoSamples.Sample.values();
+        final Object[][] result = new Object[samples.length][];
+        for (int i = 0; i < samples.length; i++) {
+            result[i] = new Object[] {samples[i]};
+        }
+        return result;
+    }
+
+    @Test(dataProvider = "samples")
+    public void shouldDeserializeSerializedSample(DtoSamples.Sample sample) {
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final Object dto = sample.create();
+
+        final Object deserialized = dtoFactory.createDtoFromJson(dtoFactory.toJson(dto), sample.getType());
+
+        assertEquals(deserialized, dto);
+        assertEquals(dtoFactory.clone(dto), dto);
+    }
+}
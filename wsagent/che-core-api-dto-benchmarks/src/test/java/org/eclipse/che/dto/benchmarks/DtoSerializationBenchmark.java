@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization, deserialization and cloning of generated server DTOs with {@link DtoFactory}. Benchmark
+ * {@link #toJsonTree()} serializes DTO through {@link com.google.gson.JsonElement} tree, as DTOs were serialized before streaming
+ * serialization was generated, so both ways may be compared on the same payloads.
+ * <p/>
+ * Run from IDE or with test classpath: {@code java -cp ... org.eclipse.che.dto.benchmarks.DtoSerializationBenchmark}, or with maven:
+ * {@code mvn verify -Pbenchmarks -Dbenchmarks=DtoSerializationBenchmark}. Allocation rate is reported by GC profiler as
+ * {@code gc.alloc.rate.norm}, bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    /** Name of {@link DtoSamples.Sample}. */
+    @Param({"WORKSPACE", "PROJECT_TREE", "GIT_LOG", "FACTORY"})
+    public String sample;
+
+    private DtoFactory dtoFactory;
+    private Class<?>   type;
+    private Object     dto;
+    private String     json;
+
+    @Setup
+    public void setUp() {
+        final DtoSamples.Sample dtoSample = DtoSamples.Sample.valueOf(sample);
+        dtoFactory = DtoFactory.getInstance();
+        type = dtoSample.getType();
+        dto = dtoSample.create();
+        json = dtoFactory.toJson(dto);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return dtoFactory.toJson(dto);
+    }
+
+    @Benchmark
+    public String toJsonTree() {
+        return GSON.toJson(dtoFactory.toJsonElement(dto));
+    }
+
+    @Benchmark
+    public Object fromJson() {
+        return dtoFactory.createDtoFromJson(json, type);
+    }
+
+    @Benchmark
+    public Object fromJsonReader() throws Exception {
+        return dtoFactory.createDtoFromJson(new StringReader(json), type);
+    }
+
+    @Benchmark
+    public Object cloneDto() {
+        return dtoFactory.clone(dto);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName())
+                                              .addProfiler(GCProfiler.class)
+                                              .build();
+        new Runner(options).run();
+    }
+}
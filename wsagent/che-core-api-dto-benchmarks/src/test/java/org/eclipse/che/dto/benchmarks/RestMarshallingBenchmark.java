@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.benchmarks;
+
+import com.google.common.reflect.TypeToken;
+
+import org.eclipse.che.api.core.rest.CheJsonProvider;
+import org.eclipse.che.api.git.LogPage;
+import org.eclipse.che.api.git.shared.Log;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+/**
+ * Measures writing and reading of REST entities by {@link CheJsonProvider}, the way they are marshalled for REST responses and
+ * requests:
+ * <ul>
+ * <li>{@code WORKSPACE} and {@code FACTORY} - single DTOs which are written by generated serializers;</li>
+ * <li>{@code ITEMS} - list of hundred project items, such lists are written by everrest JSON provider;</li>
+ * <li>{@code GIT_LOG} - git log with hundred commits, {@link LogPage} is written by everrest JSON provider and is read as {@link Log}
+ * DTO.</li>
+ * </ul>
+ * <p/>
+ * Run from IDE or with test classpath: {@code java -cp ... org.eclipse.che.dto.benchmarks.RestMarshallingBenchmark}, or with maven:
+ * {@code mvn verify -Pbenchmarks -Dbenchmarks=RestMarshallingBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestMarshallingBenchmark {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @Param({"WORKSPACE", "ITEMS", "GIT_LOG", "FACTORY"})
+    public String entity;
+
+    private CheJsonProvider<Object>            provider;
+    private MultivaluedHashMap<String, Object> responseHeaders;
+    private MultivaluedHashMap<String, String> requestHeaders;
+    private ByteArrayOutputStream              responseBody;
+    private Object                             value;
+    private Class<Object>                      writeType;
+    private Class<Object>                      readType;
+    private Type                               genericType;
+    private byte[]                             requestBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider = new CheJsonProvider<>(null);
+        responseHeaders = new MultivaluedHashMap<>();
+        requestHeaders = new MultivaluedHashMap<>();
+        responseBody = new ByteArrayOutputStream(64 * 1024);
+        switch (entity) {
+            case "WORKSPACE":
+                setEntity(DtoSamples.workspace(), DtoSamples.Sample.WORKSPACE.getType());
+                break;
+            case "FACTORY":
+                setEntity(DtoSamples.factory(), DtoSamples.Sample.FACTORY.getType());
+                break;
+            case "ITEMS":
+                setEntity(DtoSamples.items("/spring-petclinic/src/main/java", 100), List.class);
+                genericType = new TypeToken<List<ItemReference>>() {}.getType();
+                break;
+            case "GIT_LOG":
+                setEntity(DtoSamples.logPage(100), Log.class);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity " + entity);
+        }
+        write();
+        requestBody = responseBody.toByteArray();
+    }
+
+    @Benchmark
+    public int write() throws Exception {
+        responseBody.reset();
+        provider.writeTo(value, writeType, genericType, NO_ANNOTATIONS, APPLICATION_JSON_TYPE, responseHeaders, responseBody);
+        return responseBody.size();
+    }
+
+    @Benchmark
+    public Object read() throws Exception {
+        return provider.readFrom(readType, genericType, NO_ANNOTATIONS, APPLICATION_JSON_TYPE, requestHeaders,
+                                 new ByteArrayInputStream(requestBody));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setEntity(Object value, Class<?> readType) {
+        this.value = value;
+        this.writeType = (Class<Object>)value.getClass();
+        this.readType = (Class<Object>)readType;
+        this.genericType = value.getClass();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(RestMarshallingBenchmark.class.getSimpleName())
+                                              .addProfiler(GCProfiler.class)
+                                              .build();
+        new Runner(options).run();
+    }
+}
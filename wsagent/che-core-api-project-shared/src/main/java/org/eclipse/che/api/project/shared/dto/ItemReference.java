@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Occurrences of searched text in file. Provided only in search result when positions of matches were requested. */
+    List<SearchOccurrence> getSearchOccurrences();
+
+    void setSearchOccurrences(List<SearchOccurrence> searchOccurrences);
+
+    ItemReference withSearchOccurrences(List<SearchOccurrence> searchOccurrences);
 }
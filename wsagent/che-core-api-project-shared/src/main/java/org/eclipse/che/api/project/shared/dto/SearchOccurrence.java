@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Occurrence of searched text in file.
+ */
+@DTO
+public interface SearchOccurrence {
+    /** Matched text as it appears in file. */
+    String getPhrase();
+
+    void setPhrase(String phrase);
+
+    SearchOccurrence withPhrase(String phrase);
+
+    /** Offset of the first character of matched text from the start of file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrence withStartOffset(int startOffset);
+
+    /** Offset after the last character of matched text from the start of file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrence withEndOffset(int endOffset);
+
+    /** Number of line that contains matched text, starting from 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrence withLineNumber(int lineNumber);
+
+    /** Content of line that contains matched text. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrence withLineContent(String lineContent);
+}
@@ -16,10 +16,12 @@ import org.eclipse.che.api.core.model.project.SourceStorage;
 import org.eclipse.che.api.core.model.project.type.Attribute;
 import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.project.shared.dto.AttributeDto;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectImporterDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrence;
 import org.eclipse.che.api.project.shared.dto.ValueDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectProblemDto;
@@ -86,6 +88,15 @@ public class DtoConverter {
                                           .withContentLength(file.getVirtualFile().getLength());
     }
 
+    /** Converts {@link OffsetData} to {@link SearchOccurrence}. */
+    public static SearchOccurrence asDto(OffsetData offsetData) {
+        return newDto(SearchOccurrence.class).withPhrase(offsetData.getPhrase())
+                                             .withStartOffset(offsetData.getStartOffset())
+                                             .withEndOffset(offsetData.getEndOffset())
+                                             .withLineNumber(offsetData.getLineNumber())
+                                             .withLineContent(offsetData.getLine());
+    }
+
     /** Converts {@link FolderEntry} to {@link ItemReference}. */
     public static ItemReference asDto(FolderEntry folder) {
         return newDto(ItemReference.class).withName(folder.getName())
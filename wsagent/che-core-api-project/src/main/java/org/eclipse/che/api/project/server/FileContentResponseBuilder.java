@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFile;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Date;
+
+/**
+ * Builds response with content of file. Supports conditional requests (If-None-Match, If-Modified-Since) with entity tag calculated
+ * from last modification date and length of file and single byte range requests (Range, If-Range). Range of file from local file
+ * system is copied from its file channel to the response output stream wrapped in a channel, so only the requested bytes are read
+ * without skipping through input stream. It is a buffered copy, not a zero-copy transfer, as the servlet output stream isn't a
+ * file or socket channel.
+ */
+class FileContentResponseBuilder {
+    static final String RANGE         = "Range";
+    static final String IF_RANGE      = "If-Range";
+    static final String ACCEPT_RANGES = "Accept-Ranges";
+    static final String CONTENT_RANGE = "Content-Range";
+
+    private static final int REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+
+    private final VirtualFile file;
+    private final String      mediaType;
+    private       Request     request;
+    private       String      range;
+    private       String      ifRange;
+    private       boolean     attachment;
+
+    FileContentResponseBuilder(VirtualFile file, String mediaType) {
+        this.file = file;
+        this.mediaType = mediaType;
+    }
+
+    FileContentResponseBuilder request(Request request) {
+        this.request = request;
+        return this;
+    }
+
+    FileContentResponseBuilder range(String range, String ifRange) {
+        this.range = range;
+        this.ifRange = ifRange;
+        return this;
+    }
+
+    FileContentResponseBuilder attachment(boolean attachment) {
+        this.attachment = attachment;
+        return this;
+    }
+
+    Response build() throws ForbiddenException, ServerException {
+        final long length = file.getLength();
+        final Date lastModified = new Date(file.getLastModificationDate());
+        final EntityTag entityTag = createEntityTag(file.getLastModificationDate(), length);
+
+        if (request != null) {
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, entityTag);
+            if (notModified != null) {
+                return notModified.tag(entityTag).build();
+            }
+        }
+
+        long[] bounds = null;
+        if (range != null && (ifRange == null || ifRange.equals(entityTag.toString()))) {
+            bounds = parseRange(range, length);
+            if (bounds != null && bounds.length == 0) {
+                return Response.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+                               .header(CONTENT_RANGE, "bytes */" + length)
+                               .tag(entityTag)
+                               .build();
+            }
+        }
+
+        final Response.ResponseBuilder builder;
+        if (bounds == null) {
+            builder = Response.ok(createEntity(0, length), mediaType)
+                              .header(HttpHeaders.CONTENT_LENGTH, Long.toString(length));
+        } else {
+            final long count = bounds[1] - bounds[0] + 1;
+            builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                              .entity(createEntity(bounds[0], count))
+                              .type(mediaType)
+                              .header(HttpHeaders.CONTENT_LENGTH, Long.toString(count))
+                              .header(CONTENT_RANGE, "bytes " + bounds[0] + '-' + bounds[1] + '/' + length);
+        }
+        builder.lastModified(lastModified)
+               .tag(entityTag)
+               .header(ACCEPT_RANGES, "bytes");
+        if (attachment) {
+            builder.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + '"');
+        }
+        return builder.build();
+    }
+
+    private Object createEntity(long position, long count) throws ForbiddenException, ServerException {
+        if (file instanceof LocalVirtualFile) {
+            final LocalVirtualFile localFile = (LocalVirtualFile)file;
+            return (StreamingOutput)output -> {
+                try {
+                    localFile.transferContentTo(position, count, Channels.newChannel(output));
+                } catch (ForbiddenException | ServerException e) {
+                    throw new IOException(e.getLocalizedMessage(), e);
+                }
+            };
+        }
+        final InputStream content = file.getContent();
+        if (position == 0 && count == file.getLength()) {
+            return content;
+        }
+        try {
+            ByteStreams.skipFully(content, position);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        return ByteStreams.limit(content, count);
+    }
+
+    /** Entity tag is changed when file is modified, it does not require reading content of file. */
+    static EntityTag createEntityTag(long lastModified, long length) {
+        return new EntityTag(Long.toHexString(lastModified) + '-' + Long.toHexString(length));
+    }
+
+    /**
+     * Parses value of Range header. Only single range of bytes is supported.
+     *
+     * @return first and last (inclusive) positions of range, empty array if range can't be satisfied or {@code null} if header
+     * is malformed or contains multiple ranges, in this case whole content should be sent
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = range.substring("bytes=".length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        final long first;
+        final long last;
+        try {
+            if (dash == 0) {
+                // suffix range, e.g. bytes=-500 means last 500 bytes
+                final long suffix = Long.parseLong(spec.substring(1));
+                if (suffix == 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, length - suffix);
+                last = length - 1;
+            } else {
+                first = Long.parseLong(spec.substring(0, dash));
+                if (dash == spec.length() - 1) {
+                    last = length - 1;
+                } else {
+                    final long requestedLast = Long.parseLong(spec.substring(dash + 1));
+                    if (requestedLast < first) {
+                        return null;
+                    }
+                    last = Math.min(requestedLast, length - 1);
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (first < 0 || first >= length) {
+            return new long[0];
+        }
+        return new long[]{first, last};
+    }
+}
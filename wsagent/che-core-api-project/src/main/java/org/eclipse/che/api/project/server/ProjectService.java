@@ -60,6 +60,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -67,22 +68,28 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
-import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -90,6 +97,8 @@ import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.core.util.LinksHelper.createLink;
+import static org.eclipse.che.api.project.server.FileContentResponseBuilder.IF_RANGE;
+import static org.eclipse.che.api.project.server.FileContentResponseBuilder.RANGE;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CHILDREN;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
@@ -118,6 +127,8 @@ public class ProjectService extends Service {
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
+    private static final String DEFAULT_SEARCH_MAX_ITEMS = "1000";
+
     private final ProjectManager projectManager;
     private final EventService   eventService;
     private final String         workspace;
@@ -496,12 +507,18 @@ public class ProjectService extends Service {
     @GET
     @Path("/file/{path:.*}")
     public Response getFile(@ApiParam(value = "Path to a file", required = true)
-                            @PathParam("path") String path) throws IOException, NotFoundException, ForbiddenException, ServerException {
+                            @PathParam("path") String path,
+                            @HeaderParam(RANGE) String range,
+                            @HeaderParam(IF_RANGE) String ifRange,
+                            @Context Request request) throws IOException, NotFoundException, ForbiddenException, ServerException {
         final FileEntry file = projectManager.asFile(path);
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        final VirtualFile virtualFile = file.getVirtualFile();
+        return new FileContentResponseBuilder(virtualFile, TIKA.detect(virtualFile.getName())).request(request)
+                                                                                              .range(range, ifRange)
+                                                                                              .build();
     }
 
     @PUT
@@ -747,7 +764,10 @@ public class ProjectService extends Service {
     @Path("/export/file/{path:.*}")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     public Response exportFile(@ApiParam(value = "Path to resource to be imported")
-                               @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+                               @PathParam("path") String path,
+                               @HeaderParam(RANGE) String range,
+                               @HeaderParam(IF_RANGE) String ifRange,
+                               @Context Request request) throws NotFoundException, ForbiddenException, ServerException {
 
         final FileEntry file = projectManager.asFile(path);
 
@@ -757,11 +777,10 @@ public class ProjectService extends Service {
 
         final VirtualFile virtualFile = file.getVirtualFile();
 
-        return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
-                       .lastModified(new Date(virtualFile.getLastModificationDate()))
-                       .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
-                       .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + '"')
-                       .build();
+        return new FileContentResponseBuilder(virtualFile, TIKA.detect(virtualFile.getName())).request(request)
+                                                                                              .range(range, ifRange)
+                                                                                              .attachment(true)
+                                                                                              .build();
     }
 
     @GET
@@ -853,7 +872,8 @@ public class ProjectService extends Service {
     @Path("/search/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Search for resources",
-                  notes = "Search for resources applying a number of search filters as query parameters",
+                  notes = "Search for resources applying a number of search filters as query parameters. If there are more results, " +
+                          "'Link' header contains link with rel 'next' which retrieves the next page of results using 'cursor' parameter",
                   response = ItemReference.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
@@ -861,52 +881,132 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
-                                      @PathParam("path") String path,
-                                      @ApiParam(value = "Resource name")
-                                      @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
-                                      @QueryParam("text") String text,
-                                      @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
-                                      @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
-                                      @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "Regular expression that content of files must match")
+                           @QueryParam("regex") String regex,
+                           @ApiParam(value = "Maximum items to display, -1 means no limit", defaultValue = DEFAULT_SEARCH_MAX_ITEMS)
+                           @QueryParam("maxItems") @DefaultValue(DEFAULT_SEARCH_MAX_ITEMS) int maxItems,
+                           @ApiParam(value = "Skip count, ignored if cursor is set")
+                           @QueryParam("skipCount") int skipCount,
+                           @ApiParam(value = "Position in search result after which items are returned, provided by 'next' link")
+                           @QueryParam("cursor") String cursor,
+                           @ApiParam(value = "Include line numbers, offsets and lines of text for each match")
+                           @QueryParam("includePositions") boolean includePositions) throws NotFoundException,
+                                                                                            ForbiddenException,
+                                                                                            ConflictException,
+                                                                                            ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok(Collections.emptyList()).build();
         }
 
         if (skipCount < 0) {
             throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
         }
+        if (maxItems == 0 || maxItems < -1) {
+            throw new ConflictException(String.format("Invalid 'maxItems' parameter: %d.", maxItems));
+        }
 
         final QueryExpression expr = new QueryExpression()
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setRegex(regex)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setCursor(cursor)
+                .setIncludePositions(includePositions);
 
-        final SearchResult result = searcher.search(expr);
-        final List<SearchResultEntry> searchResultEntries = result.getResults();
-        final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
         final FolderEntry root = projectManager.getProjectsRoot();
+        if (maxItems == -1) {
+            // no limits, items are written to response as soon as they are found without collecting whole search result in memory
+            return Response.ok(streamSearchResult(searcher, expr, skipCount, root), MediaType.APPLICATION_JSON_TYPE).build();
+        }
 
-        for (SearchResultEntry searchResultEntry : searchResultEntries) {
-            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
-
-            if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+        final SearchResult result = searcher.search(expr);
+        final List<ItemReference> items = new ArrayList<>(result.getResults().size());
+        for (SearchResultEntry searchResultEntry : result.getResults()) {
+            final ItemReference item = createSearchResultItem(root, searchResultEntry);
+            if (item != null) {
+                items.add(item);
             }
         }
 
-        return items;
+        final Response.ResponseBuilder response = Response.ok(items);
+        final Optional<QueryExpression> nextPage = result.getNextPageQueryExpression();
+        if (nextPage.isPresent()) {
+            final URI next = UriBuilder.fromUri(uriInfo.getRequestUri())
+                                       .replaceQueryParam("skipCount")
+                                       .replaceQueryParam("cursor", nextPage.get().getCursor())
+                                       .build();
+            response.header("Link", String.format("<%s>; rel=\"next\"", next));
+        }
+        return response.build();
+    }
+
+    /**
+     * Writes JSON array of all found items to response, items are passed by searcher one by one. Cursor of query is respected, first
+     * {@code skipCount} found items are skipped if cursor is not set.
+     */
+    private StreamingOutput streamSearchResult(Searcher searcher, QueryExpression expr, int skipCount, FolderEntry root) {
+        final int numSkipItems = expr.getCursor() == null ? skipCount : 0;
+        return output -> {
+            final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            final AtomicInteger found = new AtomicInteger();
+            final AtomicInteger written = new AtomicInteger();
+            writer.write('[');
+            try {
+                searcher.search(expr, searchResultEntry -> {
+                    if (found.getAndIncrement() < numSkipItems) {
+                        return;
+                    }
+                    try {
+                        final ItemReference item = createSearchResultItem(root, searchResultEntry);
+                        if (item != null) {
+                            if (written.getAndIncrement() > 0) {
+                                writer.write(',');
+                            }
+                            writer.write(DtoFactory.getInstance().toJson(item));
+                        }
+                    } catch (ServerException e) {
+                        throw new UncheckedIOException(new IOException(e.getLocalizedMessage(), e));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (ServerException e) {
+                throw new IOException(e.getLocalizedMessage(), e);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.write(']');
+            writer.flush();
+        };
+    }
+
+    /** Returns {@code null} if found file doesn't exist anymore. */
+    private ItemReference createSearchResultItem(FolderEntry root, SearchResultEntry searchResultEntry) throws ServerException {
+        final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+        if (child != null && child.isFile()) {
+            final ItemReference item = injectFileLinks(asDto((FileEntry)child));
+            if (!searchResultEntry.getData().isEmpty()) {
+                item.setSearchOccurrences(searchResultEntry.getData()
+                                                           .stream()
+                                                           .map(offsetData -> asDto(offsetData))
+                                                           .collect(Collectors.toList()));
+            }
+            return item;
+        }
+        return null;
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Keeps hash sums of files calculated by {@link HashSumsCounter}. Cached hash sum is used while last modification date and length
+ * of file are the same as at the moment when hash sum was calculated.
+ */
+public class HashSumsCache {
+    private final Cache<Path, Entry> cache;
+
+    /**
+     * @param maxSize
+     *         max number of files which hash sums are kept in cache
+     */
+    public HashSumsCache(long maxSize) {
+        cache = CacheBuilder.newBuilder()
+                            .concurrencyLevel(8)
+                            .maximumSize(maxSize)
+                            .build();
+    }
+
+    /**
+     * Gets hash sum of file from the cache or calculates it if file is not cached yet or was modified after hash sum was cached.
+     *
+     * @return hash sum of file represented as HEX String
+     * @throws ServerException
+     *         if content of file can't be read
+     */
+    public String getHashSum(VirtualFile file, HashFunction hashFunction) throws ServerException {
+        final long lastModified = file.getLastModificationDate();
+        final long length = file.getLength();
+        final String algorithm = hashFunction.toString();
+        final Entry cached = cache.getIfPresent(file.getPath());
+        if (cached != null && cached.lastModified == lastModified && cached.length == length && cached.algorithm.equals(algorithm)) {
+            return cached.hashSum;
+        }
+        final String hashSum = HashSumsCounter.countHashSum(file, hashFunction);
+        cache.put(file.getPath(), new Entry(algorithm, lastModified, length, hashSum));
+        return hashSum;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static class Entry {
+        final String algorithm;
+        final long   lastModified;
+        final long   length;
+        final String hashSum;
+
+        Entry(String algorithm, long lastModified, long length, String hashSum) {
+            this.algorithm = algorithm;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hashSum = hashSum;
+        }
+    }
+}
@@ -20,25 +20,47 @@ import org.eclipse.che.commons.lang.Pair;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * <p/>
+ * If {@code ForkJoinPool} is given in constructor sub-folders and files are processed in parallel by tasks of that pool, otherwise
+ * folder is traversed in caller thread. If {@link HashSumsCache} is given hash sums of files that were not modified since previous
+ * calculation are taken from the cache.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
-    private final VirtualFile                folder;
-    private final HashFunction               hashFunction;
-    private final List<Pair<String, String>> hashSums;
+    private final VirtualFile   folder;
+    private final HashFunction  hashFunction;
+    private final ForkJoinPool  pool;
+    private final HashSumsCache cache;
 
+    private final Object consumerLock = new Object();
+
+    private Consumer<Pair<String, String>> consumer;
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null, null);
+    }
+
+    /**
+     * @param pool
+     *         pool for parallel traversing of folder, may be {@code null}
+     * @param cache
+     *         cache of hash sums, may be {@code null}
+     */
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, ForkJoinPool pool, HashSumsCache cache) {
         this.folder = folder;
         this.hashFunction = hashFunction;
-        hashSums = newArrayList();
+        this.pool = pool;
+        this.cache = cache;
     }
 
     /**
@@ -50,27 +72,108 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
-        folder.accept(this);
+        final List<Pair<String, String>> hashSums = new ArrayList<>();
+        countHashSums(hashSums::add);
         return hashSums;
     }
 
+    /**
+     * Calculates hash sums of files and passes each of them to {@code consumer} as soon as it is calculated, see {@link
+     * #countHashSums()} for structure of {@code Pair}. Consumer is never called concurrently, but in parallel mode it may be called
+     * from different threads and order of files is not defined.
+     *
+     * @throws ServerException
+     *         if content of any file can't be read
+     */
+    public synchronized void countHashSums(Consumer<Pair<String, String>> consumer) throws ServerException {
+        this.consumer = consumer;
+        try {
+            if (pool == null) {
+                folder.accept(this);
+            } else {
+                try {
+                    pool.invoke(new CountTask(folder));
+                } catch (CountTaskException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            this.consumer = null;
+        }
+    }
+
+    /**
+     * Calculates hash sum of content of single file.
+     *
+     * @return hash sum of file represented as HEX String
+     * @throws ServerException
+     *         if content of file can't be read
+     */
+    public static String countHashSum(VirtualFile file, HashFunction hashFunction) throws ServerException {
+        try (InputStream in = file.getContent()) {
+            final Hasher hasher = hashFunction.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            return hasher.hash().toString();
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            countFileHashSum(virtualFile);
         } else {
             for (VirtualFile child : virtualFile.getChildren()) {
                 child.accept(this);
             }
         }
     }
+
+    private void countFileHashSum(VirtualFile file) throws ServerException {
+        final String hexHash = cache == null ? countHashSum(file, hashFunction) : cache.getHashSum(file, hashFunction);
+        final Pair<String, String> hashSum = Pair.of(hexHash, file.getPath().subPath(folder.getPath()).toString());
+        synchronized (consumerLock) {
+            consumer.accept(hashSum);
+        }
+    }
+
+    private class CountTask extends RecursiveAction {
+        private final VirtualFile virtualFile;
+
+        CountTask(VirtualFile virtualFile) {
+            this.virtualFile = virtualFile;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (virtualFile.isFile()) {
+                    countFileHashSum(virtualFile);
+                } else {
+                    final List<CountTask> children = new ArrayList<>();
+                    for (VirtualFile child : virtualFile.getChildren()) {
+                        children.add(new CountTask(child));
+                    }
+                    invokeAll(children);
+                }
+            } catch (ServerException e) {
+                throw new CountTaskException(e);
+            }
+        }
+    }
+
+    /** Carries checked exception out of {@link CountTask}. */
+    private static class CountTaskException extends RuntimeException {
+        CountTaskException(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
+    }
 }
@@ -35,10 +35,10 @@ package org.eclipse.che.api.vfs;
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int DEFAULT_STRIPES     = 16;
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int      maxThreads;
+    private final Stripe[] stripes;
 
     /**
      * @param maxThreads
@@ -46,113 +46,183 @@ public final class PathLockFactory {
      *         avoid blocking threads that need to obtain NOT exclusive lock.
      */
     public PathLockFactory(int maxThreads) {
-        if (maxThreads < 1) {
+        this(maxThreads, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param maxThreads
+     *         the max number of threads are allowed to access one file. Typically this parameter should be big enough to
+     *         avoid blocking threads that need to obtain NOT exclusive lock.
+     * @param stripes
+     *         number of independent "lock tables". Paths are distributed between tables by the first element of path, e.g. all
+     *         paths inside of the same project share the same table, so locks of different projects do not contend with each other.
+     *         Lock of the root path is obtained in all tables.
+     */
+    public PathLockFactory(int maxThreads, int stripes) {
+        if (maxThreads < 1 || stripes < 1) {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
         return new PathLock(path, exclusive ? maxThreads : 1);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void acquire(Path path, int permits, long endTime) {
+        if (path.length() > 0) {
+            stripeFor(path).acquire(path, permits, endTime);
+            return;
+        }
+        // Root is parent of all paths and conflicts with locks in any table. Thread never waits for a table while it holds root lock
+        // in other tables, otherwise it would deadlock with thread that holds lock of one path and waits for lock of another path.
+        // Thread waits for one table, then tries to lock the rest without waiting and starts again if any of them is busy.
+        int waitFor = 0;
+        while (true) {
+            stripes[waitFor].acquire(path, permits, endTime);
+            int busy = -1;
+            for (int i = 0; i < stripes.length && busy < 0; i++) {
+                if (i != waitFor && !stripes[i].tryAcquireNow(path, permits)) {
+                    busy = i;
+                }
+            }
+            if (busy < 0) {
+                return;
             }
+            for (int i = 0; i < busy; i++) {
+                if (i != waitFor) {
+                    stripes[i].release(path, permits);
+                }
+            }
+            stripes[waitFor].release(path, permits);
+            waitFor = busy;
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
-            }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+    private void release(Path path, int permits) {
+        if (path.length() > 0) {
+            stripeFor(path).release(path, permits);
+        } else {
+            for (Stripe stripe : stripes) {
+                stripe.release(path, permits);
             }
-            waitTime = endTime - now;
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    private Stripe stripeFor(Path path) {
+        return stripes[Math.floorMod(path.element(0).hashCode(), stripes.length)];
+    }
+
+    public void checkClean() {
+        for (Stripe stripe : stripes) {
+            stripe.checkClean();
+        }
+    }
+
+    /** Lock table for subset of paths. */
+    private final class Stripe {
+        // Tail of the "lock table".
+        private final Node tail = new Node(null, 0, null);
+
+        /**
+         * @param endTime
+         *         time when waiting for lock must be stopped or {@code -1} if waiting is not limited
+         */
+        synchronized void acquire(Path path, int permits, long endTime) {
+            while (!tryAcquire(path, permits)) {
+                try {
+                    if (endTime < 0) {
+                        wait();
+                    } else {
+                        final long waitTime = endTime - System.currentTimeMillis();
+                        if (waitTime <= 0) {
+                            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                        }
+                        wait(waitTime);
                     }
-                } else {
-                    --prev.threadDeep;
+                } catch (InterruptedException e) {
+                    notifyAll();
+                    throw new RuntimeException(e);
                 }
             }
-            node = node.prev;
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
-    }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
+        /** Acquires lock if it is available immediately. */
+        synchronized boolean tryAcquireNow(Path path, int permits) {
+            return tryAcquire(path, permits);
+        }
+
+        synchronized void release(Path path, int permits) {
+            Node node = tail;
+            while (node != null) {
+                Node prev = node.prev;
+                if (prev == null) {
+                    break;
                 }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+                if (prev.path.equals(path)) {
+                    if (prev.threadDeep == 1) {
+                        // If last recursive lock.
+                        prev.permits += permits;
+                        if (prev.permits >= maxThreads) {
+                            // remove
+                            node.prev = prev.prev;
+                            prev.prev = null;
+                        }
+                    } else {
+                        --prev.threadDeep;
+                    }
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
+                node = node.prev;
+            }
+            notifyAll();
+        }
+
+        private boolean tryAcquire(Path path, int permits) {
+            Node node = tail.prev;
+            final Thread current = Thread.currentThread();
+            while (node != null) {
+                if (node.path.equals(path)) {
+                    if (node.threadId == current.getId()) {
+                        // Current thread already has direct lock for this path
+                        if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
+                            throw new Error("Max number of recursive locks exceeded. ");
+                        }
+                        ++node.threadDeep;
+                        return true;
+                    }
+                    if (node.permits > permits) {
+                        // Lock already exists and current thread is not owner of this lock,
+                        // but lock is not exclusive and we can "share" it for other thread.
+                        node.permits -= permits; // decrement number of allowed concurrent threads
+                        return true;
+                    }
+                    // Lock is exclusive or max number of allowed concurrent thread is reached.
                     return false;
+                } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
+                    // Found some path which already has lock that prevents us to get required permits.
+                    // There is two possibilities:
+                    // 1. Parent of the path we try to lock already locked
+                    // 2. Child of the path we try to lock already locked
+                    // Need to check is such lock obtained by current thread or not.
+                    // If such lock obtained by other thread stop here immediately there is no reasons to continue.
+                    if (node.threadId != current.getId()) {
+                        return false;
+                    }
                 }
+                node = node.prev;
             }
-            node = node.prev;
+            // If we are here there is no lock for path yet.
+            tail.prev = new Node(path, maxThreads - permits, tail.prev);
+            return true;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
-    }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+        synchronized void checkClean() {
+            assert tail.prev == null;
+        }
     }
 
    /* =============================================== */
@@ -197,7 +267,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, permits, -1);
             return this;
         }
 
@@ -212,7 +282,7 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, permits, System.currentTimeMillis() + timeoutMilliseconds);
             return this;
         }
 
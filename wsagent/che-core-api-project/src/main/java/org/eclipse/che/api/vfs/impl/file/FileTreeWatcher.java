@@ -36,17 +36,19 @@ import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
@@ -55,16 +57,27 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches file tree and notifies {@link FileWatcherNotificationHandler} about created, modified and deleted items.
+ * <p/>
+ * Directories that got events are collected and re-scanned after a quiet period of {@link #EVENT_PROCESS_TIMEOUT_SEC}, but not
+ * later than {@link #MAX_EVENT_DELAY_MS} after the first collected event and not more than {@link #MAX_PENDING_DIRECTORIES} at once,
+ * so long storms of events, e.g. checkout of large git branch, are processed in bounded batches. Events found during processing of
+ * one batch are coalesced per path before sending them to notification handler.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
     private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    private static final long MAX_EVENT_DELAY_MS        = 5000;
+    private static final int  MAX_PENDING_DIRECTORIES   = 1000;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
@@ -73,8 +86,13 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    private final AtomicLong                     firedEvents;
+    private final AtomicLong                     coalescedEvents;
+    private final AtomicLong                     overflows;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
+    private       EventBatch                     eventBatch;
+    private volatile int                         queueDepth;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
@@ -93,7 +111,35 @@ public class FileTreeWatcher {
                                                                 .build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
+        watchedDirectories = new ConcurrentHashMap<>();
+        firedEvents = new AtomicLong();
+        coalescedEvents = new AtomicLong();
+        overflows = new AtomicLong();
+    }
+
+    /** Number of directories that are watched at the moment. */
+    public int getWatchCount() {
+        return watchedDirectories.size();
+    }
+
+    /** Number of directories that got events and are waiting for processing. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Total number of events sent to notification handler. */
+    public long getFiredEventsCount() {
+        return firedEvents.get();
+    }
+
+    /** Total number of events that were merged with other events for the same path and were not sent to notification handler. */
+    public long getCoalescedEventsCount() {
+        return coalescedEvents.get();
+    }
+
+    /** Total number of overflows of watch service events queue. */
+    public long getOverflowsCount() {
+        return overflows.get();
     }
 
     private static File toCanonicalFile(File file) {
@@ -250,6 +296,8 @@ public class FileTreeWatcher {
     private class WatchEventTask implements Runnable {
         final Set<PendingEvent> pendingEvents = newLinkedHashSet();
 
+        long firstPendingEventTime;
+
         @Override
         public void run() {
             while (running.get()) {
@@ -257,17 +305,33 @@ public class FileTreeWatcher {
                     WatchKey watchKey;
                     if (pendingEvents.isEmpty()) {
                         watchKey = watchService.take();
+                        firstPendingEventTime = System.currentTimeMillis();
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
+                        final long maxDelay = firstPendingEventTime + MAX_EVENT_DELAY_MS - System.currentTimeMillis();
+                        if (pendingEvents.size() >= MAX_PENDING_DIRECTORIES || maxDelay <= 0) {
+                            watchKey = null;
+                        } else {
+                            watchKey = watchService.poll(Math.min(SECONDS.toMillis(EVENT_PROCESS_TIMEOUT_SEC), maxDelay), MILLISECONDS);
+                        }
                         if (watchKey == null) {
                             processPendingEvents(pendingEvents);
                             pendingEvents.clear();
+                            queueDepth = 0;
                         }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
+                        final Path directory = (Path)watchKey.watchable();
+                        pendingEvents.add(new PendingEvent(directory));
+                        for (WatchEvent<?> event : watchKey.pollEvents()) {
+                            if (event.kind() == OVERFLOW) {
+                                // some events are lost, re-scan whole subtree of directory to find all changes
+                                overflows.incrementAndGet();
+                                addPendingSubtree(directory, pendingEvents);
+                                break;
+                            }
+                        }
                         watchKey.reset();
+                        queueDepth = pendingEvents.size();
                     }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
@@ -279,7 +343,26 @@ public class FileTreeWatcher {
         }
     }
 
+    private void addPendingSubtree(Path directory, Set<PendingEvent> pendingEvents) {
+        for (Path watched : watchedDirectories.keySet()) {
+            if (watched.startsWith(directory)) {
+                pendingEvents.add(new PendingEvent(watched));
+            }
+        }
+    }
+
     private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
+        eventBatch = new EventBatch();
+        try {
+            scanPendingDirectories(pendingEvents);
+        } finally {
+            final EventBatch batch = eventBatch;
+            eventBatch = null;
+            batch.send();
+        }
+    }
+
+    private void scanPendingDirectories(Collection<PendingEvent> pendingEvents) throws IOException {
         for (PendingEvent pendingEvent : pendingEvents) {
             Path eventDirectoryPath = pendingEvent.getPath();
             WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
@@ -348,7 +431,61 @@ public class FileTreeWatcher {
     private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
         Path relativePath = watchRootPath.relativize(eventPath);
         if (shouldNotify(relativePath)) {
-            fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
+            if (eventBatch != null) {
+                eventBatch.add(eventType, relativePath, isDirectory);
+            } else {
+                sendWatchEvent(eventType, relativePath, isDirectory);
+            }
+        }
+    }
+
+    private void sendWatchEvent(FileWatcherEventType eventType, Path relativePath, boolean isDirectory) {
+        firedEvents.incrementAndGet();
+        fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
+    }
+
+    /**
+     * Events found while processing one batch of pending directories. Only one event is kept for each path:
+     * <ul>
+     * <li>created and then modified item is reported as created</li>
+     * <li>created and then deleted item is not reported at all</li>
+     * <li>modified and then deleted item is reported as deleted</li>
+     * <li>deleted and then created file is reported as modified</li>
+     * </ul>
+     */
+    private class EventBatch {
+        final LinkedHashMap<Path, BatchEvent> events = new LinkedHashMap<>();
+
+        void add(FileWatcherEventType eventType, Path relativePath, boolean isDirectory) {
+            final BatchEvent previous = events.get(relativePath);
+            if (previous == null) {
+                events.put(relativePath, new BatchEvent(eventType, isDirectory));
+                return;
+            }
+            coalescedEvents.incrementAndGet();
+            if (previous.type == CREATED && eventType == DELETED) {
+                events.remove(relativePath);
+            } else if (previous.type == DELETED && eventType == CREATED) {
+                events.put(relativePath, new BatchEvent(isDirectory || previous.directory ? CREATED : MODIFIED, isDirectory));
+            } else if (previous.type != CREATED) {
+                events.put(relativePath, new BatchEvent(eventType, isDirectory));
+            }
+        }
+
+        void send() {
+            for (Map.Entry<Path, BatchEvent> entry : events.entrySet()) {
+                sendWatchEvent(entry.getValue().type, entry.getKey(), entry.getValue().directory);
+            }
+        }
+    }
+
+    private static class BatchEvent {
+        final FileWatcherEventType type;
+        final boolean              directory;
+
+        BatchEvent(FileWatcherEventType type, boolean directory) {
+            this.type = type;
+            this.directory = directory;
         }
     }
 
@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -124,6 +125,25 @@ public class LocalVirtualFile implements VirtualFile {
         return new String(getContentAsBytes());
     }
 
+    /**
+     * Transfers range of content of this file from its file channel to {@code target} with {@link
+     * java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}. Transfer avoids copying to the heap only when
+     * {@code target} is a file or socket channel, other channels get buffered copy.
+     *
+     * @param position
+     *         position in file to start transfer from
+     * @param count
+     *         max number of bytes to transfer
+     * @return number of transferred bytes
+     * @throws ForbiddenException
+     *         if this item is not a file
+     * @throws ServerException
+     *         if other error occurs
+     */
+    public long transferContentTo(long position, long count, WritableByteChannel target) throws ForbiddenException, ServerException {
+        return fileSystem.transferContent(this, position, count, target);
+    }
+
     @Override
     public VirtualFile updateContent(InputStream content, String lockToken) throws ForbiddenException, ServerException {
         fileSystem.updateContent(this, content, lockToken);
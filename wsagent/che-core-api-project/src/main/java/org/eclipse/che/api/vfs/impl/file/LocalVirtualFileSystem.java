@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.HashSumsCache;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
@@ -52,11 +54,15 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -66,6 +72,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
@@ -81,6 +88,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
+    private static final int  HASH_SUMS_CACHE_SIZE       = 10000;
+    private static final int  HASH_SUMS_PARALLELISM      = 4;
 
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -136,6 +145,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final HashSumsCache hashSumsCache;
+    /* Hash sums are counted in own pool as reading files blocks threads, pool is shut down when file system is closed. */
+    private final ForkJoinPool  hashSumsPool;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -154,6 +167,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                       .concurrencyLevel(8)
                                       .maximumSize(256)
                                       .expireAfterAccess(10, MINUTES)
+                                      .recordStats()
                                       .build(new LockTokenCacheLoader());
 
         metadataSerializer = new FileMetadataSerializer();
@@ -161,7 +175,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .concurrencyLevel(8)
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
+                                    .recordStats()
                                     .build(new FilePropertiesCacheLoader());
+
+        hashSumsCache = new HashSumsCache(HASH_SUMS_CACHE_SIZE);
+        hashSumsPool = new ForkJoinPool(HASH_SUMS_PARALLELISM);
     }
 
     @Override
@@ -176,6 +194,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     @Override
     public void close() throws ServerException {
+        hashSumsPool.shutdownNow();
         cleanUpCaches();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
@@ -208,6 +227,32 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        hashSumsCache.invalidateAll();
+    }
+
+    /** Removes cached lock tokens and properties of item with specified path and of all its children. */
+    private void cleanUpCaches(Path path) {
+        invalidateSubtree(lockTokensCache, path);
+        invalidateSubtree(metadataCache, path);
+    }
+
+    private static void invalidateSubtree(LoadingCache<Path, ?> cache, Path path) {
+        if (path.isRoot()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(path);
+            cache.invalidateAll(cache.asMap().keySet().stream().filter(cached -> cached.isChild(path)).collect(toList()));
+        }
+    }
+
+    /** Hit, miss, load and eviction statistics of lock tokens cache. */
+    public CacheStats getLockTokensCacheStats() {
+        return lockTokensCache.stats();
+    }
+
+    /** Hit, miss, load and eviction statistics of file properties cache. */
+    public CacheStats getMetadataCacheStats() {
+        return metadataCache.stats();
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -518,6 +563,34 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    long transferContent(LocalVirtualFile virtualFile, long position, long count, WritableByteChannel target)
+            throws ForbiddenException, ServerException {
+        if (virtualFile.isFile()) {
+            final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+            try (FileChannel channel = FileChannel.open(virtualFile.toIoFile().toPath(), StandardOpenOption.READ)) {
+                final long end = Math.min(position + count, channel.size());
+                long transferred = 0;
+                while (position + transferred < end) {
+                    final long bytes = channel.transferTo(position + transferred, end - position - transferred, target);
+                    if (bytes <= 0) {
+                        break;
+                    }
+                    transferred += bytes;
+                }
+                return transferred;
+            } catch (IOException e) {
+                String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+                LOG.error(errorMessage + "\n" + e.getMessage(), e);
+                throw new ServerException(errorMessage);
+            } finally {
+                lock.release();
+            }
+        } else {
+            throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+        }
+    }
+
+
     void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
             throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
@@ -571,7 +644,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ForbiddenException(String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
         }
 
-        cleanUpCaches();
+        cleanUpCaches(virtualFile.getPath());
 
         final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
         if (fileLockIoFile.delete()) {
@@ -908,7 +981,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), hashSumsPool, hashSumsCache).countHashSums();
     }
 
 
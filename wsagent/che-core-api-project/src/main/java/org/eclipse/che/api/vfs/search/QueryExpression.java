@@ -12,11 +12,14 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private String  regex;
+    private int     skipCount;
+    private int     maxItems;
+    private String  cursor;
+    private boolean includePositions;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +51,19 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional regular expression in {@link java.util.regex.Pattern} syntax that content of files must match. Use
+     * {@link java.util.regex.Pattern#quote(String)} for searching plain substring.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(String regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -58,6 +74,19 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque position in search result after which results should be returned. Cursor is provided by searcher in query expression
+     * for retrieving next page, see {@link SearchResult#getNextPageQueryExpression()}. If cursor is set then skip count is ignored.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     /** Max number of results that might be returned after executing this query. */
     public int getMaxItems() {
         return maxItems;
@@ -68,14 +97,30 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * If {@code true} then searcher provides line numbers, offsets and lines of text for each occurrence of searched text in found
+     * files. Takes effect only if {@link #getText() text} is set.
+     */
+    public boolean isIncludePositions() {
+        return includePositions;
+    }
+
+    public QueryExpression setIncludePositions(boolean includePositions) {
+        this.includePositions = includePositions;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
+               ", regex='" + regex + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", cursor='" + cursor + '\'' +
+               ", includePositions=" + includePositions +
                '}';
     }
 }
@@ -10,18 +10,36 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
 /**
  * Single item in {@code SearchResult}.
  */
 public class SearchResultEntry {
-    private final String filePath;
+    private final String           filePath;
+    private final List<OffsetData> data;
 
     public SearchResultEntry(String filePath) {
+        this(filePath, emptyList());
+    }
+
+    public SearchResultEntry(String filePath, List<OffsetData> data) {
         this.filePath = filePath;
+        this.data = data;
     }
 
     /** Path of file that matches the search criteria. */
     public String getFilePath() {
         return filePath;
     }
+
+    /**
+     * Occurrences of searched text in file. List is empty if positions of matches were not requested, see
+     * {@link QueryExpression#isIncludePositions()}.
+     */
+    public List<OffsetData> getData() {
+        return data;
+    }
 }
@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.util.function.Consumer;
+
 public interface Searcher {
     /**
      * Return paths of matched items on virtual filesystem.
@@ -26,6 +28,21 @@ public interface Searcher {
      */
     SearchResult search(QueryExpression query) throws ServerException;
 
+    /**
+     * Passes all matched items on virtual filesystem to the consumer as soon as they are found, without collecting them in memory.
+     * Parameters {@link QueryExpression#getMaxItems()} and {@link QueryExpression#getSkipCount()} are ignored, but search starts
+     * after {@link QueryExpression#getCursor()} if it is set.
+     *
+     * @param query
+     *         query expression
+     * @param consumer
+     *         consumer of matched items
+     * @return number of items passed to consumer
+     * @throws ServerException
+     *         if an error occurs
+     */
+    int search(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException;
+
     /**
      * Add VirtualFile to index.
      *
@@ -11,6 +11,8 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
@@ -24,8 +26,8 @@ import org.eclipse.che.api.vfs.search.SearcherProvider;
 import javax.annotation.PreDestroy;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -33,7 +35,27 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
     protected final VirtualFileFilter excludeFileIndexFilters;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
-    private final ExecutorService executor;
+    private final ScheduledExecutorService executor;
+
+    @Inject(optional = true)
+    @Named("vfs.index.flush_interval_ms")
+    private long flushIntervalMillis = 500;
+
+    @Inject(optional = true)
+    @Named("vfs.index.commit_interval_ms")
+    private long commitIntervalMillis = LuceneSearcher.DEFAULT_COMMIT_INTERVAL_MS;
+
+    @Inject(optional = true)
+    @Named("vfs.index.refresh_interval_ms")
+    private long refreshIntervalMillis = LuceneSearcher.DEFAULT_REFRESH_INTERVAL_MS;
+
+    @Inject(optional = true)
+    @Named("vfs.index.max_pending_operations")
+    private int maxPendingOperations = LuceneSearcher.DEFAULT_MAX_PENDING_OPERATIONS;
+
+    @Inject(optional = true)
+    @Named("vfs.index.trigram_enabled")
+    private boolean trigramIndexEnabled;
 
     /**
      * @param excludeFileIndexFilters
@@ -41,11 +63,11 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
      */
     protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
         this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
-        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
                                                              .setDaemon(true)
                                                              .setUncaughtExceptionHandler(
                                                                      LoggingUncaughtExceptionHandler.getInstance())
-                                                             .setNameFormat("LuceneSearcherInitThread")
+                                                             .setNameFormat("LuceneSearcherIndexingThread")
                                                              .build());
     }
 
@@ -66,8 +88,13 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            searcher.setMaxPendingOperations(maxPendingOperations);
+            searcher.setCommitIntervalMillis(commitIntervalMillis);
+            searcher.setRefreshIntervalMillis(refreshIntervalMillis);
+            searcher.setTrigramIndexEnabled(trigramIndexEnabled);
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
+                searcher.scheduleIndexing(executor, flushIntervalMillis);
             }
             cachedSearcher = searcherReference.get();
         }
@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,36 +27,66 @@ import java.io.IOException;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}. Persistent searcher keeps index
+ * directory after closing and on next initialization re-indexes only files that were changed since index was updated last time.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
+
+    private boolean existingIndex;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexDirectory, filter, closeCallback, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     boolean persistent) {
         super(filter, closeCallback);
         this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
     }
 
     @Override
     protected Directory makeDirectory() throws ServerException {
         try {
-            return FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
+            final Directory directory = FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
+            existingIndex = persistent && DirectoryReader.indexExists(directory);
+            return directory;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    @Override
+    protected void initTree(VirtualFile root) throws ServerException {
+        if (existingIndex) {
+            synchronizeTree(root);
+        } else {
+            super.initTree(root);
+        }
+    }
+
+    @Override
+    protected boolean shouldStoreContentHash() {
+        return persistent;
+    }
+
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (persistent) {
+            LOG.debug("Keep index directory '{}'", indexDirectory);
+        } else if (!deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
@@ -10,9 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
@@ -28,6 +29,11 @@ import static com.google.common.collect.Sets.newHashSet;
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
     private final File indexRootDirectory;
 
+    /** Keep index between restarts of workspace agent and re-index only changed files on start. */
+    @Inject(optional = true)
+    @Named("vfs.index.persistent")
+    private boolean persistentIndex;
+
     /**
      * @param indexRootDirectory
      *         root directory for creation index
@@ -45,6 +51,6 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback, persistentIndex);
     }
 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Queue of index operations that are not applied to the lucene index yet. Operations are coalesced by path, only the latest operation
+ * for each file or folder is kept, e.g. burst of updates of the same file results in single re-indexing of this file. Order of
+ * operations for different paths is preserved.
+ */
+class IndexOperationQueue {
+    private final LinkedHashMap<String, IndexOperation> operations = new LinkedHashMap<>();
+
+    /**
+     * Adds operation to the queue. Removing of folder discards all pending operations for its children.
+     *
+     * @return number of pending operations after adding new one
+     */
+    synchronized int offer(IndexOperation operation) {
+        final String key = operation.key();
+        if (operation.getType() == IndexOperation.Type.DELETE && operation.isTree()) {
+            final String prefix = operation.getPath() + '/';
+            for (Iterator<IndexOperation> i = operations.values().iterator(); i.hasNext(); ) {
+                final String path = i.next().getPath();
+                if (path.equals(operation.getPath()) || path.startsWith(prefix)) {
+                    i.remove();
+                }
+            }
+        }
+        final IndexOperation previous = operations.remove(key);
+        if (previous != null
+            && operation.isTree()
+            && operation.getType() == IndexOperation.Type.ADD
+            && (previous.getType() == IndexOperation.Type.DELETE || previous.getType() == IndexOperation.Type.REPLACE)) {
+            // folder removed and created again, stale documents of removed folder must be dropped before indexing new content
+            operations.put(key, IndexOperation.replaceTree(operation.getVirtualFile(), previous.getEnqueueTime()));
+        } else {
+            operations.put(key, operation);
+        }
+        return operations.size();
+    }
+
+    /** Removes all pending operations from the queue and returns them in order they should be applied. */
+    synchronized List<IndexOperation> drain() {
+        final List<IndexOperation> batch = new ArrayList<>(operations.values());
+        operations.clear();
+        return batch;
+    }
+
+    synchronized void clear() {
+        operations.clear();
+    }
+
+    synchronized int size() {
+        return operations.size();
+    }
+
+    /** Time when the oldest pending operation was added to the queue or {@code -1} if queue is empty. */
+    synchronized long getOldestEnqueueTime() {
+        long oldest = -1;
+        for (IndexOperation operation : operations.values()) {
+            if (oldest < 0 || operation.getEnqueueTime() < oldest) {
+                oldest = operation.getEnqueueTime();
+            }
+        }
+        return oldest;
+    }
+
+    static class IndexOperation {
+        enum Type {
+            ADD,
+            UPDATE,
+            DELETE,
+            /** Delete all documents of folder and index its content again. */
+            REPLACE
+        }
+
+        static IndexOperation add(VirtualFile virtualFile) {
+            return new IndexOperation(Type.ADD, virtualFile.getPath().toString(), virtualFile.isFolder(), virtualFile,
+                                      System.currentTimeMillis());
+        }
+
+        static IndexOperation update(VirtualFile virtualFile) {
+            return new IndexOperation(Type.UPDATE, virtualFile.getPath().toString(), false, virtualFile, System.currentTimeMillis());
+        }
+
+        static IndexOperation delete(String path, boolean isFile) {
+            return new IndexOperation(Type.DELETE, path, !isFile, null, System.currentTimeMillis());
+        }
+
+        static IndexOperation replaceTree(VirtualFile virtualFile, long enqueueTime) {
+            return new IndexOperation(Type.REPLACE, virtualFile.getPath().toString(), true, virtualFile, enqueueTime);
+        }
+
+        private final Type        type;
+        private final String      path;
+        private final boolean     tree;
+        private final VirtualFile virtualFile;
+        private final long        enqueueTime;
+
+        private IndexOperation(Type type, String path, boolean tree, VirtualFile virtualFile, long enqueueTime) {
+            this.type = type;
+            this.path = path;
+            this.tree = tree;
+            this.virtualFile = virtualFile;
+            this.enqueueTime = enqueueTime;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        /** Returns {@code true} if operation is applied to folder and all its children. */
+        boolean isTree() {
+            return tree;
+        }
+
+        /** File to index, {@code null} for {@link Type#DELETE} operations. */
+        VirtualFile getVirtualFile() {
+            return virtualFile;
+        }
+
+        long getEnqueueTime() {
+            return enqueueTime;
+        }
+
+        private String key() {
+            // file and folder with the same path are coalesced separately, e.g. file replaced with folder
+            return (tree ? "T:" : "F:") + path;
+        }
+    }
+}
@@ -10,16 +10,30 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiDocValues;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -27,6 +41,7 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -35,47 +50,108 @@ import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.HashSumsCounter;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.api.vfs.search.impl.IndexOperationQueue.IndexOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.hash.Hashing.md5;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Lucene based searcher.
+ * <p/>
+ * Methods {@link #add(VirtualFile)}, {@link #update(VirtualFile)} and {@link #delete(String, boolean)} do not touch index directly
+ * but put operation in queue of pending operations. Operations are coalesced per path and applied to index in batches by indexing
+ * task (see {@link #scheduleIndexing(ScheduledExecutorService, long)}), when number of pending operations reaches limit or before
+ * executing search query.
  *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
-    private static final int RESULT_LIMIT = 1000;
+    /** Max number of documents that are read from index at once. */
+    private static final int  READ_FRAME_SIZE        = 1000;
+    /** Number of items in page when max items is not specified in query. */
+    private static final int  DEFAULT_PAGE_SIZE      = 1000;
+    /** Max number of occurrences of searched text that are reported for single file. */
+    private static final int  MAX_OCCURRENCES        = 100;
+    /** Max length of line of text that is reported with occurrence of searched text. */
+    private static final int  MAX_LINE_LENGTH        = 256;
+    /**
+     * Max size of file which content is read for checking regular expression or finding positions of searched text. Bigger files
+     * never match regular expression and are reported without positions of searched text.
+     */
+    private static final long MAX_CONTENT_SIZE       = 10 * 1024 * 1024;
+    /** Max time of checking content of single file with regular expression. */
+    private static final long REGEX_MATCH_TIMEOUT_MS = 1000;
+
+    static final int  DEFAULT_MAX_PENDING_OPERATIONS = 10000;
+    static final long DEFAULT_COMMIT_INTERVAL_MS     = 60000;
+    static final long DEFAULT_REFRESH_INTERVAL_MS    = 1000;
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final IndexOperationQueue                          pendingOperations;
+    private final Object                                       indexLock;
+    private final AtomicLong                                   appliedOperations;
+
+    private IndexWriter        luceneIndexWriter;
+    private SearcherManager    searcherManager;
+    private ScheduledFuture<?> indexingTask;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private volatile VirtualFileSystem virtualFileSystem;
+    private volatile boolean           trigramIndexEnabled;
+
+    private volatile int  maxPendingOperations = DEFAULT_MAX_PENDING_OPERATIONS;
+    private volatile long commitIntervalMillis = DEFAULT_COMMIT_INTERVAL_MS;
+    private volatile long refreshIntervalMillis = DEFAULT_REFRESH_INTERVAL_MS;
+    private volatile long lastFlushTime;
+    private volatile long lastFlushDurationMillis;
+    private long          lastCommitTime;
+    private long          lastRefreshTime;
+    private boolean       uncommittedChanges;
 
     private boolean closed = true;
 
@@ -96,6 +172,35 @@ public abstract class LuceneSearcher implements Searcher {
         this.closeCallback = closeCallback;
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
+        pendingOperations = new IndexOperationQueue();
+        indexLock = new Object();
+        appliedOperations = new AtomicLong();
+    }
+
+    /**
+     * Sets max number of pending index operations. When limit is reached, thread that adds new operation applies all pending
+     * operations to the index itself.
+     */
+    public void setMaxPendingOperations(int maxPendingOperations) {
+        this.maxPendingOperations = maxPendingOperations;
+    }
+
+    /**
+     * Enables indexing of trigrams of files content. Trigrams allow select files that might match regular expression before
+     * checking content of files, see {@link QueryExpression#getRegex()}. Must be set before initialization of searcher.
+     */
+    public void setTrigramIndexEnabled(boolean trigramIndexEnabled) {
+        this.trigramIndexEnabled = trigramIndexEnabled;
+    }
+
+    /** Sets min interval between commits of index, negative value disables periodical commits. */
+    public void setCommitIntervalMillis(long commitIntervalMillis) {
+        this.commitIntervalMillis = commitIntervalMillis;
+    }
+
+    /** Sets min interval between refreshes of index reader by indexing task, negative value disables periodical refreshes. */
+    public void setRefreshIntervalMillis(long refreshIntervalMillis) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
     }
 
     @Override
@@ -119,6 +224,18 @@ public abstract class LuceneSearcher implements Searcher {
         };
     }
 
+    /** Analyzer for trigrams of files content, tokens of this analyzer must be consistent with {@link RegexTrigrams}. */
+    protected Analyzer makeTrigramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(3, 3);
+                TokenStream filter = new LowerCaseFilter(tokenizer);
+                return new TokenStreamComponents(tokenizer, filter);
+            }
+        };
+    }
+
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
@@ -130,16 +247,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        initTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.initTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -147,25 +266,53 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Starts periodical applying of pending index operations to the index.
+     *
+     * @param executor
+     *         executor for running indexing task
+     * @param flushIntervalMillis
+     *         delay between end of one indexing batch and start of next one
+     */
+    public synchronized void scheduleIndexing(ScheduledExecutorService executor, long flushIntervalMillis) {
+        if (!closed && indexingTask == null && !executor.isShutdown()) {
+            indexingTask = executor.scheduleWithFixedDelay(this::runIndexingTask, flushIntervalMillis, flushIntervalMillis, MILLISECONDS);
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            Analyzer analyzer = makeAnalyzer();
+            if (trigramIndexEnabled) {
+                analyzer = new PerFieldAnalyzerWrapper(analyzer, singletonMap(RegexTrigrams.FIELD, makeTrigramAnalyzer()));
+            }
+            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(analyzer));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            lastCommitTime = lastRefreshTime = System.currentTimeMillis();
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
-    public final synchronized void close() {
-        if (!closed) {
-            try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
-                afterClose();
-            } catch (IOException e) {
-                LOG.error(e.getMessage(), e);
+    public final void close() {
+        synchronized (indexLock) {
+            synchronized (this) {
+                if (!closed) {
+                    if (indexingTask != null) {
+                        indexingTask.cancel(false);
+                        indexingTask = null;
+                    }
+                    pendingOperations.clear();
+                    try {
+                        IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                        afterClose();
+                    } catch (IOException e) {
+                        LOG.error(e.getMessage(), e);
+                    }
+                    closed = true;
+                }
             }
-            closed = true;
         }
     }
 
@@ -184,39 +331,162 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /** Number of index operations that are not applied to the index yet. */
+    public int getPendingOperationsCount() {
+        return pendingOperations.size();
+    }
+
+    /** Age of the oldest index operation that is not applied to the index yet or {@code 0} if there are no pending operations. */
+    public long getIndexLagMillis() {
+        final long oldest = pendingOperations.getOldestEnqueueTime();
+        return oldest < 0 ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /** Total number of index operations applied to the index. */
+    public long getAppliedOperationsCount() {
+        return appliedOperations.get();
+    }
+
+    /** Time of the last applying of pending operations to the index or {@code 0} if pending operations were never applied. */
+    public long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    /** Time spent on the last applying of pending operations to the index. */
+    public long getLastFlushDurationMillis() {
+        return lastFlushDurationMillis;
+    }
+
+    /**
+     * Applies all pending index operations to the index. Failure of single operation is logged and doesn't stop applying of the
+     * rest of batch.
+     */
+    public void flush() {
+        synchronized (indexLock) {
+            if (isClosed()) {
+                return;
+            }
+            final List<IndexOperation> batch = pendingOperations.drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            final long start = System.currentTimeMillis();
+            for (IndexOperation operation : batch) {
+                try {
+                    applyOperation(operation);
+                } catch (ServerException e) {
+                    LOG.warn("Unable apply {} of {} to index: {}", operation.getType(), operation.getPath(), e.getMessage());
+                }
+            }
+            final long end = System.currentTimeMillis();
+            appliedOperations.addAndGet(batch.size());
+            uncommittedChanges = true;
+            lastFlushTime = end;
+            lastFlushDurationMillis = end - start;
+            LOG.debug("Applied {} index operations, time: {} ms", batch.size(), (end - start));
+        }
+    }
+
+    private void runIndexingTask() {
+        try {
+            flush();
+            synchronized (indexLock) {
+                if (isClosed()) {
+                    return;
+                }
+                final long now = System.currentTimeMillis();
+                if (uncommittedChanges && commitIntervalMillis >= 0 && now - lastCommitTime >= commitIntervalMillis) {
+                    getIndexWriter().commit();
+                    uncommittedChanges = false;
+                    lastCommitTime = now;
+                }
+                if (refreshIntervalMillis >= 0 && now - lastRefreshTime >= refreshIntervalMillis) {
+                    searcherManager.maybeRefresh();
+                    lastRefreshTime = now;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // do not let exception go out, it cancels all next executions of periodical task
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private void applyOperation(IndexOperation operation) throws ServerException {
+        switch (operation.getType()) {
+            case ADD:
+                doAdd(operation.getVirtualFile());
+                break;
+            case UPDATE:
+                if (operation.getVirtualFile().exists()) {
+                    doUpdate(new Term("path", operation.getPath()), operation.getVirtualFile());
+                }
+                break;
+            case DELETE:
+                doDelete(operation.getPath(), !operation.isTree());
+                break;
+            case REPLACE:
+                doDelete(operation.getPath(), false);
+                doAdd(operation.getVirtualFile());
+                break;
+        }
+    }
+
+    private void enqueue(IndexOperation operation) {
+        if (pendingOperations.offer(operation) >= maxPendingOperations) {
+            flush();
+        }
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
+            flush();
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
+            if (query.getRegex() != null) {
+                return searchByRegex(luceneSearcher, query, startTime);
+            }
+
             Query luceneQuery = createLuceneQuery(query);
 
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            final int numSkipDocs;
+            if (query.getCursor() != null) {
+                final Cursor cursor = Cursor.parse(query.getCursor());
+                after = cursor.getScoreDoc();
+                numSkipDocs = cursor.getRetrievedDocs();
+            } else {
+                numSkipDocs = Math.max(0, query.getSkipCount());
+                if (numSkipDocs > 0) {
+                    after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+                }
             }
 
-            final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
-            final int totalHitsNum = topDocs.totalHits;
-
-            List<SearchResultEntry> results = newArrayList();
-            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
-                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
-            }
+            final QueryTermMatcher termMatcher = createTermMatcher(query);
+            final int numDocs = query.getMaxItems() > 0 ? query.getMaxItems() : DEFAULT_PAGE_SIZE;
+            final List<SearchResultEntry> results = newArrayList();
+            int totalHitsNum = 0;
+            TopDocs topDocs;
+            do {
+                // read result in frames to avoid allocation of big priority queue when large number of items is requested
+                topDocs = luceneSearcher.searchAfter(after, luceneQuery, Math.min(numDocs - results.size(), READ_FRAME_SIZE));
+                totalHitsNum = topDocs.totalHits;
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                    results.add(createSearchResultEntry(filePath, termMatcher));
+                    after = scoreDoc;
+                }
+            } while (results.size() < numDocs && topDocs.scoreDocs.length > 0);
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            final int retrievedDocs = numSkipDocs + results.size();
             QueryExpression nextPageQueryExpression = null;
-            if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            if (retrievedDocs < totalHitsNum && after != null) {
+                nextPageQueryExpression = createNextPageQuery(query, retrievedDocs, new Cursor(after, retrievedDocs).toString());
             }
 
             return SearchResult.aSearchResult()
@@ -236,6 +506,109 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Selects files with lucene query and checks content of each selected file with regular expression. If trigram index is enabled
+     * then lucene query includes trigrams required by regular expression, otherwise content of all files that match other criteria
+     * of query is checked. Total number of hits in result includes only files checked before end of page was reached.
+     */
+    private SearchResult searchByRegex(IndexSearcher luceneSearcher, QueryExpression query, long startTime) throws IOException,
+                                                                                                                  ServerException {
+        final Pattern regex = compileRegex(query.getRegex());
+        final Query luceneQuery = createLuceneQuery(query);
+
+        ScoreDoc after = null;
+        int numSkipMatches = 0;
+        int retrievedBefore = 0;
+        if (query.getCursor() != null) {
+            final Cursor cursor = Cursor.parse(query.getCursor());
+            after = cursor.getScoreDoc();
+            retrievedBefore = cursor.getRetrievedDocs();
+        } else {
+            numSkipMatches = Math.max(0, query.getSkipCount());
+        }
+
+        final int numDocs = query.getMaxItems() > 0 ? query.getMaxItems() : DEFAULT_PAGE_SIZE;
+        final List<SearchResultEntry> results = newArrayList();
+        ScoreDoc lastMatched = after;
+        int skippedMatches = 0;
+        boolean hasMore = false;
+        TopDocs topDocs;
+        frames:
+        do {
+            topDocs = luceneSearcher.searchAfter(after, luceneQuery, READ_FRAME_SIZE);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                after = scoreDoc;
+                final String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                final SearchResultEntry entry = createRegexSearchResultEntry(filePath, regex, query.isIncludePositions());
+                if (entry == null) {
+                    continue;
+                }
+                if (skippedMatches < numSkipMatches) {
+                    skippedMatches++;
+                } else if (results.size() < numDocs) {
+                    results.add(entry);
+                    lastMatched = scoreDoc;
+                } else {
+                    hasMore = true;
+                    break frames;
+                }
+            }
+        } while (topDocs.scoreDocs.length > 0);
+
+        final int retrievedDocs = retrievedBefore + skippedMatches + results.size();
+        QueryExpression nextPageQueryExpression = null;
+        if (hasMore) {
+            nextPageQueryExpression = createNextPageQuery(query, retrievedDocs, new Cursor(lastMatched, retrievedDocs).toString());
+        }
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(retrievedDocs + (hasMore ? 1 : 0))
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+                           .build();
+    }
+
+    @Override
+    public int search(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        IndexSearcher luceneSearcher = null;
+        try {
+            flush();
+            searcherManager.maybeRefresh();
+            // all frames are read from the same point-in-time view of index, so document ids remain valid between frames
+            luceneSearcher = searcherManager.acquire();
+
+            final Query luceneQuery = createLuceneQuery(query);
+            final QueryTermMatcher termMatcher = createTermMatcher(query);
+            final Pattern regex = query.getRegex() == null ? null : compileRegex(query.getRegex());
+            ScoreDoc after = query.getCursor() == null ? null : Cursor.parse(query.getCursor()).getScoreDoc();
+            int delivered = 0;
+            TopDocs topDocs;
+            do {
+                topDocs = luceneSearcher.searchAfter(after, luceneQuery, READ_FRAME_SIZE);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    after = scoreDoc;
+                    String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                    SearchResultEntry entry = regex == null
+                                              ? createSearchResultEntry(filePath, termMatcher)
+                                              : createRegexSearchResultEntry(filePath, regex, query.isIncludePositions());
+                    if (entry != null) {
+                        consumer.accept(entry);
+                        delivered++;
+                    }
+                }
+            } while (topDocs.scoreDocs.length > 0);
+            return delivered;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -248,19 +621,174 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
+            luceneQuery.add(createTextQuery(text), BooleanClause.Occur.MUST);
+        }
+        if (query.getRegex() != null) {
+            final Query trigramQuery = trigramIndexEnabled ? RegexTrigrams.createQuery(query.getRegex()) : null;
+            if (trigramQuery != null) {
+                luceneQuery.add(trigramQuery, BooleanClause.Occur.MUST);
+            } else if (luceneQuery.clauses().isEmpty()) {
+                luceneQuery.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
             }
         }
         return luceneQuery;
     }
 
+    private Pattern compileRegex(String regex) throws ServerException {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(String.format("Invalid regular expression '%s': %s", regex, e.getDescription()));
+        }
+    }
+
+    /** Returns {@code null} if content of file doesn't match regular expression. */
+    private SearchResultEntry createRegexSearchResultEntry(String filePath, Pattern regex, boolean includePositions)
+            throws ServerException {
+        final String content = readContent(filePath);
+        if (content == null) {
+            return null;
+        }
+        final Matcher matcher = regex.matcher(new TimeLimitedCharSequence(content, REGEX_MATCH_TIMEOUT_MS));
+        try {
+            if (!matcher.find()) {
+                return null;
+            }
+            if (!includePositions) {
+                return new SearchResultEntry(filePath);
+            }
+            final List<OffsetData> occurrences = newArrayList();
+            final LineCounter lineCounter = new LineCounter(content);
+            do {
+                occurrences.add(lineCounter.createOffsetData(matcher.start(), matcher.end()));
+            } while (occurrences.size() < MAX_OCCURRENCES && matcher.find());
+            return new SearchResultEntry(filePath, occurrences);
+        } catch (TimeLimitedCharSequence.TimeoutException e) {
+            LOG.warn("Checking content of file {} with regular expression '{}' takes too long, file is skipped", filePath, regex);
+            return null;
+        }
+    }
+
+    /** Reads content of file or returns {@code null} if file doesn't exist or is bigger than {@link #MAX_CONTENT_SIZE}. */
+    private String readContent(String filePath) throws ServerException {
+        final VirtualFile file = virtualFileSystem == null ? null : virtualFileSystem.getRoot().getChild(Path.of(filePath));
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        if (file.getLength() > MAX_CONTENT_SIZE) {
+            LOG.debug("Skip reading content of file {}, its size {} bytes exceeds limit", filePath, file.getLength());
+            return null;
+        }
+        // file might grow after its length was checked
+        try (Reader contentReader = new BufferedReader(new InputStreamReader(ByteStreams.limit(file.getContent(), MAX_CONTENT_SIZE)))) {
+            return CharStreams.toString(contentReader);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private Query createTextQuery(String text) throws ServerException {
+        QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        qParser.setAllowLeadingWildcard(true);
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private QueryTermMatcher createTermMatcher(QueryExpression query) throws ServerException {
+        if (query.isIncludePositions() && query.getText() != null) {
+            return new QueryTermMatcher(createTextQuery(query.getText()), "text");
+        }
+        return null;
+    }
+
+    private SearchResultEntry createSearchResultEntry(String filePath, QueryTermMatcher termMatcher) throws ServerException {
+        if (termMatcher == null || termMatcher.isEmpty()) {
+            return new SearchResultEntry(filePath);
+        }
+        return new SearchResultEntry(filePath, findOccurrences(filePath, termMatcher));
+    }
+
+    /**
+     * Finds positions of searched text in file. Content of file is analyzed with the same analyzer as used for indexing, so offsets
+     * of tokens point to the same text that lucene matched.
+     */
+    private List<OffsetData> findOccurrences(String filePath, QueryTermMatcher termMatcher) throws ServerException {
+        final String content = readContent(filePath);
+        if (content == null) {
+            return emptyList();
+        }
+        final List<OffsetData> occurrences = newArrayList();
+        try (Analyzer analyzer = makeAnalyzer();
+             TokenStream tokenStream = analyzer.tokenStream("text", content)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
+            final LineCounter lineCounter = new LineCounter(content);
+            tokenStream.reset();
+            while (occurrences.size() < MAX_OCCURRENCES && tokenStream.incrementToken()) {
+                if (termMatcher.matches(termAttribute.toString())) {
+                    occurrences.add(lineCounter.createOffsetData(offsetAttribute.startOffset(), offsetAttribute.endOffset()));
+                }
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Resolves line numbers for occurrences of searched text. Occurrences must be passed in order of appearance in text, so there is
+     * no need to scan text from the start for each of them.
+     */
+    private static class LineCounter {
+        private final String content;
+
+        private int lineNumber = 1;
+        private int lineStart;
+        private int position;
+
+        LineCounter(String content) {
+            this.content = content;
+        }
+
+        OffsetData createOffsetData(int startOffset, int endOffset) {
+            for (; position < startOffset; position++) {
+                if (content.charAt(position) == '\n') {
+                    lineNumber++;
+                    lineStart = position + 1;
+                }
+            }
+            return new OffsetData(content.substring(startOffset, endOffset),
+                                  startOffset,
+                                  endOffset,
+                                  lineNumber,
+                                  getLine(startOffset, endOffset));
+        }
+
+        private String getLine(int startOffset, int endOffset) {
+            int lineEnd = content.indexOf('\n', endOffset);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd - lineStart <= MAX_LINE_LENGTH) {
+                return content.substring(lineStart, lineEnd);
+            }
+            final int from = Math.max(lineStart, Math.min(startOffset - (MAX_LINE_LENGTH - (endOffset - startOffset)) / 2,
+                                                          lineEnd - MAX_LINE_LENGTH));
+            return content.substring(from, Math.min(lineEnd, from + MAX_LINE_LENGTH));
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
-        final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
+        final int readFrameSize = Math.min(numSkipDocs, READ_FRAME_SIZE);
         ScoreDoc scoreDoc = null;
         int retrievedDocs = 0;
         TopDocs topDocs;
@@ -280,17 +808,62 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String cursor) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
+                                    .setCursor(cursor)
+                                    .setRegex(originalQuery.getRegex())
+                                    .setIncludePositions(originalQuery.isIncludePositions())
                                     .setMaxItems(originalQuery.getMaxItems());
     }
 
+    /**
+     * Position in search result after which next page starts. Cursor contains last retrieved document and number of documents
+     * retrieved before, it is passed to client as opaque string. Cursor is valid until index is changed, after that next page may
+     * miss or repeat some items, the same as paging with skip count does.
+     */
+    static class Cursor {
+        static Cursor parse(String cursor) throws ServerException {
+            try {
+                final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(":");
+                final ScoreDoc scoreDoc = new ScoreDoc(Integer.parseInt(parts[0]),
+                                                       Float.intBitsToFloat(Integer.parseUnsignedInt(parts[1], 16)),
+                                                       Integer.parseInt(parts[2]));
+                return new Cursor(scoreDoc, Integer.parseInt(parts[3]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+            }
+        }
+
+        private final ScoreDoc scoreDoc;
+        private final int      retrievedDocs;
+
+        Cursor(ScoreDoc scoreDoc, int retrievedDocs) {
+            this.scoreDoc = scoreDoc;
+            this.retrievedDocs = retrievedDocs;
+        }
+
+        ScoreDoc getScoreDoc() {
+            return scoreDoc;
+        }
+
+        int getRetrievedDocs() {
+            return retrievedDocs;
+        }
+
+        @Override
+        public String toString() {
+            final String cursor = scoreDoc.doc + ":" + Integer.toHexString(Float.floatToIntBits(scoreDoc.score)) + ':'
+                                  + scoreDoc.shardIndex + ':' + retrievedDocs;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+        }
+    }
+
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        enqueue(IndexOperation.add(virtualFile));
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -323,26 +896,169 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    /**
+     * Indexes content of virtual filesystem when searcher is initialized. By default all files are added in index. Implementation
+     * that keeps index between restarts may use {@link #synchronizeTree(VirtualFile)} instead.
+     */
+    protected void initTree(VirtualFile root) throws ServerException {
+        addTree(root);
+    }
+
+    /**
+     * Brings index in sync with files in the tree and re-indexes only files that were changed. File is considered as unchanged if
+     * its modification date and length are the same as stored in index, or if length is the same and hash sum of content wasn't
+     * changed, in the latter case only modification date is updated in index. Documents of files that don't exist anymore are removed
+     * from index.
+     */
+    protected void synchronizeTree(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final Map<String, Document> indexedFiles = getIndexedFiles();
+        final LinkedList<VirtualFile> q = new LinkedList<>();
+        q.add(tree);
+        int checkedFiles = 0;
+        int indexedFilesNum = 0;
+        while (!q.isEmpty()) {
+            final VirtualFile folder = q.pop();
+            if (folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        q.push(child);
+                    } else {
+                        final Document indexed = indexedFiles.remove(child.getPath().toString());
+                        if (indexed == null || isChanged(child, indexed)) {
+                            addFile(child, null);
+                            indexedFilesNum++;
+                        } else if (isModified(child, indexed)) {
+                            final String indexedHash = indexed.get("hash");
+                            final String hash = indexedHash == null ? null : HashSumsCounter.countHashSum(child, md5());
+                            if (hash == null || !hash.equals(indexedHash)) {
+                                addFile(child, hash);
+                                indexedFilesNum++;
+                            } else {
+                                updateModificationDate(child);
+                            }
+                        }
+                        checkedFiles++;
+                    }
+                }
+            }
+        }
+        final String treePrefix = tree.isRoot() ? "/" : (tree.getPath().toString() + '/');
+        try {
+            for (String removedPath : indexedFiles.keySet()) {
+                if (removedPath.startsWith(treePrefix)) {
+                    getIndexWriter().deleteDocuments(new Term("path", removedPath));
+                }
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Checked {} files from {}, re-indexed {} files, time: {} ms",
+                  checkedFiles, tree.getPath(), indexedFilesNum, (end - start));
+    }
+
+    private Map<String, Document> getIndexedFiles() throws ServerException {
+        final Map<String, Document> indexedFiles = new HashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            final NumericDocValues modified = MultiDocValues.getNumericValues(reader, "modified");
+            final Bits hasModified = MultiDocValues.getDocsWithField(reader, "modified");
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs == null || liveDocs.get(i)) {
+                    final Document document = reader.document(i);
+                    // modification date is kept in doc values which may be updated without re-indexing of file,
+                    // documents without it are considered as changed
+                    document.removeField("modified");
+                    if (modified != null && hasModified != null && hasModified.get(i)) {
+                        document.add(new StoredField("modified", modified.get(i)));
+                    }
+                    indexedFiles.put(document.get("path"), document);
+                }
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+        return indexedFiles;
+    }
+
+    /** Stores new modification date of file which content wasn't changed. */
+    private void updateModificationDate(VirtualFile virtualFile) throws ServerException {
+        try {
+            getIndexWriter().updateNumericDocValue(new Term("path", virtualFile.getPath().toString()),
+                                                   "modified",
+                                                   virtualFile.getLastModificationDate());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /** Checks whether length of file differs from the indexed one or indexed document misses fields. */
+    private boolean isChanged(VirtualFile virtualFile, Document indexed) {
+        final IndexableField modified = indexed.getField("modified");
+        final IndexableField length = indexed.getField("length");
+        if (modified == null || length == null || length.numericValue().longValue() != virtualFile.getLength()) {
+            return true;
+        }
+        if (trigramIndexEnabled && indexed.getField("trigrams") == null && shouldIndexContent(virtualFile)) {
+            // indexed before trigram index was enabled
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isModified(VirtualFile virtualFile, Document indexed) {
+        return indexed.getField("modified").numericValue().longValue() != virtualFile.getLastModificationDate();
+    }
+
+    /**
+     * Returns {@code true} if hash sum of content of indexed files should be stored in index. Hash sum allows avoid re-indexing of
+     * files which modification date was changed but content was not, see {@link #synchronizeTree(VirtualFile)}.
+     */
+    protected boolean shouldStoreContentHash() {
+        return false;
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
+        addFile(virtualFile, null);
+    }
+
+    /**
+     * Adds file to index.
+     *
+     * @param contentHash
+     *         hash sum of file content if it is already counted, or {@code null}
+     */
+    private void addFile(VirtualFile virtualFile, String contentHash) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+            try {
+                getIndexWriter().updateDocument(new Term("path", virtualFile.getPath().toString()),
+                                                createDocument(virtualFile, readIndexedContent(virtualFile), contentHash));
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
             } catch (IOException e) {
                 throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
             }
         }
     }
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        enqueue(IndexOperation.delete(path, isFile));
+    }
+
+    protected void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -361,35 +1077,78 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        enqueue(IndexOperation.update(virtualFile));
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        try {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, readIndexedContent(virtualFile), null));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads content of file which should be added in index, content is read once and shared by all fields of document.
+     *
+     * @return content of file or {@code null} if content of file should not be indexed or file is bigger than
+     * {@link #MAX_CONTENT_SIZE}
+     */
+    private byte[] readIndexedContent(VirtualFile virtualFile) throws ServerException {
+        if (!shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        // file might grow after its length was checked, read one byte more than allowed to find it out
+        try (InputStream content = ByteStreams.limit(virtualFile.getContent(), MAX_CONTENT_SIZE + 1)) {
+            final byte[] bytes = ByteStreams.toByteArray(content);
+            if (bytes.length > MAX_CONTENT_SIZE) {
+                LOG.debug("Skip indexing content of file {}, its size exceeds limit", virtualFile.getPath());
+                return null;
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
         } catch (ForbiddenException e) {
             throw new ServerException(e.getServiceError());
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    /**
+     * Creates document of file.
+     *
+     * @param content
+     *         content of file or {@code null} if content should not be indexed
+     * @param contentHash
+     *         hash sum of file content if it is already counted, or {@code null}
+     */
+    protected Document createDocument(VirtualFile virtualFile, byte[] content, String contentHash) {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
-        if (reader != null) {
-            doc.add(new TextField("text", reader));
+        doc.add(new NumericDocValuesField("modified", virtualFile.getLastModificationDate()));
+        doc.add(new StoredField("length", virtualFile.getLength()));
+        if (content != null) {
+            final String text = new String(content, Charset.defaultCharset());
+            doc.add(new TextField("text", text, Field.Store.NO));
+            if (trigramIndexEnabled) {
+                doc.add(new TextField(RegexTrigrams.FIELD, text, Field.Store.NO));
+                doc.add(new StoredField("trigrams", 1));
+            }
+            if (shouldStoreContentHash()) {
+                doc.add(new StoredField("hash", contentHash != null ? contentHash : md5().hashBytes(content).toString()));
+            }
         }
         return doc;
     }
 
+    /** Checks whether content of file should be indexed, content of files bigger than {@link #MAX_CONTENT_SIZE} isn't indexed. */
     private boolean shouldIndexContent(VirtualFile virtualFile) {
+        if (virtualFile.getLength() > MAX_CONTENT_SIZE) {
+            return false;
+        }
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
                 return false;
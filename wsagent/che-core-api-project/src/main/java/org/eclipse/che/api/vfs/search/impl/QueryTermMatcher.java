@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks whether analyzed token of file content matches any term of text query. Used for finding positions of searched text in files
+ * found by lucene. Only term, phrase, prefix and wildcard queries are supported, other queries and prohibited clauses are ignored.
+ */
+class QueryTermMatcher {
+    private final String                      field;
+    private final Set<String>                 terms;
+    private final List<String>                prefixes;
+    private final List<CharacterRunAutomaton> wildcards;
+
+    QueryTermMatcher(Query query, String field) {
+        this.field = field;
+        terms = new HashSet<>();
+        prefixes = new ArrayList<>();
+        wildcards = new ArrayList<>();
+        collect(query);
+    }
+
+    boolean matches(String token) {
+        if (terms.contains(token)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (CharacterRunAutomaton wildcard : wildcards) {
+            if (wildcard.run(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return terms.isEmpty() && prefixes.isEmpty() && wildcards.isEmpty();
+    }
+
+    private void collect(Query query) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collect(clause.getQuery());
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            addTerm(((TermQuery)query).getTerm());
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                addTerm(term);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            if (field.equals(prefix.field())) {
+                prefixes.add(prefix.text());
+            }
+        } else if (query instanceof WildcardQuery) {
+            final Term wildcard = ((WildcardQuery)query).getTerm();
+            if (field.equals(wildcard.field())) {
+                wildcards.add(new CharacterRunAutomaton(WildcardQuery.toAutomaton(wildcard)));
+            }
+        }
+    }
+
+    private void addTerm(Term term) {
+        if (field.equals(term.field())) {
+            terms.add(term.text());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts trigrams that must be present in any text matched by regular expression. Trigrams are used for selecting files that
+ * might contain matches before running regular expression over content of files.
+ * <p/>
+ * Extraction is conservative: only literal sequences outside of groups and character classes are taken in account, characters
+ * followed by optional quantifiers are skipped and expressions with alternation or with enabled {@link Pattern#COMMENTS} flag, which
+ * makes white spaces and comments in literals meaningless, produce no trigrams at all. Trigrams are lower-cased in the same way as in
+ * index, so found files are superset of files matched by regular expression regardless of case sensitivity.
+ */
+class RegexTrigrams {
+    static final String FIELD = "trigram";
+
+    private static final String  HEX_DIGITS    = "0123456789abcdefABCDEF";
+    /** Inline flags that enable comments mode, e.g. {@code (?x)}, {@code (?ix)} or {@code (?x:...)}. */
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z]*x");
+
+    private RegexTrigrams() {
+    }
+
+    /**
+     * Creates query that matches files which contain all trigrams required by regular expression or {@code null} if no trigrams may
+     * be extracted from the expression and all files should be checked.
+     */
+    static Query createQuery(String regex) {
+        final Set<String> trigrams = extractTrigrams(regex);
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        final BooleanQuery query = new BooleanQuery();
+        for (String trigram : trigrams) {
+            query.add(new TermQuery(new Term(FIELD, trigram)), BooleanClause.Occur.MUST);
+        }
+        return query;
+    }
+
+    static Set<String> extractTrigrams(String regex) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (String literal : extractLiterals(regex)) {
+            final String lowerCaseLiteral = literal.toLowerCase(Locale.ENGLISH);
+            for (int i = 0; i + 3 <= lowerCaseLiteral.length(); i++) {
+                trigrams.add(lowerCaseLiteral.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    static List<String> extractLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        if (regex.indexOf('|') >= 0 || COMMENTS_FLAG.matcher(regex).find()) {
+            return literals;
+        }
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        i++;
+                        break;
+                    }
+                    final char escaped = regex.charAt(i + 1);
+                    if (escaped == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        if (end < 0) {
+                            end = regex.length();
+                        }
+                        literal.append(regex, i + 2, end);
+                        i = end + 2;
+                    } else if (Character.isLetterOrDigit(escaped)) {
+                        // character class (\d, \p{Lu}), boundary (\b), back reference (\1, \k<name>) or escaped character (\x41, \t),
+                        // it is not taken in account even if it denotes single character
+                        addLiteral(literals, literal);
+                        i = skipEscape(regex, i);
+                    } else {
+                        literal.append(escaped);
+                        i += 2;
+                    }
+                    break;
+                case '*':
+                case '?':
+                case '{':
+                    // previous character may be absent in matched text
+                    if (literal.length() > 0) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    addLiteral(literals, literal);
+                    i = c == '{' ? skipTo(regex, i, '}') : i + 1;
+                    break;
+                case '+':
+                    addLiteral(literals, literal);
+                    i++;
+                    break;
+                case '[':
+                    addLiteral(literals, literal);
+                    i = skipCharacterClass(regex, i);
+                    break;
+                case '(':
+                    addLiteral(literals, literal);
+                    i = skipGroup(regex, i);
+                    if (i < regex.length() && (regex.charAt(i) == '*' || regex.charAt(i) == '?' || regex.charAt(i) == '{')) {
+                        i = regex.charAt(i) == '{' ? skipTo(regex, i, '}') : i + 1;
+                    }
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                case ')':
+                    addLiteral(literals, literal);
+                    i++;
+                    break;
+                default:
+                    literal.append(c);
+                    i++;
+            }
+        }
+        addLiteral(literals, literal);
+        return literals;
+    }
+
+    private static void addLiteral(List<String> literals, StringBuilder literal) {
+        if (literal.length() >= 3) {
+            literals.add(literal.toString());
+        }
+        literal.setLength(0);
+    }
+
+    /** Returns index of character that follows escape sequence started with backslash at given index and followed by letter or digit. */
+    private static int skipEscape(String regex, int from) {
+        final int i = from + 2;
+        switch (regex.charAt(from + 1)) {
+            case 'x':
+                return i < regex.length() && regex.charAt(i) == '{' ? skipTo(regex, i, '}') : skipChars(regex, i, 2, HEX_DIGITS);
+            case 'u':
+                return skipChars(regex, i, 4, HEX_DIGITS);
+            case '0':
+                return skipChars(regex, i, 3, "01234567");
+            case 'c':
+                return Math.min(i + 1, regex.length());
+            case 'k':
+                return i < regex.length() && regex.charAt(i) == '<' ? skipTo(regex, i, '>') : i;
+            case 'p':
+            case 'P':
+            case 'N':
+                if (i < regex.length() && regex.charAt(i) == '{') {
+                    return skipTo(regex, i, '}');
+                }
+                return Math.min(i + 1, regex.length());
+            default:
+                // back reference may consist of several digits
+                return Character.isDigit(regex.charAt(from + 1)) ? skipChars(regex, i, Integer.MAX_VALUE, "0123456789") : i;
+        }
+    }
+
+    private static int skipChars(String regex, int from, int maxCount, String chars) {
+        int i = from;
+        while (i < regex.length() && i - from < maxCount && chars.indexOf(regex.charAt(i)) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipTo(String regex, int from, char c) {
+        final int end = regex.indexOf(c, from);
+        return end < 0 ? regex.length() : end + 1;
+    }
+
+    private static int skipCharacterClass(String regex, int from) {
+        int i = from + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipGroup(String regex, int from) {
+        int i = from + 1;
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
+}
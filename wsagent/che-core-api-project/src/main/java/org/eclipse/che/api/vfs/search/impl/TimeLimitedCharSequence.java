@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+/**
+ * Wraps text which is checked with regular expression and stops matching when time is over. {@link java.util.regex.Matcher} can't
+ * be interrupted, but it reads text via {@link #charAt(int)}, so reading text after deadline fails with {@link TimeoutException}.
+ * That bounds time of matching for expressions with catastrophic backtracking.
+ */
+class TimeLimitedCharSequence implements CharSequence {
+    /** Number of reads between checks of current time. */
+    private static final int CHECK_INTERVAL = 1000;
+
+    private final CharSequence text;
+    private final long         deadline;
+
+    private int reads;
+
+    /**
+     * @param text
+     *         text to wrap
+     * @param timeoutMs
+     *         time in milliseconds after which reading text fails
+     */
+    TimeLimitedCharSequence(CharSequence text, long timeoutMs) {
+        this(text, System.currentTimeMillis() + timeoutMs, 0);
+    }
+
+    private TimeLimitedCharSequence(CharSequence text, long deadline, int reads) {
+        this.text = text;
+        this.deadline = deadline;
+        this.reads = reads;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++reads >= CHECK_INTERVAL) {
+            reads = 0;
+            if (System.currentTimeMillis() > deadline) {
+                throw new TimeoutException();
+            }
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new TimeLimitedCharSequence(text.subSequence(start, end), deadline, reads);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    /** Thrown when text is read after deadline. */
+    static class TimeoutException extends RuntimeException {
+        TimeoutException() {
+            super("Time limit of reading text is exceeded");
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.core.util.PagingUtil;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
@@ -885,6 +886,38 @@ public class ProjectServiceTest {
         assertEquals(new String(writer.getBody()), myContent);
     }
 
+    @Test
+    public void testGetFileContentRange() throws Exception {
+        String myContent = "to be or not to be";
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", myContent.getBytes(Charset.defaultCharset()));
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Range", singletonList("bytes=3-7"));
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", headers, null, writer, null);
+        assertEquals(response.getStatus(), 206, "Error: " + response.getEntity());
+        assertEquals(response.getHttpHeaders().getFirst("Content-Range").toString(), "bytes 3-7/18");
+        assertEquals(new String(writer.getBody()), "be or");
+    }
+
+    @Test
+    public void testGetNotModifiedFileContent() throws Exception {
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", "to be or not to be".getBytes(Charset.defaultCharset()));
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Object entityTag = response.getHttpHeaders().getFirst("ETag");
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", singletonList(entityTag.toString()));
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/file/my_project/test.txt",
+                                    "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 304);
+    }
+
     @Test
     public void testUpdateFileContent() throws Exception {
         String myContent = "<test>hello</test>";
@@ -1926,6 +1959,58 @@ public class ProjectServiceTest {
                             });
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchReturnsLinkToNextPage() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("b").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+
+        Set<String> paths = new LinkedHashSet<>();
+        String next = "http://localhost:8080/api/project/search/my_project?name=test.txt&maxItems=2";
+        int pages = 0;
+        while (next != null) {
+            ContainerResponse response = launcher.service(GET, next, "http://localhost:8080/api", null, null, null);
+            assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+            paths.addAll(((List<ItemReference>)response.getEntity()).stream().map(ItemReference::getPath).collect(Collectors.toList()));
+            Object link = response.getHttpHeaders().getFirst("Link");
+            next = link == null ? null : PagingUtil.parseLinkHeader(link.toString()).get("next");
+            pages++;
+        }
+
+        assertEquals(pages, 2);
+        assertEquals(paths, new HashSet<>(Arrays.asList("/my_project/a/test.txt", "/my_project/b/test.txt", "/my_project/c/test.txt")));
+    }
+
+    @Test
+    public void testSearchReturnsAllItemsIfMaxItemsIsNotLimited() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("b").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?name=test.txt&maxItems=-1",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Assert.assertNull(response.getHttpHeaders().getFirst("Link"));
+        List<ItemReference> result = DtoFactory.getInstance().createListDtoFromJson(new String(writer.getBody()), ItemReference.class);
+        assertEquals(result.stream().map(ItemReference::getPath).collect(Collectors.toSet()),
+                     new HashSet<>(Arrays.asList("/my_project/a/test.txt", "/my_project/b/test.txt", "/my_project/c/test.txt")));
+    }
+
+    @Test
+    public void testSearchRejectsInvalidMaxItems() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?name=test.txt&maxItems=0",
+                                                      "http://localhost:8080/api", null, null, null);
+
+        assertEquals(response.getStatus(), 409);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchFromWSRoot() throws Exception {
@@ -20,6 +20,8 @@ import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -27,6 +29,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
@@ -45,6 +49,41 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void countsHashSumsInParallelAndStreamsThemToConsumer() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileBA = mockFile("/a/b/file", "file2".getBytes());
+        VirtualFile fileBB = mockFile("/a/b/file2", "file3".getBytes());
+        VirtualFile folderB = mockFolder("/a/b", fileBA, fileBB);
+        VirtualFile folderA = mockFolder("/a", folderB, fileAB);
+        Set<Pair<String, String>> expected = newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file"),
+                                                        Pair.of(countMd5Sum("file2".getBytes()), "b/file"),
+                                                        Pair.of(countMd5Sum("file3".getBytes()), "b/file2"));
+
+        Set<Pair<String, String>> hashSums = ConcurrentHashMap.newKeySet();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new HashSumsCounter(folderA, Hashing.md5(), pool, null).countHashSums(hashSums::add);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected, hashSums);
+    }
+
+    @Test
+    public void takesHashSumsOfNotModifiedFilesFromCache() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile folderA = mockFolder("/a", fileAB);
+        HashSumsCache cache = new HashSumsCache(10);
+        Set<Pair<String, String>> expected = newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file"));
+
+        assertEquals(expected, newHashSet(new HashSumsCounter(folderA, Hashing.md5(), null, cache).countHashSums()));
+        assertEquals(expected, newHashSet(new HashSumsCounter(folderA, Hashing.md5(), null, cache).countHashSums()));
+
+        verify(fileAB, times(1)).getContent();
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
@@ -55,6 +94,8 @@ public class HashSumsCounterTest {
         when(file.getPath()).thenReturn(Path.of(path));
         when(file.toString()).thenReturn(path);
         when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+        when(file.getLength()).thenReturn((long)content.length);
+        when(file.getLastModificationDate()).thenReturn(1000L);
         accept(file);
         return file;
     }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput of {@link PathLockFactory} with single lock table, which is how it worked before locks were striped, and with
+ * default number of tables. Each operation acquires and releases lock of random file of random project, one of ten locks is exclusive.
+ * <p/>
+ * Run from IDE or with test classpath: {@code java -cp ... org.eclipse.che.api.vfs.PathLockFactoryBenchmark}. Benchmark is executed
+ * with 1, 2, 4, 8, 16, 32 and 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathLockFactoryBenchmark {
+    private static final int PROJECTS          = 32;
+    private static final int FILES_PER_PROJECT = 64;
+
+    @Param({"1", "16"})
+    public int stripes;
+
+    private PathLockFactory pathLockFactory;
+    private Path[]          paths;
+
+    @Setup
+    public void setUp() {
+        pathLockFactory = new PathLockFactory(100, stripes);
+        paths = new Path[PROJECTS * FILES_PER_PROJECT];
+        for (int i = 0; i < PROJECTS; i++) {
+            for (int j = 0; j < FILES_PER_PROJECT; j++) {
+                paths[i * FILES_PER_PROJECT + j] = Path.of("/project" + i + "/src/file" + j);
+            }
+        }
+    }
+
+    @Benchmark
+    public void acquireAndRelease() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(paths[random.nextInt(paths.length)], random.nextInt(10) == 0);
+        lock.acquire();
+        lock.release();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            Options options = new OptionsBuilder().include(PathLockFactoryBenchmark.class.getSimpleName())
+                                                  .threads(threads)
+                                                  .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import junit.framework.TestCase;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -236,4 +237,58 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testRootLockConflictsWithLocksOfAllPaths() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.ROOT, true).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        for (String other : new String[]{"/a", "/b/c", "/d/e/f", "/g"}) {
+            try {
+                pathLockFactory.getLock(Path.of(other), false).acquire(100);
+                fail();
+            } catch (RuntimeException e) {
+                // OK
+            }
+        }
+        finisher.countDown();
+        t.join();
+        pathLockFactory.getLock(Path.of("/a"), true).acquire(1000).release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testWaitingForRootLockDoesNotBlockOtherPaths() throws Exception {
+        // with two tables "/b" is in the first table and "/a" is in the second one
+        final PathLockFactory lockFactory = new PathLockFactory(maxThreads, 2);
+        final PathLockFactory.PathLock lockA = lockFactory.getLock(Path.of("/a"), true).acquire();
+        final CountDownLatch rootAcquired = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                lockFactory.getLock(Path.ROOT, true).acquire(5000).release();
+                rootAcquired.countDown();
+            }
+        };
+        t.start();
+        Thread.sleep(100);
+        // root lock must not be held in the first table while thread waits for the second one
+        lockFactory.getLock(Path.of("/b"), true).acquire(1000).release();
+        lockA.release();
+        assertTrue(rootAcquired.await(5, TimeUnit.SECONDS));
+        t.join();
+        lockFactory.checkClean();
+    }
 }
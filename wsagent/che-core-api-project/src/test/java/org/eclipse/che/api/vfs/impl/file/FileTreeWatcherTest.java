@@ -161,6 +161,28 @@ public class FileTreeWatcherTest {
         assertEquals(newHashSet(directory, file), newHashSet(createdEvents.getAllValues()));
     }
 
+    @Test
+    public void countsWatchedDirectoriesAndFiredEvents() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+        assertEquals(2, fileWatcher.getWatchCount());
+
+        fileWatcherTestTree.createDirectory("");
+        fileWatcherTestTree.createFile("watched");
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        assertEquals(3, fileWatcher.getWatchCount());
+        assertEquals(0, fileWatcher.getQueueDepth());
+        assertTrue(fileWatcher.getFiredEventsCount() >= 2);
+    }
+
     @Test
     public void watchesUpdate() throws Exception {
         fileWatcherTestTree.createDirectory("", "watched");
@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -23,6 +24,8 @@ import org.junit.Test;
 
 import java.io.File;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -64,4 +67,23 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void keepsCachedPropertiesOfOtherItemsWhenItemDeleted() throws Exception {
+        assertTrue(testDirectory.mkdirs());
+        VirtualFile folder = fileSystem.getRoot().createFolder("folder");
+        folder.createFile("file", "content").setProperty("property1", "value1");
+        VirtualFile sibling = fileSystem.getRoot().createFile("sibling", "content");
+        sibling.setProperty("property1", "value1");
+
+        sibling.getProperties();
+        long hitCount = fileSystem.getMetadataCacheStats().hitCount();
+        long missCount = fileSystem.getMetadataCacheStats().missCount();
+
+        folder.delete();
+
+        assertEquals("value1", sibling.getProperties().get("property1"));
+        assertEquals(hitCount + 1, fileSystem.getMetadataCacheStats().hitCount());
+        assertEquals(missCount, fileSystem.getMetadataCacheStats().missCount());
+    }
+}
@@ -12,6 +12,9 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.MultiDocValues;
+import org.apache.lucene.store.FSDirectory;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
@@ -307,6 +310,63 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void keepsIndexDirectoryAfterClosingPersistentSearcher() throws Exception {
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem());
+
+        searcher.close();
+
+        assertTrue(indexDirectory.exists());
+        verify(closeCallback).onClose();
+    }
+
+    @Test
+    public void synchronizesPersistentIndexWithChangedFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile updated = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile removed = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        updated.updateContent(TEST_CONTENT[1]);
+        removed.delete();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("should")).getFilePaths());
+        assertEquals(newArrayList("/folder/zzz.txt"), searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+    }
+
+    @Test
+    public void updatesModificationDateOfFileWithUnchangedContentInPersistentIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        final long indexedModificationDate = file.getLastModificationDate();
+        while (file.getLastModificationDate() == indexedModificationDate) {
+            Thread.sleep(1);
+            file.updateContent(TEST_CONTENT[2]);
+        }
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        try (DirectoryReader reader = DirectoryReader.open(FSDirectory.open(indexDirectory.toPath()))) {
+            assertEquals(file.getLastModificationDate(), MultiDocValues.getNumericValues(reader, "modified").get(0));
+        }
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
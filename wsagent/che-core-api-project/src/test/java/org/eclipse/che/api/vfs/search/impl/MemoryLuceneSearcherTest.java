@@ -17,6 +17,7 @@ import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
@@ -25,11 +26,13 @@ import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -284,6 +287,190 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesSearchResultWithPagesUsingCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> allPaths = newArrayList();
+        QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(10);
+        SearchResult page;
+        do {
+            page = searcher.search(query);
+            assertTrue(page.getFilePaths().size() <= 10);
+            allPaths.addAll(page.getFilePaths());
+            if (page.getNextPageQueryExpression().isPresent()) {
+                query = page.getNextPageQueryExpression().get();
+                assertNotNull(query.getCursor());
+            }
+        } while (page.getNextPageQueryExpression().isPresent());
+
+        assertEquals(25, allPaths.size());
+        assertEquals(25, new HashSet<>(allPaths).size());
+    }
+
+    @Test
+    public void returnsMoreThanThousandItemsWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 1200; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%04d", i), TEST_CONTENT[0]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(1500));
+
+        assertEquals(1200, result.getFilePaths().size());
+        assertFalse(result.getNextPageQueryExpression().isPresent());
+    }
+
+    @Test
+    public void streamsAllMatchedItemsToConsumer() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 1200; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%04d", i), TEST_CONTENT[i % 2]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        int delivered = searcher.search(new QueryExpression().setText("should"), entry -> paths.add(entry.getFilePath()));
+
+        assertEquals(600, delivered);
+        assertEquals(600, new HashSet<>(paths).size());
+    }
+
+    @Test
+    public void providesLineNumbersAndOffsetsOfMatchesWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[1] + "\n" + TEST_CONTENT[0] + "\n" + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("*stone* be").setIncludePositions(true));
+
+        List<OffsetData> data = result.getResults().get(0).getData();
+        assertEquals(3, data.size());
+        assertEquals("milestones", data.get(0).getPhrase());
+        assertEquals(2, data.get(0).getLineNumber());
+        assertEquals(TEST_CONTENT[0], data.get(0).getLine());
+        int startOffset = TEST_CONTENT[1].length() + 1 + TEST_CONTENT[0].indexOf("milestones");
+        assertEquals(startOffset, data.get(0).getStartOffset());
+        assertEquals(startOffset + "milestones".length(), data.get(0).getEndOffset());
+        assertEquals(3, data.get(1).getLineNumber());
+        assertEquals(3, data.get(2).getLineNumber());
+    }
+
+    @Test
+    public void doesNotProvidePositionsOfMatchesByDefault() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertTrue(result.getResults().get(0).getData().isEmpty());
+    }
+
+    @Test
+    public void searchesByRegex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setRegex("[0-9]{4}, direct")).getFilePaths();
+
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegexWithTrigramIndex() throws Exception {
+        searcher.setTrigramIndexEnabled(true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0].replace("human", "Human"));
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setRegex("major human spaceflight").setIncludePositions(true));
+
+        assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+        OffsetData offsetData = result.getResults().get(0).getData().get(0);
+        assertEquals(TEST_CONTENT[0].indexOf("major"), offsetData.getStartOffset());
+        assertEquals(1, offsetData.getLineNumber());
+    }
+
+    @Test
+    public void retrievesRegexSearchResultWithPages() throws Exception {
+        searcher.setTrigramIndexEnabled(true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setRegex("to be$").setMaxItems(20));
+        assertEquals(20, firstPage.getFilePaths().size());
+
+        SearchResult lastPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertEquals(5, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void coalescesPendingOperationsForTheSamePath() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
+
+        searcher.add(file);
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+
+        assertEquals(1, searcher.getPendingOperationsCount());
+        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newArrayList(file.getPath().toString()), paths);
+        assertEquals(0, searcher.getPendingOperationsCount());
+        assertEquals(1, searcher.getAppliedOperationsCount());
+    }
+
+    @Test
+    public void discardsPendingOperationsForChildrenWhenFolderDeleted() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        searcher.add(folder.createFile("xxx.txt", TEST_CONTENT[2]));
+        searcher.add(folder.createFile("zzz.txt", TEST_CONTENT[1]));
+
+        searcher.delete("/folder", false);
+
+        assertEquals(1, searcher.getPendingOperationsCount());
+        searcher.flush();
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+    }
+
+    @Test
+    public void flushesPendingOperationsWhenLimitReached() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        searcher.setMaxPendingOperations(2);
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+
+        searcher.add(folder.createFile("xxx.txt", TEST_CONTENT[2]));
+        assertEquals(1, searcher.getPendingOperationsCount());
+        searcher.add(folder.createFile("zzz.txt", TEST_CONTENT[1]));
+
+        assertEquals(0, searcher.getPendingOperationsCount());
+        assertEquals(0, searcher.getIndexLagMillis());
+        assertEquals(2, searcher.getAppliedOperationsCount());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
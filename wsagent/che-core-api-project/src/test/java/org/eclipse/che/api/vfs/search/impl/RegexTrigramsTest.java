@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RegexTrigramsTest {
+    @Test
+    public void extractsTrigramsFromLiteral() throws Exception {
+        assertEquals(newLinkedHashSet(newArrayList("mis", "iss", "ssi", "sio", "ion")), RegexTrigrams.extractTrigrams("Mission"));
+    }
+
+    @Test
+    public void extractsLiteralsSeparatedWithMetaCharacters() throws Exception {
+        assertEquals(newArrayList("public", "class "), RegexTrigrams.extractLiterals("^public\\s+class [A-Z]\\w*"));
+    }
+
+    @Test
+    public void skipsCharacterFollowedByOptionalQuantifier() throws Exception {
+        assertEquals(newArrayList("colo", "name"), RegexTrigrams.extractLiterals("colou?r.*names?"));
+    }
+
+    @Test
+    public void skipsGroupsAndCharacterClasses() throws Exception {
+        assertEquals(newArrayList("def", "xyz"), RegexTrigrams.extractLiterals("(abc)?def[ghi]+xyz"));
+    }
+
+    @Test
+    public void extractsQuotedSubstring() throws Exception {
+        assertEquals(newArrayList("a.b(c)"), RegexTrigrams.extractLiterals(Pattern.quote("a.b(c)")));
+        assertEquals(newArrayList("a.b"), RegexTrigrams.extractLiterals("a\\.b"));
+    }
+
+    @Test
+    public void extractsNothingFromAlternation() throws Exception {
+        assertTrue(RegexTrigrams.extractLiterals("apollo|nasa").isEmpty());
+        assertNull(RegexTrigrams.createQuery("apollo|nasa"));
+    }
+
+    @Test
+    public void extractsNothingInCommentsMode() throws Exception {
+        assertTrue(RegexTrigrams.extractLiterals("(?x)a p o l l o  # comment").isEmpty());
+        assertTrue(RegexTrigrams.extractLiterals("(?ix:a p o l l o)").isEmpty());
+        assertNull(RegexTrigrams.createQuery("(?x)a p o l l o"));
+        assertEquals(newArrayList("apollo"), RegexTrigrams.extractLiterals("(?i-x)apollo"));
+    }
+
+    @Test
+    public void endsLiteralAtHexadecimalEscape() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\x41def"));
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\x{1F600}def"));
+    }
+
+    @Test
+    public void endsLiteralAtUnicodeEscape() throws Exception {
+        assertEquals(newArrayList("caf", "abc"), RegexTrigrams.extractLiterals("caf\\u00e9abc"));
+    }
+
+    @Test
+    public void endsLiteralAtOctalEscape() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\0101def"));
+    }
+
+    @Test
+    public void endsLiteralAtControlCharacterEscape() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\cMdef"));
+    }
+
+    @Test
+    public void endsLiteralAtNamedBackReference() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("(?<name>x)abc\\k<name>def"));
+    }
+
+    @Test
+    public void endsLiteralAtNumberedBackReference() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("(x)abc\\12def"));
+    }
+
+    @Test
+    public void endsLiteralAtUnicodePropertyEscape() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\p{Lu}def"));
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\PLdef"));
+    }
+
+    @Test
+    public void endsLiteralAtCharacterClassEscape() throws Exception {
+        assertEquals(newArrayList("abc", "def"), RegexTrigrams.extractLiterals("abc\\tdef"));
+    }
+
+    @Test
+    public void extractedTrigramsArePresentInMatchedText() throws Exception {
+        final String[][] regexAndText = {{"abc\\x41def", "abcAdef"},
+                                         {"caf\\u00e9abc", "caf\u00e9abc"},
+                                         {"abc\\0101def", "abcAdef"},
+                                         {"abc\\cMdef", "abc\rdef"},
+                                         {"(?<name>x)abc\\k<name>def", "xabcxdef"},
+                                         {"abc\\p{Lu}def", "abcXdef"}};
+        for (String[] pair : regexAndText) {
+            assertTrue(pair[0], Pattern.compile(pair[0]).matcher(pair[1]).find());
+            for (String trigram : RegexTrigrams.extractTrigrams(pair[0])) {
+                assertTrue(pair[0] + " -> " + trigram, pair[1].toLowerCase().contains(trigram));
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.base.Strings;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+
+public class TimeLimitedCharSequenceTest {
+    @Test
+    public void matchesTextWithinTimeLimit() throws Exception {
+        assertTrue(Pattern.compile("b+c").matcher(new TimeLimitedCharSequence("aaabbbccc", 10000)).find());
+    }
+
+    @Test(expected = TimeLimitedCharSequence.TimeoutException.class, timeout = 10000)
+    public void stopsMatchingWithCatastrophicBacktrackingAfterTimeout() throws Exception {
+        final String text = Strings.repeat("a", 54);
+
+        Pattern.compile("(.*a){12}b").matcher(new TimeLimitedCharSequence(text, 100)).find();
+    }
+}
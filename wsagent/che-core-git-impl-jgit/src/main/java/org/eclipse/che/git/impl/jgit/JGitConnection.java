@@ -253,11 +253,22 @@ class JGitConnection implements GitConnection {
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
     private final Repository        repository;
+    private final Runnable          repositoryReleaser;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
                    GitUserResolver userResolver) {
+        this(repository, repository::close, credentialsLoader, sshKeyProvider, userResolver);
+    }
+
+    /**
+     * @param repositoryReleaser
+     *         invoked instead of closing of repository when connection is closed, allows to share repository between connections
+     */
+    JGitConnection(Repository repository, Runnable repositoryReleaser, CredentialsLoader credentialsLoader,
+                   SshKeyProvider sshKeyProvider, GitUserResolver userResolver) {
         this.repository = repository;
+        this.repositoryReleaser = repositoryReleaser;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
@@ -587,6 +598,8 @@ class JGitConnection implements GitConnection {
 
     @Override
     public DiffPage diff(DiffParams params) throws GitException {
+        // diff page closes repository when it is written, so it must not close repository shared with other connections
+        repository.incrementOpen();
         return new JGitDiffPage(params, repository);
     }
 
@@ -1551,7 +1564,7 @@ class JGitConnection implements GitConnection {
 
     @Override
     public void close() {
-        repository.close();
+        repositoryReleaser.run();
     }
 
     @Override
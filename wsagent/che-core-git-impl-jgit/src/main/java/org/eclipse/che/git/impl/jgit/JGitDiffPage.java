@@ -41,6 +41,7 @@ import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.System.lineSeparator;
 
@@ -51,24 +52,41 @@ import static java.lang.System.lineSeparator;
  * @author Andrey Parfonov
  */
 class JGitDiffPage extends DiffPage {
-    private final DiffParams params;
-    private final Repository repository;
+    private final DiffParams    params;
+    private final Repository    repository;
+    private final AtomicBoolean released;
 
+    /**
+     * @param repository
+     *         repository which is closed once diff is written, so caller must open it for this page
+     */
     JGitDiffPage(DiffParams params, Repository repository) {
         this.params = params;
         this.repository = repository;
+        this.released = new AtomicBoolean();
     }
 
     @Override
     public final void writeTo(OutputStream out) throws IOException {
-        DiffFormatter formatter = new DiffFormatter(new BufferedOutputStream(out));
-        formatter.setRepository(repository);
-        List<String> rawFileFilter = params.getFileFilter();
-        TreeFilter pathFilter = (rawFileFilter != null && rawFileFilter.size() > 0)
-                                ? PathFilterGroup.createFromStrings(rawFileFilter) : TreeFilter.ALL;
-        formatter.setPathFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF, pathFilter));
+        // repository is opened for this page, so it must be closed even if diff can't be prepared, e.g. file filter is invalid
+        try {
+            writeDiff(out);
+        } finally {
+            if (released.compareAndSet(false, true)) {
+                repository.close();
+            }
+        }
+    }
 
+    private void writeDiff(OutputStream out) throws IOException {
+        DiffFormatter formatter = new DiffFormatter(new BufferedOutputStream(out));
         try {
+            formatter.setRepository(repository);
+            List<String> rawFileFilter = params.getFileFilter();
+            TreeFilter pathFilter = (rawFileFilter != null && rawFileFilter.size() > 0)
+                                    ? PathFilterGroup.createFromStrings(rawFileFilter) : TreeFilter.ALL;
+            formatter.setPathFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF, pathFilter));
+
             String commitA = params.getCommitA();
             String commitB = params.getCommitB();
             boolean cached = params.isCached();
@@ -94,7 +112,6 @@ class JGitDiffPage extends DiffPage {
             }
         } finally {
             formatter.close();
-            repository.close();
         }
     }
 
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.inject.Inject;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Keeps opened repositories, so git operations on the same working directory don't re-read configuration, references and pack
+ * indexes of repository each time.
+ *
+ * <p>Repositories are shared between connections, each connection holds a {@link Lease} and releases it when connection is closed.
+ * Repository which is not used by any connection for {@value #IDLE_TIMEOUT_MS_PROPERTY} is closed and removed from the cache.
+ * Caching may be disabled by setting this property to 0.
+ *
+ * <p>Cached repository is replaced with a new one when {@code .git} directory is removed or re-created, e.g. by clone or init of
+ * repository in the same directory. Repositories which {@code .git} directory doesn't exist yet are not cached. Changes of
+ * configuration, references and packs inside of {@code .git} directory are detected by JGit itself.
+ */
+@Singleton
+public class JGitRepositoryCache {
+    public static final String IDLE_TIMEOUT_MS_PROPERTY = "che.git.repository_cache_idle_ms";
+
+    @Inject(optional = true)
+    @Named(IDLE_TIMEOUT_MS_PROPERTY)
+    private long idleTimeoutMs = MINUTES.toMillis(5);
+
+    private final ConcurrentMap<File, Entry> entries;
+    private final AtomicLong                 lastEviction;
+    private final AtomicLong                 hits;
+    private final AtomicLong                 misses;
+
+    public JGitRepositoryCache() {
+        this.entries = new ConcurrentHashMap<>();
+        this.lastEviction = new AtomicLong(System.currentTimeMillis());
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Gets repository located in the given {@code .git} directory, opens repository if it isn't cached yet.
+     * Returned lease must be released when repository is not needed anymore.
+     *
+     * @param gitDir
+     *         {@code .git} directory of repository
+     * @throws IOException
+     *         when repository can't be opened
+     */
+    public Lease acquire(File gitDir) throws IOException {
+        evictIdleIfNeeded();
+        final Object stamp = stamp(gitDir);
+        if (stamp == null || idleTimeoutMs <= 0) {
+            // repository may be created later by clone or init, so it's not cached
+            final Repository repository = new FileRepository(gitDir);
+            return new Lease(repository, repository::close);
+        }
+        final File key = gitDir.getCanonicalFile();
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null || !stamp.equals(entry.stamp)) {
+                final Entry created = new Entry(new FileRepository(gitDir), stamp);
+                final boolean added = entry == null ? entries.putIfAbsent(key, created) == null : entries.replace(key, entry, created);
+                if (!added) {
+                    created.close();
+                    continue;
+                }
+                if (entry != null) {
+                    entry.evict();
+                }
+                misses.incrementAndGet();
+                entry = created;
+            } else {
+                hits.incrementAndGet();
+            }
+            if (entry.retain()) {
+                return new Lease(entry.repository, entry::release);
+            }
+        }
+    }
+
+    /** Closes all repositories which are not used at the moment and removes them from the cache. */
+    public void evictIdle() {
+        evictIdle(Long.MAX_VALUE);
+    }
+
+    /** Number of repository requests which were served from the cache. */
+    public long getHitsCount() {
+        return hits.get();
+    }
+
+    /** Number of repository requests which required opening of repository. */
+    public long getMissesCount() {
+        return misses.get();
+    }
+
+    /** Number of cached repositories. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Removes repositories which were not used longer than idle timeout, not more often than once per minute. */
+    private void evictIdleIfNeeded() {
+        final long now = System.currentTimeMillis();
+        final long last = lastEviction.get();
+        if (now - last < MINUTES.toMillis(1) || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        evictIdle(now - idleTimeoutMs);
+    }
+
+    private void evictIdle(long lastUsedBefore) {
+        entries.forEach((key, entry) -> {
+            if (entry.isIdleSince(lastUsedBefore) && entries.remove(key, entry)) {
+                entry.evict();
+            }
+        });
+    }
+
+    /**
+     * Returns object which is changed when {@code .git} directory is re-created, or {@code null} when directory doesn't exist.
+     * Where neither file key nor creation time is supported it is also changed when files are added to or removed from
+     * {@code .git} directory.
+     */
+    private static Object stamp(File gitDir) throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isDirectory()) {
+            return null;
+        }
+        // file key (device and inode) is changed when directory is re-created, creation time is used only where file key is
+        // not available as it falls back to modification time on some file systems
+        final Object fileKey = attributes.fileKey();
+        return fileKey != null ? fileKey : attributes.creationTime();
+    }
+
+    /** Repository which is used by a connection. */
+    public static class Lease {
+        private final Repository    repository;
+        private final Runnable      releaseAction;
+        private final AtomicBoolean released;
+
+        private Lease(Repository repository, Runnable releaseAction) {
+            this.repository = repository;
+            this.releaseAction = releaseAction;
+            this.released = new AtomicBoolean();
+        }
+
+        public Repository getRepository() {
+            return repository;
+        }
+
+        /** Returns repository to the cache, repeated calls have no effect. */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseAction.run();
+            }
+        }
+    }
+
+    private static class Entry {
+        final Repository repository;
+        final Object     stamp;
+
+        int     refs;
+        long    lastUsed;
+        boolean evicted;
+
+        Entry(Repository repository, Object stamp) {
+            this.repository = repository;
+            this.stamp = stamp;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        synchronized boolean retain() {
+            if (evicted) {
+                return false;
+            }
+            refs++;
+            return true;
+        }
+
+        synchronized void release() {
+            refs--;
+            lastUsed = System.currentTimeMillis();
+            if (evicted && refs == 0) {
+                close();
+            }
+        }
+
+        synchronized boolean isIdleSince(long time) {
+            return refs == 0 && lastUsed <= time;
+        }
+
+        /** Marks entry as removed from the cache, repository is closed when the last lease is released. */
+        synchronized void evict() {
+            evicted = true;
+            if (refs == 0) {
+                close();
+            }
+        }
+
+        void close() {
+            repository.close();
+        }
+    }
+}
@@ -12,7 +12,9 @@
 package org.eclipse.che.git.impl.jgit;
 
 import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.git.DiffPage;
 import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.git.params.DiffParams;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
@@ -31,8 +33,10 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Field;
 
+import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
@@ -42,6 +46,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 /**
  * Test class for {@link JGitConnection}
@@ -181,4 +186,20 @@ public class JGitConnectionTest {
 
         assertEquals(branchName, branchTest);
     }
+
+    @Test
+    public void shouldCloseRepositoryOfDiffPageOnceWhenDiffCanNotBeWritten() throws Exception {
+        DiffPage diffPage = jGitConnection.diff(DiffParams.create().withFileFilter(singletonList("")));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                diffPage.writeTo(new ByteArrayOutputStream());
+                fail("Diff with invalid file filter must not be written");
+            } catch (RuntimeException ignored) {
+            }
+        }
+
+        verify(repository).incrementOpen();
+        verify(repository).close();
+    }
 }
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link JGitRepositoryCache}.
+ */
+public class JGitRepositoryCacheTest {
+    private File                workDir;
+    private File                gitDir;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("repository-cache").toFile();
+        gitDir = new File(workDir, Constants.DOT_GIT);
+        cache = new JGitRepositoryCache();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        cache.evictIdle();
+        FileUtils.delete(workDir, FileUtils.RECURSIVE | FileUtils.IGNORE_ERRORS);
+    }
+
+    @Test
+    public void shouldShareRepositoryBetweenLeases() throws Exception {
+        createRepository();
+
+        final JGitRepositoryCache.Lease first = cache.acquire(gitDir);
+        first.release();
+        final JGitRepositoryCache.Lease second = cache.acquire(gitDir);
+        second.release();
+
+        assertSame(second.getRepository(), first.getRepository());
+        assertEquals(cache.getHitsCount(), 1);
+        assertEquals(cache.getMissesCount(), 1);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichIsNotCreatedYet() throws Exception {
+        final JGitRepositoryCache.Lease first = cache.acquire(gitDir);
+        first.release();
+        final JGitRepositoryCache.Lease second = cache.acquire(gitDir);
+        second.release();
+
+        assertNotSame(second.getRepository(), first.getRepository());
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldReplaceRepositoryWhenGitDirectoryIsRecreated() throws Exception {
+        createRepository();
+        final JGitRepositoryCache.Lease first = cache.acquire(gitDir);
+
+        FileUtils.delete(gitDir, FileUtils.RECURSIVE);
+        createRepository();
+        final JGitRepositoryCache.Lease second = cache.acquire(gitDir);
+        first.release();
+        second.release();
+
+        assertNotSame(second.getRepository(), first.getRepository());
+        assertEquals(cache.getMissesCount(), 2);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldKeepRepositoryWhenFilesAreAddedToGitDirectory() throws Exception {
+        createRepository();
+        final JGitRepositoryCache.Lease first = cache.acquire(gitDir);
+        first.release();
+
+        Files.createFile(new File(gitDir, "FETCH_HEAD").toPath());
+        Files.setLastModifiedTime(gitDir.toPath(), FileTime.fromMillis(System.currentTimeMillis() + 60000));
+        final JGitRepositoryCache.Lease second = cache.acquire(gitDir);
+        second.release();
+
+        assertSame(second.getRepository(), first.getRepository());
+        assertEquals(cache.getMissesCount(), 1);
+    }
+
+    @Test
+    public void shouldNotEvictRepositoryWhichIsInUse() throws Exception {
+        createRepository();
+        final JGitRepositoryCache.Lease lease = cache.acquire(gitDir);
+
+        cache.evictIdle();
+        assertEquals(cache.size(), 1);
+
+        lease.release();
+        cache.evictIdle();
+        assertEquals(cache.size(), 0);
+    }
+
+    private void createRepository() throws Exception {
+        final FileRepository repository = new FileRepository(gitDir);
+        repository.create();
+        repository.close();
+    }
+}
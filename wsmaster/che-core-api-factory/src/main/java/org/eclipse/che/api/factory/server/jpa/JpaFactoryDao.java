@@ -15,6 +15,8 @@ import com.google.inject.persist.Transactional;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.core.db.cache.EntityCache;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 import org.eclipse.che.core.db.event.CascadeRemovalEventSubscriber;
@@ -45,6 +47,11 @@ import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 /**
+ * JPA based implementation of {@link FactoryDao}.
+ *
+ * <p>Factories read by id are kept in {@link EntityCache},
+ * which is invalidated whenever factories are changed by this DAO.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -53,6 +60,8 @@ public class JpaFactoryDao implements FactoryDao {
 
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private EntityCacheManager      cacheManager;
 
     @Override
     public FactoryImpl create(FactoryImpl factory) throws ConflictException, ServerException {
@@ -65,6 +74,8 @@ public class JpaFactoryDao implements FactoryDao {
             throw new ConflictException("Could not create factory with creator that refers on non-existent user");
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
+        } finally {
+            cache().invalidateAll();
         }
         return new FactoryImpl(factory);
     }
@@ -78,6 +89,8 @@ public class JpaFactoryDao implements FactoryDao {
             throw new ConflictException(ex.getLocalizedMessage());
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
@@ -88,15 +101,16 @@ public class JpaFactoryDao implements FactoryDao {
             doRemove(id);
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
     @Override
-    @Transactional
     public FactoryImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id);
         try {
-            final FactoryImpl factory = managerProvider.get().find(FactoryImpl.class, id);
+            final FactoryImpl factory = cache().get(id, () -> doGetById(id));
             if (factory == null) {
                 throw new NotFoundException(format("Factory with id '%s' doesn't exist", id));
             }
@@ -141,6 +155,12 @@ public class JpaFactoryDao implements FactoryDao {
         }
     }
 
+    @Transactional
+    protected FactoryImpl doGetById(String id) {
+        final FactoryImpl factory = managerProvider.get().find(FactoryImpl.class, id);
+        return factory == null ? null : new FactoryImpl(factory);
+    }
+
     @Transactional
     protected void doCreate(FactoryImpl factory) {
         final EntityManager manager = managerProvider.get();
@@ -171,6 +191,10 @@ public class JpaFactoryDao implements FactoryDao {
         }
     }
 
+    private EntityCache cache() {
+        return cacheManager.getCache(FactoryImpl.class);
+    }
+
     @Singleton
     public static class RemoveFactoriesBeforeUserRemovedEventSubscriber
             extends CascadeRemovalEventSubscriber<BeforeUserRemovedEvent> {
@@ -61,4 +61,11 @@ public interface MachineStatusEvent {
     String getMachineName();
 
     MachineStatusEvent withMachineName(String machineName);
+
+    /** Returns time spent for start of machine in milliseconds, it is set for {@link EventType#RUNNING} events only. */
+    long getStartDurationMillis();
+
+    void setStartDurationMillis(long startDurationMillis);
+
+    MachineStatusEvent withStartDurationMillis(long startDurationMillis);
 }
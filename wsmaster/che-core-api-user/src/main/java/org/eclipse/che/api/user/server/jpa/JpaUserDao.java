@@ -18,6 +18,8 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.PostUserRemovedEvent;
+import org.eclipse.che.core.db.cache.EntityCache;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
 import org.eclipse.che.core.db.jpa.CascadeRemovalException;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
@@ -34,12 +36,17 @@ import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 /**
  * JPA based implementation of {@link UserDao}.
  *
+ * <p>Users read by id, name, email or alias are kept in {@link EntityCache}. Creation of user
+ * invalidates the cache of users, while update and removal of user invalidate all the caches,
+ * as name of user is the namespace of user's workspaces and removal of user cascades to other entities.
+ *
  * @author Yevhenii Voevodin
  * @author Anton Korneta
  * @author Igor Vinokur
@@ -53,6 +60,8 @@ public class JpaUserDao implements UserDao {
     private   PasswordEncryptor       encryptor;
     @Inject
     private   EventService            eventService;
+    @Inject
+    private   EntityCacheManager      cacheManager;
 
     @Override
     @Transactional
@@ -88,6 +97,8 @@ public class JpaUserDao implements UserDao {
             throw new ConflictException("User with such id/name/email/alias already exists");
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
@@ -101,6 +112,8 @@ public class JpaUserDao implements UserDao {
             throw new ConflictException("User with such name/email/alias already exists");
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cacheManager.invalidateAll();
         }
     }
 
@@ -108,7 +121,13 @@ public class JpaUserDao implements UserDao {
     public void remove(String id) throws ServerException, ConflictException {
         requireNonNull(id, "Required non-null id");
         try {
-            Optional<UserImpl> user = doRemove(id);
+            Optional<UserImpl> user;
+            try {
+                user = doRemove(id);
+            } finally {
+                // entities removed by cascade removal may be cached by other DAOs
+                cacheManager.invalidateAll();
+            }
             if (user.isPresent()) {
                 eventService.publish(new PostUserRemovedEvent(id));
             }
@@ -120,27 +139,24 @@ public class JpaUserDao implements UserDao {
     }
 
     @Override
-    @Transactional
     public UserImpl getByAlias(String alias) throws NotFoundException, ServerException {
         requireNonNull(alias, "Required non-null alias");
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByAlias", UserImpl.class)
-                                                .setParameter("alias", alias)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with alias '%s' doesn't exist", alias));
+            final UserImpl user = cache().get(asList("alias", alias), () -> doGetByQuery("User.getByAlias", "alias", alias));
+            if (user == null) {
+                throw new NotFoundException(format("User with alias '%s' doesn't exist", alias));
+            }
+            return erasePassword(user);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
     }
 
     @Override
-    @Transactional
     public UserImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+            final UserImpl user = cache().get(id, () -> doGetById(id));
             if (user == null) {
                 throw new NotFoundException(format("User with id '%s' doesn't exist", id));
             }
@@ -151,32 +167,28 @@ public class JpaUserDao implements UserDao {
     }
 
     @Override
-    @Transactional
     public UserImpl getByName(String name) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByName", UserImpl.class)
-                                                .setParameter("name", name)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with name '%s' doesn't exist", name));
+            final UserImpl user = cache().get(asList("name", name), () -> doGetByQuery("User.getByName", "name", name));
+            if (user == null) {
+                throw new NotFoundException(format("User with name '%s' doesn't exist", name));
+            }
+            return erasePassword(user);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
     }
 
     @Override
-    @Transactional
     public UserImpl getByEmail(String email) throws NotFoundException, ServerException {
         requireNonNull(email, "Required non-null email");
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByEmail", UserImpl.class)
-                                                .setParameter("email", email)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with email '%s' doesn't exist", email));
+            final UserImpl user = cache().get(asList("email", email), () -> doGetByQuery("User.getByEmail", "email", email));
+            if (user == null) {
+                throw new NotFoundException(format("User with email '%s' doesn't exist", email));
+            }
+            return erasePassword(user);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -214,6 +226,24 @@ public class JpaUserDao implements UserDao {
         }
     }
 
+    @Transactional
+    protected UserImpl doGetById(String id) {
+        final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+        return user == null ? null : erasePassword(user);
+    }
+
+    @Transactional
+    protected UserImpl doGetByQuery(String queryName, String parameter, String value) {
+        try {
+            return erasePassword(managerProvider.get()
+                                                .createNamedQuery(queryName, UserImpl.class)
+                                                .setParameter(parameter, value)
+                                                .getSingleResult());
+        } catch (NoResultException x) {
+            return null;
+        }
+    }
+
     @Transactional
     protected void doCreate(UserImpl user) {
         managerProvider.get().persist(user);
@@ -244,6 +274,10 @@ public class JpaUserDao implements UserDao {
 
     }
 
+    private EntityCache cache() {
+        return cacheManager.getCache(UserImpl.class);
+    }
+
     // Returns user instance copy without password
     private static UserImpl erasePassword(UserImpl source) {
         return new UserImpl(source.getId(),
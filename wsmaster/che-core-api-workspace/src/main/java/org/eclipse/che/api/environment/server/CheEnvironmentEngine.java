@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -58,7 +59,9 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.commons.lang.concurrent.CloseableLock;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -73,14 +76,22 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -116,6 +127,7 @@ public class CheEnvironmentEngine {
     private final Pattern                        recipeApiPattern;
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
+    private final ExecutorService                servicesStartExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -151,6 +163,11 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.servicesStartExecutor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("CheEnvironmentEngine-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
 
         eventService.subscribe(new MachineCleaner());
     }
@@ -248,11 +265,11 @@ public class CheEnvironmentEngine {
 
         String devMachineName = findDevMachineName(env);
 
-        startEnvironmentQueue(namespace,
-                              workspaceId,
-                              devMachineName,
-                              networkId,
-                              recover);
+        startEnvironmentServices(namespace,
+                                 workspaceId,
+                                 devMachineName,
+                                 networkId,
+                                 recover);
 
         try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -547,11 +564,11 @@ public class CheEnvironmentEngine {
                   workspaceId,
                   internalEnv);
 
-        List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> servicesDependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
-        EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+        EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesDependencies,
                                                                     internalEnv,
                                                                     messageConsumer,
                                                                     EnvStatus.STARTING,
@@ -705,20 +722,23 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Starts all machine from machine queue of environment.
+     * Starts all machines of environment.
+     *
+     * <p>Machines are started as soon as all machines they depend on are started, so machines which don't depend on each other
+     * are started concurrently and environment is started in time of the longest chain of dependent machines. If start of any
+     * machine fails no more machines are started, machines which are being started at the moment are awaited and then
+     * environment is destroyed.
      */
-    private void startEnvironmentQueue(String namespace,
-                                       String workspaceId,
-                                       String devMachineName,
-                                       String networkId,
-                                       boolean recover)
+    private void startEnvironmentServices(String namespace,
+                                          String workspaceId,
+                                          String devMachineName,
+                                          String networkId,
+                                          boolean recover)
             throws ServerException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
         try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null) {
@@ -726,133 +746,205 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            // copy is modified while machines are started
+            environmentHolder.dependencies.forEach((machineName, machineDependencies) -> {
+                dependencies.put(machineName, new HashSet<>(machineDependencies));
+            });
         }
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-                String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-
-                CheServiceImpl service;
-                try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
+            String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
+            CompletionService<String> completionService = new ExecutorCompletionService<>(servicesStartExecutor);
+            int inProgress = 0;
+            Throwable failure = null;
+            while (failure == null && (!dependencies.isEmpty() || inProgress > 0)) {
+                for (Iterator<Map.Entry<String, Set<String>>> it = dependencies.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<String, Set<String>> entry = it.next();
+                    if (entry.getValue().isEmpty()) {
+                        // machine doesn't wait for other machines anymore
+                        checkStartIsNotInterrupted(workspaceId);
+                        String machineName = entry.getKey();
+                        completionService.submit(ThreadLocalPropagateContext.wrap(() -> startService(namespace,
+                                                                                                    workspaceId,
+                                                                                                    envName,
+                                                                                                    envLogger,
+                                                                                                    machineName,
+                                                                                                    devMachineName.equals(machineName),
+                                                                                                    networkId,
+                                                                                                    creator,
+                                                                                                    recover)));
+                        inProgress++;
+                        it.remove();
                     }
-                    service = environmentHolder.environment.getServices().get(machineName);
                 }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+                if (inProgress == 0) {
+                    // should not happen, dependencies are checked by start strategy
+                    throw new ServerException(format("Machines '%s' of workspace '%s' can't be started due to circular dependency",
+                                                     dependencies.keySet(), workspaceId));
                 }
 
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
+                Future<String> completed = completionService.take();
+                inProgress--;
+                try {
+                    String startedMachine = completed.get();
+                    dependencies.values().forEach(machineDependencies -> machineDependencies.remove(startedMachine));
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
                 }
+            }
 
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
+            if (failure != null) {
+                // machines that are being started are added to the environment and will be destroyed with it
+                for (; inProgress > 0; inProgress--) {
                     try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
+                        completionService.take().get();
+                    } catch (ExecutionException ignored) {
                     }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
+                if (failure instanceof EnvironmentException) {
+                    throw (EnvironmentException)failure;
+                }
+                if (failure instanceof ServerException) {
+                    throw (ServerException)failure;
+                }
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException)failure;
+                }
+                throw new ServerException(failure.getLocalizedMessage(), failure);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            destroyInterruptedEnvironment(workspaceId);
+            throw new ServerException("Workspace '" + workspaceId + "' start interrupted");
         } catch (RuntimeException | ServerException e) {
-            EnvironmentHolder env;
-            try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                env = environments.remove(workspaceId);
+            destroyInterruptedEnvironment(workspaceId);
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Starts machine of environment.
+     *
+     * @return name of started machine
+     */
+    private String startService(String namespace,
+                                String workspaceId,
+                                String envName,
+                                MessageConsumer<MachineLogMessage> envLogger,
+                                String machineName,
+                                boolean isDev,
+                                String networkId,
+                                String creator,
+                                boolean recover) throws ServerException,
+                                                        EnvironmentException {
+        CheServiceImpl service;
+        try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new ServerException("Environment start is interrupted.");
             }
+            service = environmentHolder.environment.getServices().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in environment",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
 
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and
+        // marks the machine as started if the environment wasn't stopped.
+        boolean markedAsStarted = false;
+        try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            markedAsStarted = environments.containsKey(workspaceId);
+        }
+
+        // If machine is not marked as started
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!markedAsStarted) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+        return machineName;
+    }
+
+    /** Removes environment which start failed and destroys its machines. */
+    private void destroyInterruptedEnvironment(String workspaceId) {
+        EnvironmentHolder env;
+        try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            env = environments.remove(workspaceId);
+        }
+
+        if (env != null) {
             try {
                 destroyEnvironment(env.networkId, env.machines);
             } catch (Exception remEx) {
                 LOG.error(remEx.getLocalizedMessage(), remEx);
             }
-            throw new ServerException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -865,6 +957,7 @@ public class CheEnvironmentEngine {
 
         LineConsumer machineLogger = null;
         Instance instance = null;
+        long startTime = System.currentTimeMillis();
         try {
             addMachine(machine);
 
@@ -904,12 +997,17 @@ public class CheEnvironmentEngine {
 
             replaceMachine(instance);
 
+            long startDuration = System.currentTimeMillis() - startTime;
+            LOG.debug("Machine '{}' of workspace '{}' started in {} ms",
+                      machine.getConfig().getName(), machine.getWorkspaceId(), startDuration);
+
             eventService.publish(newDto(MachineStatusEvent.class)
                                          .withEventType(MachineStatusEvent.EventType.RUNNING)
                                          .withDev(machine.getConfig().isDev())
                                          .withMachineName(machine.getConfig().getName())
                                          .withMachineId(instance.getId())
-                                         .withWorkspaceId(machine.getWorkspaceId()));
+                                         .withWorkspaceId(machine.getWorkspaceId())
+                                         .withStartDurationMillis(startDuration));
 
             return instance;
         } catch (ApiException | RuntimeException e) {
@@ -1057,29 +1155,22 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
+     * Fails if environment start was interrupted by stop (environment doesn't exist).
      *
-     * <p>Note that this method won't actually poll the queue.
-     *
-     * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
-     *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
      * @throws ServerException
-     *         if queue doesn't exist which means that {@link #stop(String)} executed
+     *         if environment doesn't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
+     *         if pre destroy has been invoked
      */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
+    private void checkStartIsNotInterrupted(String workspaceId) throws ServerException {
         try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
-            if (environmentHolder == null || environmentHolder.startQueue == null) {
+            if (environmentHolder == null) {
                 throw new ServerException("Workspace " + workspaceId +
                                           " start interrupted. Workspace was stopped before all its machines were started");
             }
-            return environmentHolder.startQueue.peek();
         }
     }
 
@@ -1140,6 +1231,8 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        // machines which are being started fail because of pre destroy flag
+        servicesStartExecutor.shutdown();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1230,7 +1323,7 @@ public class CheEnvironmentEngine {
     }
 
     private static class EnvironmentHolder {
-        final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1239,13 +1332,13 @@ public class CheEnvironmentEngine {
         List<Instance> machines;
         EnvStatus      status;
 
-        EnvironmentHolder(List<String> startQueue,
+        EnvironmentHolder(Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
-            this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1259,7 +1352,7 @@ public class CheEnvironmentEngine {
             if (this == o) return true;
             if (!(o instanceof EnvironmentHolder)) return false;
             EnvironmentHolder that = (EnvironmentHolder)o;
-            return Objects.equals(startQueue, that.startQueue) &&
+            return Objects.equals(dependencies, that.dependencies) &&
                    Objects.equals(machines, that.machines) &&
                    status == that.status &&
                    Objects.equals(logger, that.logger) &&
@@ -1268,7 +1361,7 @@ public class CheEnvironmentEngine {
 
         @Override
         public int hashCode() {
-            return Objects.hash(startQueue, machines, status, logger, name);
+            return Objects.hash(dependencies, machines, status, logger, name);
         }
     }
 
@@ -18,6 +18,7 @@ import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,6 +29,7 @@ import static java.lang.String.format;
 
 /**
  * Finds order of Che services to start that respects dependencies between services.
+ * Services which don't depend on each other may be started concurrently, see {@link #dependencies(CheServicesEnvironmentImpl)}.
  *
  * @author Alexander Garagatyi
  * @author Alexander Andrienko
@@ -41,22 +43,37 @@ public class DefaultServicesStartStrategy {
      */
     public List<String> order(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
 
-        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+        Map<String, Integer> weights = weightMachines(getDependencies(composeEnvironment.getServices()));
 
         return sortByWeight(weights);
     }
 
     /**
-     * Returns mapping of names of machines to its weights in dependency graph.
+     * Resolves dependencies between machines in an environment.
+     * Machine may be started as soon as all machines it depends on are started.
      *
+     * @return mapping of names of machines to names of machines they depend on (depends_on, links and volumes_from),
+     * iteration order of the map is the same as order returned by {@link #order(CheServicesEnvironmentImpl)}
      * @throws IllegalArgumentException
-     *         if weights of machines can not be calculated
+     *         if dependencies are invalid or circular
      */
-    private Map<String, Integer> weightMachines(Map<String, CheServiceImpl> services)
-            throws IllegalArgumentException {
+    public Map<String, Set<String>> dependencies(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
+        Map<String, Set<String>> dependencies = getDependencies(composeEnvironment.getServices());
 
-        HashMap<String, Integer> weights = new HashMap<>();
+        Map<String, Set<String>> ordered = new LinkedHashMap<>();
+        for (String service : sortByWeight(weightMachines(dependencies))) {
+            ordered.put(service, dependencies.get(service));
+        }
+        return ordered;
+    }
 
+    /**
+     * Returns mapping of names of machines to names of machines they depend on.
+     *
+     * @throws IllegalArgumentException
+     *         if dependency points to unknown machine or to machine itself
+     */
+    private Map<String, Set<String>> getDependencies(Map<String, CheServiceImpl> services) throws IllegalArgumentException {
         // create machines dependency graph
         Map<String, Set<String>> dependencies = new HashMap<>(services.size());
         for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
@@ -85,6 +102,21 @@ public class DefaultServicesStartStrategy {
             }
             dependencies.put(serviceEntry.getKey(), machineDependencies);
         }
+        return dependencies;
+    }
+
+    /**
+     * Returns mapping of names of machines to its weights in dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if weights of machines can not be calculated
+     */
+    private Map<String, Integer> weightMachines(Map<String, Set<String>> machinesDependencies)
+            throws IllegalArgumentException {
+
+        HashMap<String, Integer> weights = new HashMap<>();
+        // copy is modified below
+        Map<String, Set<String>> dependencies = new HashMap<>(machinesDependencies);
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
@@ -19,11 +19,11 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.BatchingWebsocketLineConsumer;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
-import org.eclipse.che.api.core.util.WebsocketLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -60,6 +60,9 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 public class MachineProcessManager {
     private static final Logger LOG = LoggerFactory.getLogger(MachineProcessManager.class);
 
+    /** Lines of process output which exceed this rate are not sent to websocket channel, but they are still written to log file. */
+    private static final int MAX_OUTPUT_LINES_PER_SECOND = 1000;
+
     private final File                 machineLogsDir;
     private final CheEnvironmentEngine environmentEngine;
     private final EventService         eventService;
@@ -239,7 +242,11 @@ public class MachineProcessManager {
 
     private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            return new CompositeLineConsumer(fileLogger,
+                                             new BatchingWebsocketLineConsumer(outputChannel,
+                                                                               BatchingWebsocketLineConsumer.DEFAULT_MAX_BATCH_SIZE,
+                                                                               BatchingWebsocketLineConsumer.DEFAULT_FLUSH_DELAY_MILLIS,
+                                                                               MAX_OUTPUT_LINES_PER_SECOND));
         }
         return fileLogger;
     }
@@ -15,6 +15,8 @@ import com.google.inject.persist.Transactional;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.core.db.cache.EntityCache;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
@@ -28,15 +30,20 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
 /**
  * JPA based implementation of {@link StackDao}.
  *
+ * <p>Stacks read by id and results of stacks search are kept in {@link EntityCache},
+ * which is invalidated whenever stacks are changed by this DAO.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
@@ -48,6 +55,9 @@ public class JpaStackDao implements StackDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Required non-null stack");
@@ -58,15 +68,16 @@ public class JpaStackDao implements StackDao {
             throw new ConflictException(format("Stack with id '%s' or name '%s' already exists", stack.getId(), stack.getName()));
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
     @Override
-    @Transactional
     public StackImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+            final StackImpl stack = cache().get(id, () -> doGetById(id));
             if (stack == null) {
                 throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
             }
@@ -83,6 +94,8 @@ public class JpaStackDao implements StackDao {
             doRemove(id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
@@ -95,15 +108,35 @@ public class JpaStackDao implements StackDao {
             throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
     @Override
-    @Transactional
     public List<StackImpl> searchStacks(@Nullable String user,
                                         @Nullable List<String> tags,
                                         int skipCount,
                                         int maxItems) throws ServerException {
+        final List<String> tagsCopy = tags == null ? null : new ArrayList<>(tags);
+        try {
+            return cache().get(asList("search", tagsCopy, skipCount, maxItems), () -> doSearchStacks(tagsCopy, skipCount, maxItems))
+                          .stream()
+                          .map(StackImpl::new)
+                          .collect(Collectors.toList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Transactional
+    protected StackImpl doGetById(String id) {
+        final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+        return stack == null ? null : new StackImpl(stack);
+    }
+
+    @Transactional
+    protected List<StackImpl> doSearchStacks(List<String> tags, int skipCount, int maxItems) {
         final TypedQuery<StackImpl> query;
         if (tags == null || tags.isEmpty()) {
             query = managerProvider.get().createNamedQuery("Stack.getAll", StackImpl.class);
@@ -113,16 +146,12 @@ public class JpaStackDao implements StackDao {
                                    .setParameter("tags", tags)
                                    .setParameter("tagsSize", tags.size());
         }
-        try {
-            return query.setMaxResults(maxItems)
-                        .setFirstResult(skipCount)
-                        .getResultList()
-                        .stream()
-                        .map(StackImpl::new)
-                        .collect(Collectors.toList());
-        } catch (RuntimeException x) {
-            throw new ServerException(x.getLocalizedMessage(), x);
-        }
+        return query.setMaxResults(maxItems)
+                    .setFirstResult(skipCount)
+                    .getResultList()
+                    .stream()
+                    .map(StackImpl::new)
+                    .collect(Collectors.toList());
     }
 
     @Transactional
@@ -153,4 +182,8 @@ public class JpaStackDao implements StackDao {
         }
         return manager.merge(update);
     }
+
+    private EntityCache cache() {
+        return cacheManager.getCache(StackImpl.class);
+    }
 }
@@ -16,6 +16,8 @@ import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.core.db.cache.EntityCache;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.event.CascadeRemovalEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
@@ -38,12 +40,16 @@ import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
  *
+ * <p>Results of reading workspaces by id, name and namespace are kept in {@link EntityCache},
+ * which is invalidated whenever workspaces are changed by this DAO.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
@@ -53,6 +59,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     private EventService            eventService;
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private EntityCacheManager      cacheManager;
 
     @Override
     public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -66,6 +74,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
                                                workspace.getNamespace()));
         } catch (RuntimeException x) {
             throw new ServerException(x.getMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
         return new WorkspaceImpl(workspace);
     }
@@ -81,6 +91,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
                                                update.getNamespace()));
         } catch (RuntimeException x) {
             throw new ServerException(x.getMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
@@ -91,15 +103,16 @@ public class JpaWorkspaceDao implements WorkspaceDao {
             doRemove(id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
+        } finally {
+            cache().invalidateAll();
         }
     }
 
     @Override
-    @Transactional
     public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+            final WorkspaceImpl workspace = cache().get(id, () -> doGet(id));
             if (workspace == null) {
                 throw new NotFoundException(format("Workspace with id '%s' doesn't exist", id));
             }
@@ -110,37 +123,30 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
 
     @Override
-    @Transactional
     public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
         requireNonNull(namespace, "Required non-null namespace");
         try {
-            return new WorkspaceImpl(managerProvider.get()
-                                                    .createNamedQuery("Workspace.getByName", WorkspaceImpl.class)
-                                                    .setParameter("namespace", namespace)
-                                                    .setParameter("name", name)
-                                                    .getSingleResult());
-        } catch (NoResultException noResEx) {
-            throw new NotFoundException(format("Workspace with name '%s' in namespace '%s' doesn't exist",
-                                               name,
-                                               namespace));
+            final WorkspaceImpl workspace = cache().get(asList("name", namespace, name), () -> doGet(name, namespace));
+            if (workspace == null) {
+                throw new NotFoundException(format("Workspace with name '%s' in namespace '%s' doesn't exist",
+                                                   name,
+                                                   namespace));
+            }
+            return new WorkspaceImpl(workspace);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
     }
 
     @Override
-    @Transactional
     public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
         requireNonNull(namespace, "Required non-null namespace");
         try {
-            return managerProvider.get()
-                                  .createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
-                                  .setParameter("namespace", namespace)
-                                  .getResultList()
-                                  .stream()
-                                  .map(WorkspaceImpl::new)
-                                  .collect(Collectors.toList());
+            return cache().get(asList("namespace", namespace), () -> doGetByNamespace(namespace))
+                          .stream()
+                          .map(WorkspaceImpl::new)
+                          .collect(Collectors.toList());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -181,6 +187,36 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Transactional
+    protected WorkspaceImpl doGet(String id) {
+        final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+        return workspace == null ? null : new WorkspaceImpl(workspace);
+    }
+
+    @Transactional
+    protected WorkspaceImpl doGet(String name, String namespace) {
+        try {
+            return new WorkspaceImpl(managerProvider.get()
+                                                    .createNamedQuery("Workspace.getByName", WorkspaceImpl.class)
+                                                    .setParameter("namespace", namespace)
+                                                    .setParameter("name", name)
+                                                    .getSingleResult());
+        } catch (NoResultException noResEx) {
+            return null;
+        }
+    }
+
+    @Transactional
+    protected List<WorkspaceImpl> doGetByNamespace(String namespace) {
+        return managerProvider.get()
+                              .createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
+                              .setParameter("namespace", namespace)
+                              .getResultList()
+                              .stream()
+                              .map(WorkspaceImpl::new)
+                              .collect(toList());
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -210,6 +246,10 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         return managerProvider.get().merge(update);
     }
 
+    private EntityCache cache() {
+        return cacheManager.getCache(WorkspaceImpl.class);
+    }
+
     @Singleton
     public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
             extends CascadeRemovalEventSubscriber<BeforeAccountRemovedEvent> {
@@ -48,6 +48,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Size;
 import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
@@ -60,10 +61,14 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -75,6 +80,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
@@ -211,7 +217,7 @@ public class CheEnvironmentEngineTest {
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
         String workspaceId = "wsId";
-        List<Instance> expectedMachines = new ArrayList<>();
+        List<Instance> expectedMachines = new CopyOnWriteArrayList<>();
         when(machineProvider.startService(anyString(),
                                           eq(workspaceId),
                                           eq(envName),
@@ -244,7 +250,57 @@ public class CheEnvironmentEngineTest {
                                                messageConsumer);
 
         // then
-        assertEquals(machines, expectedMachines);
+        assertEquals(new HashSet<>(machines), new HashSet<>(expectedMachines));
+    }
+
+    @Test
+    public void shouldStartMachinesWhichDoNotDependOnEachOtherConcurrently() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().put("machine3", new CheServiceImpl().withBuild(new CheServiceBuildContextImpl().withContext("image"))
+                                                                          .withDependsOn(asList("dev-machine", "machine2")));
+        // start of dev-machine and machine2 is completed only if they are started at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<String> startedMachines = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    boolean isDev = (boolean)arguments[4];
+                    CheServiceImpl service = (CheServiceImpl)arguments[6];
+                    if (!"machine3".equals(machineName)) {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    }
+                    startedMachines.add(machineName);
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     service,
+                                                                     machineName,
+                                                                     isDev)));
+                });
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer);
+
+        // then
+        assertEquals(machines.size(), 3);
+        assertEquals(startedMachines.size(), 3);
+        assertEquals(startedMachines.get(2), "machine3");
     }
 
     @Test
@@ -609,12 +665,12 @@ public class CheEnvironmentEngineTest {
                                                  .withMachineName(instance.getConfig().getName())
                                                  .withMachineId(instance.getId())
                                                  .withWorkspaceId(instance.getWorkspaceId()));
-            verify(eventService).publish(newDto(MachineStatusEvent.class)
-                                                 .withEventType(MachineStatusEvent.EventType.RUNNING)
-                                                 .withDev(instance.getConfig().isDev())
-                                                 .withMachineName(instance.getConfig().getName())
-                                                 .withMachineId(instance.getId())
-                                                 .withWorkspaceId(instance.getWorkspaceId()));
+            verifyRunningEventPublished(newDto(MachineStatusEvent.class)
+                                               .withEventType(MachineStatusEvent.EventType.RUNNING)
+                                               .withDev(instance.getConfig().isDev())
+                                               .withMachineName(instance.getConfig().getName())
+                                               .withMachineId(instance.getId())
+                                               .withWorkspaceId(instance.getWorkspaceId()));
         }
     }
 
@@ -799,12 +855,12 @@ public class CheEnvironmentEngineTest {
                                              .withMachineName(config.getName())
                                              .withMachineId("newMachineId")
                                              .withWorkspaceId(instance.getWorkspaceId()));
-        verify(eventService).publish(newDto(MachineStatusEvent.class)
-                                             .withEventType(MachineStatusEvent.EventType.RUNNING)
-                                             .withDev(config.isDev())
-                                             .withMachineName(config.getName())
-                                             .withMachineId("newMachineId")
-                                             .withWorkspaceId(instance.getWorkspaceId()));
+        verifyRunningEventPublished(newDto(MachineStatusEvent.class)
+                                           .withEventType(MachineStatusEvent.EventType.RUNNING)
+                                           .withDev(config.isDev())
+                                           .withMachineName(config.getName())
+                                           .withMachineId("newMachineId")
+                                           .withWorkspaceId(instance.getWorkspaceId()));
     }
 
     @Test
@@ -876,12 +932,12 @@ public class CheEnvironmentEngineTest {
                                              .withMachineName(instance.getConfig().getName())
                                              .withMachineId(instance.getId())
                                              .withWorkspaceId(instance.getWorkspaceId()));
-        verify(eventService).publish(newDto(MachineStatusEvent.class)
-                                             .withEventType(MachineStatusEvent.EventType.RUNNING)
-                                             .withDev(instance.getConfig().isDev())
-                                             .withMachineName(instance.getConfig().getName())
-                                             .withMachineId(instance.getId())
-                                             .withWorkspaceId(instance.getWorkspaceId()));
+        verifyRunningEventPublished(newDto(MachineStatusEvent.class)
+                                           .withEventType(MachineStatusEvent.EventType.RUNNING)
+                                           .withDev(instance.getConfig().isDev())
+                                           .withMachineName(instance.getConfig().getName())
+                                           .withMachineId(instance.getId())
+                                           .withWorkspaceId(instance.getWorkspaceId()));
     }
 
     @Test
@@ -989,6 +1045,18 @@ public class CheEnvironmentEngineTest {
         assertEquals(serviceToNormalizeLinks.getLinks().get(0), containerNameToLink + ':' + AliasToServiceToLink);
     }
 
+    private void verifyRunningEventPublished(MachineStatusEvent expected) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventService, atLeastOnce()).publish(captor.capture());
+        // start duration differs from run to run
+        assertTrue(captor.getAllValues()
+                         .stream()
+                         .filter(event -> event instanceof MachineStatusEvent)
+                         .map(event -> DtoFactory.getInstance().clone((MachineStatusEvent)event).withStartDurationMillis(0))
+                         .anyMatch(expected::equals),
+                   "Event is not published " + expected);
+    }
+
     private List<Instance> startEnv() throws Exception {
         EnvironmentImpl env = createEnv();
         CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -15,10 +15,16 @@ import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
@@ -67,6 +73,27 @@ public class DefaultServicesStartStrategyTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void shouldReturnDependenciesOfServicesInStartOrder() throws Exception {
+        // given
+        CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+        composeEnvironment.getServices().put("web", new CheServiceImpl().withDependsOn(singletonList("db"))
+                                                                        .withLinks(singletonList("cache:redis")));
+        composeEnvironment.getServices().put("cache", new CheServiceImpl());
+        composeEnvironment.getServices().put("db", new CheServiceImpl().withVolumesFrom(singletonList("data:ro")));
+        composeEnvironment.getServices().put("data", new CheServiceImpl());
+
+        // when
+        Map<String, Set<String>> dependencies = strategy.dependencies(composeEnvironment);
+
+        // then
+        assertEquals(dependencies.get("web"), new HashSet<>(asList("db", "cache")));
+        assertEquals(dependencies.get("db"), singleton("data"));
+        assertEquals(dependencies.get("cache"), emptySet());
+        assertEquals(dependencies.get("data"), emptySet());
+        assertEquals(new ArrayList<>(dependencies.keySet()), strategy.order(composeEnvironment));
+    }
+
     @Test
     public void testOrderingOfServicesWithoutDependencies() throws Exception {
         // given
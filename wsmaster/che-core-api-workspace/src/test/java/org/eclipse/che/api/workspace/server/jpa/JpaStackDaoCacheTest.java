@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.commons.test.db.H2JpaCleaner;
+import org.eclipse.che.commons.test.tck.JpaCleaner;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceConfig;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link JpaStackDao} with enabled cache.
+ */
+public class JpaStackDaoCacheTest {
+
+    private EntityManager      manager;
+    private JpaStackDao        stackDao;
+    private EntityCacheManager cacheManager;
+    private JpaCleaner         cleaner;
+
+    @BeforeMethod
+    private void setUp() {
+        final Injector injector = Guice.createInjector(new WorkspaceTckModule(), binder -> {
+            binder.bindConstant().annotatedWith(Names.named(EntityCacheManager.EXPIRE_AFTER_MS_PROPERTY)).to(60_000L);
+        });
+        manager = injector.getInstance(EntityManager.class);
+        stackDao = injector.getInstance(JpaStackDao.class);
+        cacheManager = injector.getInstance(EntityCacheManager.class);
+        cleaner = injector.getInstance(H2JpaCleaner.class);
+    }
+
+    @AfterMethod
+    private void cleanup() {
+        manager.getTransaction().begin();
+        manager.createQuery("SELECT s FROM Stack s", StackImpl.class)
+               .getResultList()
+               .forEach(manager::remove);
+        manager.getTransaction().commit();
+        cleaner.clean();
+    }
+
+    @Test
+    public void shouldReturnCachedStack() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+
+        stackDao.getById("stack1");
+        stackDao.getById("stack1");
+
+        assertEquals(cacheManager.getCache(StackImpl.class).getHitsCount(), 1);
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedStack() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+
+        stackDao.getById("stack1").setDescription("changed");
+
+        assertEquals(stackDao.getById("stack1").getDescription(), "stack1-description");
+    }
+
+    @Test
+    public void shouldReturnUpdatedStackAfterUpdate() throws Exception {
+        final StackImpl stack = createStack("stack1", asList("tag1", "tag2"));
+        stackDao.create(stack);
+        stackDao.getById("stack1");
+        stackDao.searchStacks(null, singletonList("tag1"), 0, 10);
+
+        stack.setDescription("new-description");
+        stack.setTags(new ArrayList<>(singletonList("tag3")));
+        stackDao.update(stack);
+
+        assertEquals(stackDao.getById("stack1").getDescription(), "new-description");
+        assertTrue(stackDao.searchStacks(null, singletonList("tag1"), 0, 10).isEmpty());
+        assertEquals(ids(stackDao.searchStacks(null, singletonList("tag3"), 0, 10)), singletonList("stack1"));
+    }
+
+    @Test
+    public void shouldNotReturnRemovedStack() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+        stackDao.getById("stack1");
+        stackDao.searchStacks(null, null, 0, 10);
+
+        stackDao.remove("stack1");
+
+        try {
+            stackDao.getById("stack1");
+            fail("Removed stack must not be returned");
+        } catch (NotFoundException ignored) {
+        }
+        assertTrue(stackDao.searchStacks(null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnCreatedStackInSearchResults() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+        stackDao.searchStacks(null, singletonList("tag1"), 0, 10);
+
+        stackDao.create(createStack("stack2", asList("tag1", "tag3")));
+
+        assertEquals(ids(stackDao.searchStacks(null, singletonList("tag1"), 0, 10)), asList("stack1", "stack2"));
+    }
+
+    @Test
+    public void shouldCacheSearchResultsByTagsAndPage() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+        stackDao.create(createStack("stack2", asList("tag1", "tag3")));
+
+        assertEquals(ids(stackDao.searchStacks(null, asList("tag1", "tag2"), 0, 10)), singletonList("stack1"));
+        assertEquals(ids(stackDao.searchStacks(null, asList("tag1", "tag3"), 0, 10)), singletonList("stack2"));
+        assertEquals(ids(stackDao.searchStacks(null, singletonList("tag1"), 0, 10)), asList("stack1", "stack2"));
+        assertEquals(stackDao.searchStacks(null, singletonList("tag1"), 1, 10).size(), 1);
+        assertEquals(stackDao.searchStacks(null, singletonList("tag1"), 0, 1).size(), 1);
+        assertEquals(stackDao.searchStacks(null, null, 0, 10).size(), 2);
+    }
+
+    @Test
+    public void shouldNotReturnResultCachedForTagsWhichWereChangedByCaller() throws Exception {
+        stackDao.create(createStack("stack1", asList("tag1", "tag2")));
+        stackDao.create(createStack("stack2", asList("tag1", "tag3")));
+        final List<String> tags = new ArrayList<>(singletonList("tag2"));
+        stackDao.searchStacks(null, tags, 0, 10);
+
+        tags.set(0, "tag3");
+
+        assertEquals(ids(stackDao.searchStacks(null, tags, 0, 10)), singletonList("stack2"));
+    }
+
+    private static List<String> ids(List<StackImpl> stacks) {
+        return stacks.stream()
+                     .map(StackImpl::getId)
+                     .sorted()
+                     .collect(toList());
+    }
+
+    private static StackImpl createStack(String id, List<String> tags) {
+        final StackImpl stack = StackImpl.builder()
+                                         .setId(id)
+                                         .setName(id + "-name")
+                                         .setCreator("user123")
+                                         .setDescription(id + "-description")
+                                         .setScope("general")
+                                         .setTags(new ArrayList<>(tags))
+                                         .build();
+        stack.setWorkspaceConfig(createWorkspaceConfig(id));
+        return stack;
+    }
+}
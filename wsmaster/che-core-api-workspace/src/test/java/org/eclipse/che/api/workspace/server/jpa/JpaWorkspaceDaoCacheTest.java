@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.test.db.H2JpaCleaner;
+import org.eclipse.che.commons.test.tck.JpaCleaner;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link JpaWorkspaceDao} with enabled cache.
+ */
+public class JpaWorkspaceDaoCacheTest {
+
+    private EntityManager      manager;
+    private JpaWorkspaceDao    workspaceDao;
+    private EntityCacheManager cacheManager;
+    private JpaCleaner         cleaner;
+    private AccountImpl        account;
+
+    @BeforeMethod
+    private void setUp() {
+        final Injector injector = Guice.createInjector(new WorkspaceTckModule(), binder -> {
+            binder.bindConstant().annotatedWith(Names.named(EntityCacheManager.EXPIRE_AFTER_MS_PROPERTY)).to(60_000L);
+        });
+        manager = injector.getInstance(EntityManager.class);
+        workspaceDao = injector.getInstance(JpaWorkspaceDao.class);
+        cacheManager = injector.getInstance(EntityCacheManager.class);
+        cleaner = injector.getInstance(H2JpaCleaner.class);
+
+        account = new AccountImpl("accountId", "namespace", "test");
+        manager.getTransaction().begin();
+        manager.persist(account);
+        manager.getTransaction().commit();
+        manager.clear();
+    }
+
+    @AfterMethod
+    private void cleanup() {
+        manager.getTransaction().begin();
+        final List<Object> entities = new ArrayList<>();
+        entities.addAll(manager.createQuery("SELECT w FROM Workspace w").getResultList());
+        entities.addAll(manager.createQuery("SELECT a FROM Account a").getResultList());
+        for (Object entity : entities) {
+            manager.remove(entity);
+        }
+        manager.getTransaction().commit();
+        cleaner.clean();
+    }
+
+    @Test
+    public void shouldReturnCachedWorkspace() throws Exception {
+        workspaceDao.create(createWorkspace("id", account, "name"));
+
+        workspaceDao.get("id");
+        workspaceDao.get("id");
+        workspaceDao.get("name", "namespace");
+        workspaceDao.get("name", "namespace");
+
+        assertEquals(cacheManager.getCache(WorkspaceImpl.class).getHitsCount(), 2);
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedWorkspace() throws Exception {
+        workspaceDao.create(createWorkspace("id", account, "name"));
+
+        workspaceDao.get("id").getAttributes().put("attr1", "changed");
+
+        assertEquals(workspaceDao.get("id").getAttributes().get("attr1"), "value1");
+    }
+
+    @Test
+    public void shouldReturnUpdatedWorkspaceAfterUpdate() throws Exception {
+        final WorkspaceImpl workspace = workspaceDao.create(createWorkspace("id", account, "name"));
+        workspaceDao.get("id");
+        workspaceDao.get("name", "namespace");
+        workspaceDao.getByNamespace("namespace");
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        assertEquals(workspaceDao.get("id").getConfig().getName(), "new-name");
+        assertEquals(workspaceDao.get("new-name", "namespace").getId(), "id");
+        assertEquals(workspaceDao.getByNamespace("namespace").get(0).getConfig().getName(), "new-name");
+        try {
+            workspaceDao.get("name", "namespace");
+            fail("Workspace must not be found by its old name");
+        } catch (NotFoundException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldNotReturnRemovedWorkspace() throws Exception {
+        workspaceDao.create(createWorkspace("id", account, "name"));
+        workspaceDao.get("id");
+        workspaceDao.getByNamespace("namespace");
+
+        workspaceDao.remove("id");
+
+        try {
+            workspaceDao.get("id");
+            fail("Removed workspace must not be returned");
+        } catch (NotFoundException ignored) {
+        }
+        assertTrue(workspaceDao.getByNamespace("namespace").isEmpty());
+    }
+
+    @Test
+    public void shouldReturnCreatedWorkspaceInNamespace() throws Exception {
+        assertTrue(workspaceDao.getByNamespace("namespace").isEmpty());
+
+        workspaceDao.create(createWorkspace("id", account, "name"));
+
+        assertEquals(workspaceDao.getByNamespace("namespace").size(), 1);
+    }
+}
@@ -49,6 +49,7 @@ import org.eclipse.che.api.workspace.server.jpa.WorkspaceJpaModule;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.cache.EntityCacheManager;
 import org.eclipse.che.core.db.event.CascadeRemovalEvent;
 import org.eclipse.che.core.db.event.CascadeRemovalEventSubscriber;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
@@ -75,6 +76,7 @@ import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createWorkspace;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
@@ -142,6 +144,8 @@ public class CascadeRemovalTest {
                 bind(AccountManager.class);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_snapshot")).toInstance(false);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_restore")).toInstance(false);
+                // cached entities must be invalidated by cascade changes
+                bind(Long.class).annotatedWith(Names.named(EntityCacheManager.EXPIRE_AFTER_MS_PROPERTY)).toInstance(60_000L);
             }
         });
 
@@ -176,6 +180,45 @@ public class CascadeRemovalTest {
         assertTrue(snapshotDao.findSnapshots(workspace2.getId()).isEmpty());
     }
 
+    @Test
+    public void shouldNotReturnCachedEntitiesWhenUserIsDeleted() throws Exception {
+        createTestData();
+        userDao.getById(user.getId());
+        userDao.getByName(user.getName());
+        workspaceDao.get(workspace1.getId());
+        workspaceDao.get(workspace1.getConfig().getName(), user.getName());
+        assertEquals(workspaceDao.getByNamespace(user.getName()).size(), 2);
+
+        userDao.remove(user.getId());
+
+        assertNull(notFoundToNull(() -> userDao.getById(user.getId())));
+        assertNull(notFoundToNull(() -> userDao.getByName(user.getName())));
+        assertNull(notFoundToNull(() -> workspaceDao.get(workspace1.getId())));
+        assertNull(notFoundToNull(() -> workspaceDao.get(workspace1.getConfig().getName(), user.getName())));
+        assertTrue(workspaceDao.getByNamespace(user.getName()).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnWorkspacesInNewNamespaceWhenUserIsRenamed() throws Exception {
+        createTestData();
+        final String oldName = user.getName();
+        userDao.getByName(oldName);
+        workspaceDao.get(workspace1.getId());
+        assertEquals(workspaceDao.getByNamespace(oldName).size(), 2);
+
+        final UserImpl update = userDao.getById(user.getId());
+        update.setName("new_name");
+        userDao.update(update);
+
+        assertNull(notFoundToNull(() -> userDao.getByName(oldName)));
+        assertEquals(userDao.getByName("new_name").getId(), user.getId());
+        assertEquals(workspaceDao.get(workspace1.getId()).getNamespace(), "new_name");
+        assertTrue(workspaceDao.getByNamespace(oldName).isEmpty());
+        assertEquals(workspaceDao.getByNamespace("new_name").size(), 2);
+
+        userDao.remove(user.getId());
+    }
+
     @Test(dataProvider = "beforeRemoveRollbackActions")
     public void shouldRollbackTransactionWhenFailedToRemoveAnyOfEntries(
             Class<CascadeRemovalEventSubscriber<CascadeRemovalEvent>> subscriberClass,
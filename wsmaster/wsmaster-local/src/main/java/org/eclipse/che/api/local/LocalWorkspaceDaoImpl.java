@@ -13,6 +13,7 @@ package org.eclipse.che.api.local;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.reflect.TypeToken;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -27,9 +28,11 @@ import org.eclipse.che.api.workspace.server.WorkspaceConfigJsonAdapter;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
-import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -37,6 +40,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
@@ -47,20 +52,32 @@ import static java.util.stream.Collectors.toList;
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Each change of workspaces is also appended to
+ * the storage journal, so changes are not lost if component is not stopped gracefully, the journal
+ * is compacted into the stored file after the number of changes set by {@value #JOURNAL_COMPACTION_THRESHOLD_PROPERTY}.
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
- * @implNote it is thread-safe, guarded by <i>this</i> instance
+ * @implNote it is thread-safe, guarded by read-write lock, so reads don't block each other
  */
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
     public static final String FILENAME = "workspaces.json";
 
+    private static final Logger LOG = LoggerFactory.getLogger(LocalWorkspaceDaoImpl.class);
+
+    /** Property which sets number of journaled changes after which the whole workspaces map is stored. */
+    public static final String JOURNAL_COMPACTION_THRESHOLD_PROPERTY = "che.database.journal_compaction_threshold";
+
+    @Inject(optional = true)
+    @Named(JOURNAL_COMPACTION_THRESHOLD_PROPERTY)
+    private int journalCompactionThreshold = 1000;
+
     @VisibleForTesting
     final         Map<String, WorkspaceImpl> workspaces;
     private final LocalStorage               localStorage;
+    private final ReadWriteLock              lock;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory, WorkspaceConfigJsonAdapter cfgAdapter) throws IOException {
@@ -70,111 +87,200 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
                                 WorkspaceConfigImpl.class, new WorkspaceConfigDeserializer(cfgAdapter));
         this.localStorage = factory.create(FILENAME, adapters);
         this.workspaces = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
-    public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
-        for (WorkspaceImpl workspace : workspaces.values()) {
-            workspace.setRuntime(null);
+    public void loadWorkspaces() {
+        lock.writeLock().lock();
+        try {
+            workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
+            for (WorkspaceImpl workspace : workspaces.values()) {
+                workspace.setRuntime(null);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
-    public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+    public void saveWorkspaces() throws IOException {
+        lock.readLock().lock();
+        try {
+            localStorage.store(workspaces);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+    public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
         requireNonNull(workspace, "Required non-null workspace");
-        if (workspaces.containsKey(workspace.getId())) {
-            throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
-        }
+        lock.writeLock().lock();
+        try {
+            if (workspaces.containsKey(workspace.getId())) {
+                throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
+            }
+            if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
 
-        workspace.setRuntime(null);
-        workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace, workspace.getAccount()));
+            workspace.setRuntime(null);
+            workspace.setStatus(WorkspaceStatus.STOPPED);
+            put(new WorkspaceImpl(workspace, workspace.getAccount()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactJournalIfNeeded();
         return workspace;
     }
 
     @Override
-    public synchronized WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException,
-                                                                             ConflictException,
-                                                                             ServerException {
+    public WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException,
+                                                                ConflictException,
+                                                                ServerException {
         requireNonNull(workspace, "Required non-null workspace");
-        if (!workspaces.containsKey(workspace.getId())) {
-            throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
+        lock.writeLock().lock();
+        try {
+            if (!workspaces.containsKey(workspace.getId())) {
+                throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+            }
+            if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
+            workspace.setStatus(null);
+            workspace.setRuntime(null);
+            put(new WorkspaceImpl(workspace, workspace.getAccount()));
+        } finally {
+            lock.writeLock().unlock();
         }
-        workspace.setStatus(null);
-        workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace, workspace.getAccount()));
+        compactJournalIfNeeded();
         return workspace;
     }
 
     @Override
-    public synchronized void remove(String id) throws ConflictException, ServerException {
+    public void remove(String id) throws ConflictException, ServerException {
         requireNonNull(id, "Required non-null id");
-        workspaces.remove(id);
+        lock.writeLock().lock();
+        try {
+            if (workspaces.containsKey(id)) {
+                localStorage.journalRemove(id);
+                workspaces.remove(id);
+            }
+        } catch (IOException x) {
+            throw new ServerException("Failed to journal removal of workspace " + id, x);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactJournalIfNeeded();
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
-        final WorkspaceImpl workspace = workspaces.get(id);
-        if (workspace == null) {
-            throw new NotFoundException("Workspace with id " + id + " was not found");
+        lock.readLock().lock();
+        try {
+            final WorkspaceImpl workspace = workspaces.get(id);
+            if (workspace == null) {
+                throw new NotFoundException("Workspace with id " + id + " was not found");
+            }
+            return new WorkspaceImpl(workspace, workspace.getAccount());
+        } finally {
+            lock.readLock().unlock();
         }
-        return new WorkspaceImpl(workspace, workspace.getAccount());
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
         requireNonNull(namespace, "Required non-null namespace");
-        final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
-        if (!wsOpt.isPresent()) {
-            throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
+        lock.readLock().lock();
+        try {
+            final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
+            if (!wsOpt.isPresent()) {
+                throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
+            }
+            WorkspaceImpl workspace = wsOpt.get();
+            return new WorkspaceImpl(workspace, workspace.getAccount());
+        } finally {
+            lock.readLock().unlock();
         }
-        WorkspaceImpl workspace = wsOpt.get();
-        return new WorkspaceImpl(workspace, workspace.getAccount());
     }
 
     @Override
-    public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
         requireNonNull(namespace, "Required non-null namespace");
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
-                         .map(ws -> new WorkspaceImpl(ws, ws.getAccount()))
-                         .collect(toList());
+        lock.readLock().lock();
+        try {
+            return workspaces.values()
+                             .stream()
+                             .filter(ws -> ws.getNamespace().equals(namespace))
+                             .map(ws -> new WorkspaceImpl(ws, ws.getAccount()))
+                             .collect(toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
-        return new ArrayList<>(workspaces.values());
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(workspaces.values());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException {
-        Stream<WorkspaceImpl> stream = workspaces.values().stream();
-        stream.filter(ws -> ws.isTemporary() == isTemporary);
-        stream.skip(skipCount);
-        if (maxItems != 0) {
-            stream.limit(maxItems);
+        lock.readLock().lock();
+        try {
+            Stream<WorkspaceImpl> stream = workspaces.values()
+                                                     .stream()
+                                                     .filter(ws -> ws.isTemporary() == isTemporary)
+                                                     .skip(skipCount);
+            if (maxItems != 0) {
+                stream = stream.limit(maxItems);
+            }
+            return stream.collect(toList());
+        } finally {
+            lock.readLock().unlock();
         }
-        return  stream.collect(toList());
     }
 
+    /** Journals the workspace and puts it to the map, must be called under write lock. */
+    private void put(WorkspaceImpl workspace) throws ServerException {
+        try {
+            localStorage.journalPut(workspace.getId(), workspace);
+        } catch (IOException x) {
+            throw new ServerException("Failed to journal workspace " + workspace.getId(), x);
+        }
+        workspaces.put(workspace.getId(), workspace);
+    }
+
+    /**
+     * Stores all the workspaces when journal becomes too long. Workspaces are stored under read lock,
+     * so reads are not blocked by compaction.
+     */
+    private void compactJournalIfNeeded() {
+        if (localStorage.getJournalSize() < journalCompactionThreshold) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (localStorage.getJournalSize() >= journalCompactionThreshold) {
+                localStorage.store(workspaces);
+            }
+        } catch (IOException x) {
+            LOG.error("Failed to compact workspaces journal: " + x.getMessage(), x);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
     private Optional<WorkspaceImpl> find(String name, String owner) {
         return workspaces.values()
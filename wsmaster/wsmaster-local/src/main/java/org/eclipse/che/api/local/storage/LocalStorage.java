@@ -15,35 +15,72 @@ import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
 /**
  * Implementation of file system storage for model objects.
  *
+ * <p>Objects are {@link #store(Object) stored} as json file, the file is written to temporary file
+ * first and then renamed, so crash during storing never leaves partially written file.
+ *
+ * <p>Changes of map based storages may be {@link #journalPut(Object, Object) journaled} instead of
+ * storing of the whole map, each change is appended as one json line to the journal file which is kept
+ * next to the stored file. The journal is replayed by {@link #loadMap(TypeToken)} and is cleared when
+ * the whole map is stored, so storage owner compacts the journal by storing the map when
+ * {@link #getJournalSize() journal size} becomes too big.
+ *
  * @author Anton Korneta
  */
 public class LocalStorage {
 
     private static final Logger LOG = LoggerFactory.getLogger(LocalStorage.class);
 
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX    = ".tmp";
+    private static final String OPERATION      = "op";
+    private static final String KEY            = "key";
+    private static final String VALUE          = "value";
+    private static final String PUT            = "put";
+    private static final String REMOVE         = "remove";
+
     /**
      * json file to store and load
      */
     private File storedFile;
+    private File journalFile;
     private Gson gson;
+    private Gson journalGson;
+    private int  journalSize;
 
     public LocalStorage(String rootDirPath, String fileName) throws IOException {
         this(rootDirPath, fileName, Collections.emptyMap());
@@ -55,19 +92,95 @@ public class LocalStorage {
             throw new IOException("Impossible to create root folder for local storage");
         }
         storedFile = new File(rootDir, fileName);
+        journalFile = new File(rootDir, fileName + JOURNAL_SUFFIX);
         GsonBuilder builder = new GsonBuilder();
         for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
             builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
         }
+        journalGson = builder.create();
         gson = builder.setPrettyPrinting().create();
     }
 
-    public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+    /**
+     * Stores the object replacing the content of stored file and clears the journal.
+     *
+     * @throws IOException
+     *         when any error occurs while writing or renaming the file
+     */
+    public synchronized void store(Object storedObj) throws IOException {
+        final File tempFile = new File(storedFile.getParentFile(), storedFile.getName() + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(tempFile);
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
             gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
+        }
+        final Path source = tempFile.toPath();
+        final Path target = storedFile.toPath();
+        try {
+            move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException x) {
+            move(source, target, REPLACE_EXISTING);
+        }
+        // rename must be durable before the journal is removed, otherwise crash may leave neither new file nor journal
+        syncDirectory(target.getParent());
+        deleteIfExists(journalFile.toPath());
+        journalSize = 0;
+    }
+
+    /**
+     * Appends to the journal the change which maps given key to the value.
+     *
+     * @throws IOException
+     *         when any error occurs while writing the journal
+     */
+    public void journalPut(Object key, Object value) throws IOException {
+        final JsonObject entry = new JsonObject();
+        entry.addProperty(OPERATION, PUT);
+        entry.add(KEY, journalGson.toJsonTree(key));
+        entry.add(VALUE, journalGson.toJsonTree(value));
+        appendToJournal(entry);
+    }
+
+    /**
+     * Appends to the journal the change which removes mapping for given key.
+     *
+     * @throws IOException
+     *         when any error occurs while writing the journal
+     */
+    public void journalRemove(Object key) throws IOException {
+        final JsonObject entry = new JsonObject();
+        entry.addProperty(OPERATION, REMOVE);
+        entry.add(KEY, journalGson.toJsonTree(key));
+        appendToJournal(entry);
+    }
+
+    /** Returns the number of changes journaled since the last {@link #store(Object) store}. */
+    public synchronized int getJournalSize() {
+        return journalSize;
+    }
+
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, READ)) {
+            channel.force(true);
+        } catch (IOException x) {
+            // directories can't be opened for sync on some platforms, e.g. Windows
+            LOG.debug("Failed to sync directory " + dir + ": " + x.getMessage());
         }
     }
 
+    private synchronized void appendToJournal(JsonObject entry) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(journalFile, true);
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            // entry starts with line separator, so it never continues incomplete line left by crash
+            writer.write('\n');
+            writer.write(journalGson.toJson(entry));
+            writer.flush();
+            out.getFD().sync();
+        }
+        journalSize++;
+    }
+
     /**
      * @param <T>
      *         the type of the desired object.
@@ -113,12 +226,52 @@ public class LocalStorage {
      */
     public <K, V> Map<K, V> loadMap(TypeToken<Map<K, V>> mapToken) {
         Map<K, V> result = load(mapToken);
+        if (journalFile.exists()) {
+            result = replayJournal(result == null ? new HashMap<>() : result, mapToken);
+        }
         if (result == null) {
             return Collections.emptyMap();
         }
         return result;
     }
 
+    /**
+     * Applies journaled changes to the map. A journal line may be incomplete if server crashed
+     * while appending it, such line is ignored.
+     */
+    private synchronized <K, V> Map<K, V> replayJournal(Map<K, V> map, TypeToken<Map<K, V>> mapToken) {
+        final Type[] types = ((ParameterizedType)mapToken.getType()).getActualTypeArguments();
+        int size = 0;
+        try (BufferedReader reader = Files.newReader(journalFile, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        applyJournalEntry(map, journalGson.fromJson(line, JsonObject.class), types[0], types[1]);
+                        size++;
+                    } catch (JsonParseException | IllegalStateException e) {
+                        LOG.warn("{} contains invalid entry which is ignored", journalFile.getName());
+                    }
+                }
+            }
+        } catch (IOException ioEx) {
+            LOG.warn("Impossible to read from " + journalFile.getName());
+        }
+        journalSize = size;
+        return map;
+    }
+
+    private <K, V> void applyJournalEntry(Map<K, V> map, JsonObject entry, Type keyType, Type valueType) {
+        if (!entry.has(OPERATION) || !entry.has(KEY)) {
+            throw new JsonParseException("Journal entry must contain operation and key");
+        }
+        final K key = journalGson.fromJson(entry.get(KEY), keyType);
+        if (PUT.equals(entry.get(OPERATION).getAsString())) {
+            map.put(key, journalGson.fromJson(entry.get(VALUE), valueType));
+        } else {
+            map.remove(key);
+        }
+    }
+
     /** Returns the file managed by this storage. */
     public File getFile() {
         return storedFile;
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -174,6 +175,52 @@ public class LocalStorageTest {
         assertTrue(map.isEmpty());
     }
 
+    @Test
+    public void journaledChangesAreAppliedWhenMapIsLoadedTest() throws IOException {
+        storage = new LocalStorage(storageDir, "journaled.json");
+        storage.store(Collections.singletonMap("k1", "v1"));
+        storage.journalPut("k2", "v2");
+        storage.journalPut("k1", "v3");
+        storage.journalRemove("k2");
+
+        Map<String, String> map = new LocalStorage(storageDir, "journaled.json").loadMap(new TypeToken<Map<String, String>>() {});
+
+        assertEquals(storage.getJournalSize(), 3);
+        assertEquals(map, Collections.singletonMap("k1", "v3"));
+    }
+
+    @Test
+    public void journalIsClearedWhenObjectIsStoredTest() throws IOException {
+        File journal = new File(storageDir, "compacted.json.journal");
+        storage = new LocalStorage(storageDir, "compacted.json");
+        storage.journalPut("k1", "v1");
+        assertTrue(journal.exists());
+
+        storage.store(Collections.singletonMap("k1", "v1"));
+
+        assertFalse(journal.exists());
+        assertEquals(storage.getJournalSize(), 0);
+        assertFalse(new File(storageDir, "compacted.json.tmp").exists());
+        assertEquals(storage.loadMap(new TypeToken<Map<String, String>>() {}), Collections.singletonMap("k1", "v1"));
+    }
+
+    @Test
+    public void incompleteJournalEntryIsIgnoredTest() throws IOException {
+        File journal = new File(storageDir, "incomplete.json.journal");
+        if (journal.exists()) {
+            journal.delete();
+        }
+        storage = new LocalStorage(storageDir, "incomplete.json");
+        storage.journalPut("k1", "v1");
+        Files.append("\n{\"op\":\"put\",\"key\":\"k2\",\"val", journal, Charset.forName("UTF-8"));
+        storage.journalPut("k3", "v3");
+
+        Map<String, String> map = storage.loadMap(new TypeToken<Map<String, String>>() {});
+
+        assertEquals(map.size(), 2);
+        assertEquals(map.get("k1"), "v1");
+        assertEquals(map.get("k3"), "v3");
+    }
 
     private Path targetDir() throws URISyntaxException {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
@@ -89,6 +89,18 @@ public class LocalWorkspaceDaoTest {
         assertEquals(result, workspace);
     }
 
+    @Test
+    public void testJournaledWorkspaceIsLoadedWithoutSaving() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        final LocalWorkspaceDaoImpl loadedDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(workspacesPath.getParent().toString()),
+                                                                          mock(WorkspaceConfigJsonAdapter.class));
+        loadedDao.loadWorkspaces();
+
+        assertEquals(loadedDao.get(workspace.getId()), workspace);
+    }
+
     @Test
     public void testOldFormatIsAdaptedWhenWorkspaceIsLoaded() throws Exception {
         final URL rootUrl = Thread.currentThread().getContextClassLoader().getResource(".");